@@ -3,10 +3,12 @@ package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableScheduling
+@EnableAsync
 @ComponentScan(basePackages = {
 		"ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service",
 		"ar.edu.utn.frc.tup.tesis.pinceletas.common.security"
@@ -0,0 +1,36 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.Rabbit;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.Rabbit.configs.RabbitMQConfig;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.Rabbit.events.CatalogoInvalidacionEvent;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.CatalogoCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recibe las invalidaciones de caché publicadas por otras instancias.
+ * Cada instancia declara su propia cola anónima, así todas reciben cada mensaje.
+ */
+@Component
+@ConditionalOnProperty(name = "app.catalogo.cache.broadcast", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogoInvalidacionListener {
+
+    private final CatalogoCacheService catalogoCacheService;
+
+    @RabbitListener(bindings = @QueueBinding(
+            value = @Queue(exclusive = "true", autoDelete = "true"),
+            exchange = @Exchange(value = RabbitMQConfig.CATALOGO_EXCHANGE, type = ExchangeTypes.FANOUT)
+    ))
+    public void recibirInvalidacion(CatalogoInvalidacionEvent evento) {
+        log.debug("📥 Invalidación de catálogo recibida: {}", evento);
+        catalogoCacheService.aplicarInvalidacionRemota(evento);
+    }
+}
@@ -15,6 +15,9 @@ public class RabbitMQConfig {
     public static final String EXCHANGE = "notificaciones.exchange";
     public static final String ROUTING_KEY = "notificaciones.key";
 
+    // Exchange fanout para difundir invalidaciones de la caché del catálogo entre instancias
+    public static final String CATALOGO_EXCHANGE = "catalogo.invalidaciones";
+
     @Bean
     public Queue queue() {
         return new Queue(QUEUE, true);
@@ -0,0 +1,19 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.Rabbit.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogoInvalidacionEvent {
+
+    public static final String PRODUCTO = "PRODUCTO";
+    public static final String LISTADOS = "LISTADOS";
+    public static final String TODO = "TODO";
+
+    private String nodoOrigen;
+    private String tipo;       // PRODUCTO, LISTADOS o TODO
+    private Long productoId;   // solo para tipo PRODUCTO
+}
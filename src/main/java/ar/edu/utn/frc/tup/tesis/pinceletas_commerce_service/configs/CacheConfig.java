@@ -0,0 +1,59 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.configs;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.CompositeCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuración de cachés en memoria (Caffeine).
+ * Solo existen las cachés del catálogo, con tamaño acotado e invalidadas desde CatalogoCacheService.
+ * Cualquier otro nombre (los @Cacheable de CommerceReportService) resuelve a una caché que no guarda
+ * nada: nadie invalida los reportes cuando cambian los pedidos, así que deben leer siempre la base.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CACHE_PRODUCTOS = "productos";
+    public static final String CACHE_PRODUCTOS_LISTADO = "productosListado";
+
+    @Value("${app.catalogo.cache.productos.maximo:5000}")
+    private long maximoProductos;
+
+    @Value("${app.catalogo.cache.listados.maximo:200}")
+    private long maximoListados;
+
+    @Value("${app.catalogo.cache.ttl-minutos:60}")
+    private long ttlMinutos;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Nombres fijos: sin creación dinámica de cachés
+        cacheManager.setCacheNames(List.of(CACHE_PRODUCTOS, CACHE_PRODUCTOS_LISTADO));
+
+        // El TTL del catálogo es solo una red de seguridad: la invalidación normal es por evento
+        cacheManager.registerCustomCache(CACHE_PRODUCTOS, Caffeine.newBuilder()
+                .maximumSize(maximoProductos)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutos))
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(CACHE_PRODUCTOS_LISTADO, Caffeine.newBuilder()
+                .maximumSize(maximoListados)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutos))
+                .recordStats()
+                .build());
+
+        CompositeCacheManager compuesto = new CompositeCacheManager(cacheManager);
+        compuesto.setFallbackToNoOpCache(true);
+        return compuesto;
+    }
+}
@@ -14,8 +14,10 @@ public class MultipartConfig {
         MultipartConfigFactory factory = new MultipartConfigFactory();
 
         // Configurar tamaños máximos
-        factory.setMaxFileSize(DataSize.ofMegabytes(10)); // 10MB por archivo
-        factory.setMaxRequestSize(DataSize.ofMegabytes(15)); // 15MB por request total
+        // 50MB por archivo (importación masiva); las imágenes se limitan a 10MB en ImagenStorageService
+        factory.setMaxFileSize(DataSize.ofMegabytes(50));
+        factory.setMaxRequestSize(DataSize.ofMegabytes(55)); // 55MB por request total
+        factory.setFileSizeThreshold(DataSize.ofMegabytes(1)); // archivos grandes se vuelcan a disco
 
         return factory.createMultipartConfig();
     }
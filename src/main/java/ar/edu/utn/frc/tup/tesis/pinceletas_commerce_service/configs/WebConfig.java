@@ -1,11 +1,9 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.configs;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.format.FormatterRegistry;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.util.Arrays;
@@ -16,15 +14,7 @@ import java.util.stream.Collectors;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
-    @Value("${app.uploads.path}")
-    private String uploadsPath;
-
-
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations(uploadsPath);
-    }
+    // Los archivos de /uploads los sirve ImagenArchivoController (Range, ETag y caché inmutable)
 
     @Override
     public void addFormatters(FormatterRegistry registry) {
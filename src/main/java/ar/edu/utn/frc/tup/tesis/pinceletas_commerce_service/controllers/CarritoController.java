@@ -1,6 +1,8 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.controllers;
 
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.CarritoRequestDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.CarritoResumenDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.OperacionCarritoDTO;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.CarritoEntity;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.CarritoService;
 import lombok.RequiredArgsConstructor;
@@ -30,6 +32,15 @@ public class CarritoController {
     }
 
 
+    // Aplicar varios cambios (agregar / modificar / eliminar) en una sola transacción
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @PostMapping("/{usuarioId}/lote")
+    public ResponseEntity<CarritoResumenDTO> aplicarOperaciones(
+            @PathVariable Long usuarioId,
+            @RequestBody List<OperacionCarritoDTO> operaciones) {
+        return ResponseEntity.ok(carritoService.aplicarOperaciones(usuarioId, operaciones));
+    }
+
     // Modificar cantidad de un producto en el carrito
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     @PutMapping("/{itemId}")
@@ -54,6 +65,13 @@ public class CarritoController {
         return ResponseEntity.ok(carritoService.obtenerCarrito(usuarioId));
     }
 
+    // Resumen del carrito: líneas, subtotal, cantidad de unidades y envío en una sola llamada
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @GetMapping("/{usuarioId}/resumen")
+    public ResponseEntity<CarritoResumenDTO> obtenerResumen(@PathVariable Long usuarioId) {
+        return ResponseEntity.ok(carritoService.obtenerResumen(usuarioId));
+    }
+
     // Detalle del carrito de compras (total a pagar)
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     @GetMapping("/{usuarioId}/total")
@@ -3,12 +3,15 @@ package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.controllers;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.CategoriaDTO;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.AuditoriaCategoriaEntity;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.CategoriaEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.SeccionCatalogo;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.CatalogoVersionService;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.CategoriaService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,6 +21,7 @@ import java.util.List;
 public class CategoriaController {
 
     private final CategoriaService categoriaService;
+    private final CatalogoVersionService catalogoVersionService;
 
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     @PostMapping
@@ -48,14 +52,20 @@ public class CategoriaController {
     // ✅ GET /categorias- → Lista con productos incluidos
 
     @GetMapping("/all-con-products")
-    public ResponseEntity<List<CategoriaEntity>> listarCategoriasEntity() {
+    public ResponseEntity<List<CategoriaEntity>> listarCategoriasEntity(WebRequest request) {
+        if (catalogoVersionService.esNoModificado(request, SeccionCatalogo.values())) {
+            return null;
+        }
         return ResponseEntity.ok(categoriaService.listarCategorias());
     }
 
     // ✅ GET /categorias/{id}/entity → Una sola categoría con productos
 
     @GetMapping("/{id}/one-con-products")
-    public ResponseEntity<CategoriaEntity> obtenerCategoriaEntity(@PathVariable Long id) {
+    public ResponseEntity<CategoriaEntity> obtenerCategoriaEntity(@PathVariable Long id, WebRequest request) {
+        if (catalogoVersionService.esNoModificado(request, SeccionCatalogo.values())) {
+            return null;
+        }
         return ResponseEntity.ok(categoriaService.consultarCategoria(id));
     }
 
@@ -1,6 +1,7 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.controllers;
 
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.FavoritoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.FavoritosMarcadosDTO;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.FavoritoEntity;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.FavoritoService;
 import lombok.RequiredArgsConstructor;
@@ -42,4 +43,12 @@ public class FavoritoController {
     public ResponseEntity<List<FavoritoEntity>> obtenerFavoritos(@PathVariable Long usuarioId) {
         return ResponseEntity.ok(favoritoService.obtenerFavoritos(usuarioId));
     }
+
+    // Cuáles de los productos de una grilla son favoritos: /favoritos/{usuarioId}/marcados?productoIds=1,2,3
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @GetMapping("/{usuarioId}/marcados")
+    public ResponseEntity<FavoritosMarcadosDTO> obtenerMarcados(@PathVariable Long usuarioId,
+                                                                @RequestParam List<Long> productoIds) {
+        return ResponseEntity.ok(favoritoService.obtenerMarcados(usuarioId, productoIds));
+    }
 }
@@ -0,0 +1,157 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.controllers;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.ImagenArchivoService;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.ImagenArchivoService.ArchivoImagen;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sirve las imágenes de /uploads con soporte de Range, GET condicionales y caché inmutable.
+ * En Tomcat el cuerpo se entrega con sendfile (el kernel copia del archivo al socket sin pasar
+ * por la JVM ni ocupar el hilo de la petición); en otros contenedores se usa FileChannel.transferTo.
+ */
+@RestController
+@RequestMapping("/uploads")
+@RequiredArgsConstructor
+public class ImagenArchivoController {
+
+    private static final String CACHE_INMUTABLE = "public, max-age=31536000, immutable";
+    private static final String CACHE_REVALIDAR = "public, max-age=300";
+
+    private static final String SENDFILE_SOPORTADO = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_ARCHIVO = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_INICIO = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_FIN = "org.apache.tomcat.sendfile.end";
+
+    private static final Pattern RANGO_SIMPLE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+    private final ImagenArchivoService imagenArchivoService;
+
+    @RequestMapping(value = "/{archivo:.+}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void servirImagen(@PathVariable String archivo, HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        servir(imagenArchivoService.buscar(archivo), request, response);
+    }
+
+    @RequestMapping(value = "/variantes/{ancho:\\d{1,4}}/{archivo:.+}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void servirVariante(@PathVariable int ancho, @PathVariable String archivo, HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        servir(imagenArchivoService.buscarVariante(archivo, ancho), request, response);
+    }
+
+    private void servir(Optional<ArchivoImagen> encontrado, HttpServletRequest request,
+                        HttpServletResponse response) throws IOException {
+        if (encontrado.isEmpty()) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        ArchivoImagen archivo = encontrado.get();
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, archivo.inmutable() ? CACHE_INMUTABLE : CACHE_REVALIDAR);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // Agrega ETag y Last-Modified; si el cliente ya los tiene deja la respuesta en 304
+        if (new ServletWebRequest(request, response).checkNotModified(archivo.etag(), archivo.ultimaModificacion())) {
+            return;
+        }
+
+        long inicio = 0;
+        long fin = archivo.tamanio() - 1;
+        String rango = request.getHeader(HttpHeaders.RANGE);
+        if (rango != null && aplicaRango(request, archivo)) {
+            long[] limites = interpretarRango(rango, archivo.tamanio());
+            if (limites == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + archivo.tamanio());
+                response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            if (limites.length == 2) {
+                inicio = limites[0];
+                fin = limites[1];
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE,
+                        "bytes " + inicio + "-" + fin + "/" + archivo.tamanio());
+            }
+        }
+
+        long longitud = fin - inicio + 1;
+        response.setContentType(archivo.tipo().toString());
+        response.setContentLengthLong(longitud);
+        if ("HEAD".equals(request.getMethod()) || longitud <= 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SOPORTADO))) {
+            request.setAttribute(SENDFILE_ARCHIVO, archivo.ruta().toString());
+            request.setAttribute(SENDFILE_INICIO, inicio);
+            request.setAttribute(SENDFILE_FIN, fin + 1);
+            return;
+        }
+
+        try (FileChannel canal = FileChannel.open(archivo.ruta(), StandardOpenOption.READ)) {
+            WritableByteChannel salida = Channels.newChannel(response.getOutputStream());
+            long posicion = inicio;
+            long restante = longitud;
+            while (restante > 0) {
+                long enviados = canal.transferTo(posicion, restante, salida);
+                if (enviados <= 0) {
+                    break;
+                }
+                posicion += enviados;
+                restante -= enviados;
+            }
+        }
+    }
+
+    /** If-Range: el rango solo vale si el cliente tiene la misma versión del archivo */
+    private boolean aplicaRango(HttpServletRequest request, ArchivoImagen archivo) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        return ifRange == null || ifRange.equals(archivo.etag());
+    }
+
+    /**
+     * Un solo rango "bytes=a-b", "bytes=a-" o "bytes=-n".
+     * Devuelve {inicio, fin}, un arreglo vacío si el pedido se ignora (varios rangos o formato
+     * desconocido: se responde el archivo completo) o null si el rango no es satisfacible.
+     */
+    private long[] interpretarRango(String rango, long tamanio) {
+        Matcher partes = RANGO_SIMPLE.matcher(rango.trim());
+        if (!partes.matches() || (partes.group(1).isEmpty() && partes.group(2).isEmpty())) {
+            return new long[0];
+        }
+        try {
+            long inicio;
+            long fin;
+            if (partes.group(1).isEmpty()) {
+                long sufijo = Long.parseLong(partes.group(2));
+                if (sufijo == 0) {
+                    return null;
+                }
+                inicio = Math.max(0, tamanio - sufijo);
+                fin = tamanio - 1;
+            } else {
+                inicio = Long.parseLong(partes.group(1));
+                fin = partes.group(2).isEmpty() ? tamanio - 1 : Math.min(Long.parseLong(partes.group(2)), tamanio - 1);
+            }
+            return inicio >= tamanio || inicio > fin ? null : new long[]{inicio, fin};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.controllers;
 
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.OpcionProductoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.SeccionCatalogo;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.CatalogoVersionService;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.OpcionProductoService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -16,6 +19,7 @@ import java.util.List;
 public class OpcionProductoController {
 
     private final OpcionProductoService opcionService;
+    private final CatalogoVersionService catalogoVersionService;
 
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     @PostMapping
@@ -41,13 +45,20 @@ public class OpcionProductoController {
 
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     @GetMapping("/producto/{productoId}")
-    public ResponseEntity<List<OpcionProductoDTO>> obtenerOpcionesPorProducto(@PathVariable Long productoId) {
+    public ResponseEntity<List<OpcionProductoDTO>> obtenerOpcionesPorProducto(@PathVariable Long productoId,
+                                                                              WebRequest request) {
+        if (catalogoVersionService.esNoModificado(request, SeccionCatalogo.OPCIONES, SeccionCatalogo.PRODUCTOS)) {
+            return null;
+        }
         return ResponseEntity.ok(opcionService.obtenerPorProducto(productoId));
     }
 
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     @GetMapping
-    public ResponseEntity<List<OpcionProductoDTO>> listarTodasOpciones() {
+    public ResponseEntity<List<OpcionProductoDTO>> listarTodasOpciones(WebRequest request) {
+        if (catalogoVersionService.esNoModificado(request, SeccionCatalogo.OPCIONES)) {
+            return null;
+        }
         return ResponseEntity.ok(opcionService.listarTodas());
     }
 }
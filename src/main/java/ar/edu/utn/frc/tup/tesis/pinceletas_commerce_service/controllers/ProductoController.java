@@ -1,8 +1,31 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.controllers;
 
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ActualizacionMasivaProductosDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.CacheEstadisticasDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.FiltroProductoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.LimpiezaImagenesEstadisticasDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.PaginaCursorDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.PaginaDTO;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ProductoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ProductoLecturaDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ProductoMasDeseadoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ResultadoImportacionDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ResultadoActualizacionMasivaDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ResultadoFiltroProductosDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.TrabajoNotificacionDTO;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.AuditoriaProductoEntity;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.ProductoEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.FormatoImportacion;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.OrdenProducto;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.SeccionCatalogo;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.CatalogoCacheService;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.CatalogoVersionService;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.FavoritoContadorService;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.ImagenCleanupScheduler;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.NotificacionDescuentoService;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.ProductoActualizacionMasivaService;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.ProductoImportacionService;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.ProductoLecturaService;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.ProductoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,6 +38,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
@@ -30,6 +54,30 @@ public class ProductoController {
     @Autowired
     private final ProductoService productoService;
 
+    @Autowired
+    private final CatalogoCacheService catalogoCacheService;
+
+    @Autowired
+    private final ProductoLecturaService productoLecturaService;
+
+    @Autowired
+    private final CatalogoVersionService catalogoVersionService;
+
+    @Autowired
+    private final ProductoImportacionService productoImportacionService;
+
+    @Autowired
+    private final ProductoActualizacionMasivaService productoActualizacionMasivaService;
+
+    @Autowired
+    private final ImagenCleanupScheduler imagenCleanupScheduler;
+
+    @Autowired
+    private final NotificacionDescuentoService notificacionDescuentoService;
+
+    @Autowired
+    private final FavoritoContadorService favoritoContadorService;
+
     // ✅ POST CON IMAGEN - VERSIÓN CON CAMPOS INDIVIDUALES (MANTENIDO PARA COMPATIBILIDAD)
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     @PostMapping(value = "/productos", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -165,6 +213,20 @@ public class ProductoController {
         return ResponseEntity.ok(actualizado);
     }
 
+    // ✅ ACTUALIZACIÓN MASIVA DE DESCUENTO Y/O PRECIO
+    @PreAuthorize("hasRole('ADMIN')")
+    @PatchMapping("/masivo")
+    @Operation(summary = "Actualizar descuento y/o precio de varios productos o de una categoría")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Productos actualizados"),
+            @ApiResponse(responseCode = "400", description = "Selección o valores inválidos")
+    })
+    public ResponseEntity<ResultadoActualizacionMasivaDTO> actualizarProductosMasivo(
+            @RequestBody ActualizacionMasivaProductosDTO dto,
+            @RequestParam Long usuarioId) {
+        return ResponseEntity.ok(productoActualizacionMasivaService.actualizarProductos(dto, usuarioId));
+    }
+
     // ✅ DELETE PRODUCTO
     @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping("/{id}")
@@ -175,21 +237,150 @@ public class ProductoController {
     }
 
     // ✅ OBTENER PRODUCTO POR ID
+    // Los GET del catálogo responden 304 si el ETag / Last-Modified del cliente sigue vigente;
+    // en ese caso no se consulta el catálogo ni se serializa nada.
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductoEntity> obtenerProducto(@PathVariable Long id) {
-        ProductoEntity producto = productoService.getProductoById(id);
+    public ResponseEntity<ProductoLecturaDTO> obtenerProducto(@PathVariable Long id, WebRequest request) {
+        if (catalogoVersionService.esNoModificado(request, SeccionCatalogo.values())) {
+            return null;
+        }
+        ProductoLecturaDTO producto = productoLecturaService.obtenerProducto(id);
         return ResponseEntity.ok(producto);
     }
 
-    // ✅ LISTAR TODOS LOS PRODUCTOS
+    // ✅ LISTAR TODOS LOS PRODUCTOS (MANTENIDO PARA COMPATIBILIDAD, USAR /pagina)
 
     @GetMapping
-    public ResponseEntity<List<ProductoEntity>> listarProductos() {
-        List<ProductoEntity> productos = productoService.listarProductos();
+    @Operation(summary = "Listar todos los productos", deprecated = true)
+    public ResponseEntity<List<ProductoLecturaDTO>> listarProductos(WebRequest request) {
+        if (catalogoVersionService.esNoModificado(request, SeccionCatalogo.values())) {
+            return null;
+        }
+        List<ProductoLecturaDTO> productos = productoLecturaService.listarProductos();
         return ResponseEntity.ok(productos);
     }
 
+    // ✅ LISTAR PRODUCTOS PAGINADOS POR CURSOR
+    @GetMapping("/pagina")
+    @Operation(summary = "Listar productos paginados por cursor")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Página de productos"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido")
+    })
+    public ResponseEntity<PaginaCursorDTO<ProductoLecturaDTO>> listarProductosPaginados(
+            @Parameter(description = "Cantidad de productos por página (máximo 100)")
+            @RequestParam(value = "tamanio", required = false) Integer tamanio,
+
+            @Parameter(description = "Orden de la página: ID, PRECIO o NOMBRE")
+            @RequestParam(value = "orden", defaultValue = "ID") OrdenProducto orden,
+
+            @Parameter(description = "Cursor devuelto por la página anterior")
+            @RequestParam(value = "cursor", required = false) String cursor,
+
+            WebRequest request) {
+
+        if (catalogoVersionService.esNoModificado(request, SeccionCatalogo.values())) {
+            return null;
+        }
+        return ResponseEntity.ok(productoLecturaService.listarProductosPaginados(cursor, tamanio, orden));
+    }
+
+    // ✅ BUSCAR PRODUCTOS POR TEXTO (NOMBRE Y DESCRIPCIÓN)
+    @GetMapping("/search")
+    @Operation(summary = "Buscar productos por texto, ordenados por relevancia")
+    public ResponseEntity<PaginaDTO<ProductoLecturaDTO>> buscarProductos(
+            @Parameter(description = "Texto a buscar en nombre y descripción", required = true)
+            @RequestParam("q") String q,
+
+            @Parameter(description = "Número de página (base 0)")
+            @RequestParam(value = "pagina", defaultValue = "0") Integer pagina,
+
+            @Parameter(description = "Cantidad de productos por página (máximo 100)")
+            @RequestParam(value = "tamanio", required = false) Integer tamanio,
+
+            WebRequest request) {
+
+        if (catalogoVersionService.esNoModificado(request, SeccionCatalogo.values())) {
+            return null;
+        }
+
+        return ResponseEntity.ok(productoLecturaService.buscarProductos(q, pagina, tamanio));
+    }
+
+    // ✅ FILTRAR PRODUCTOS CON CONTEOS POR FACETA
+    @GetMapping("/filtrar")
+    @Operation(summary = "Filtrar productos y obtener conteos por categoría y rango de precio")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Productos filtrados y facetas"),
+            @ApiResponse(responseCode = "400", description = "Rango de precio inválido")
+    })
+    public ResponseEntity<ResultadoFiltroProductosDTO> filtrarProductos(
+            @Parameter(description = "ID de la categoría")
+            @RequestParam(value = "categoriaId", required = false) Long categoriaId,
+
+            @Parameter(description = "Precio con descuento mínimo (inclusive)")
+            @RequestParam(value = "precioDesde", required = false) BigDecimal precioDesde,
+
+            @Parameter(description = "Precio con descuento máximo (exclusive)")
+            @RequestParam(value = "precioHasta", required = false) BigDecimal precioHasta,
+
+            @Parameter(description = "true: solo con descuento, false: solo sin descuento")
+            @RequestParam(value = "conDescuento", required = false) Boolean conDescuento,
+
+            @Parameter(description = "Estado del producto")
+            @RequestParam(value = "activo", required = false) Boolean activo,
+
+            @Parameter(description = "Número de página (base 0)")
+            @RequestParam(value = "pagina", defaultValue = "0") Integer pagina,
+
+            @Parameter(description = "Cantidad de productos por página (máximo 100)")
+            @RequestParam(value = "tamanio", required = false) Integer tamanio,
+
+            WebRequest request) {
+
+        if (catalogoVersionService.esNoModificado(request, SeccionCatalogo.values())) {
+            return null;
+        }
+
+        FiltroProductoDTO filtro = FiltroProductoDTO.builder()
+                .categoriaId(categoriaId)
+                .precioDesde(precioDesde)
+                .precioHasta(precioHasta)
+                .conDescuento(conDescuento)
+                .activo(activo)
+                .build();
+
+        return ResponseEntity.ok(productoLecturaService.filtrarProductos(filtro, pagina, tamanio));
+    }
+
+    // ✅ IMPORTACIÓN MASIVA DE PRODUCTOS (CSV / NDJSON)
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/importar", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Importar productos desde un archivo CSV o NDJSON")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Resumen de la importación con errores por fila"),
+            @ApiResponse(responseCode = "400", description = "Archivo vacío o ilegible")
+    })
+    public ResponseEntity<ResultadoImportacionDTO> importarProductos(
+            @Parameter(description = "Archivo CSV (con encabezado) o NDJSON (un producto JSON por línea)", required = true)
+            @RequestParam("archivo") MultipartFile archivo,
+
+            @Parameter(description = "Formato del archivo; si se omite se deduce de la extensión")
+            @RequestParam(value = "formato", required = false) FormatoImportacion formato,
+
+            @Parameter(description = "ID del usuario que realiza la importación", required = true)
+            @RequestParam("usuarioId") Long usuarioId) {
+
+        FormatoImportacion formatoAplicado = formato != null ? formato : deducirFormato(archivo.getOriginalFilename());
+        return ResponseEntity.ok(productoImportacionService.importarProductos(archivo, formatoAplicado, usuarioId));
+    }
+
+    private FormatoImportacion deducirFormato(String nombreArchivo) {
+        String nombre = nombreArchivo != null ? nombreArchivo.toLowerCase() : "";
+        return nombre.endsWith(".ndjson") || nombre.endsWith(".jsonl") ? FormatoImportacion.NDJSON : FormatoImportacion.CSV;
+    }
+
     // ✅ OBTENER AUDITORÍAS
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/auditorias")
@@ -197,6 +388,53 @@ public class ProductoController {
         return ResponseEntity.ok(productoService.consultarAuditoriasProductos());
     }
 
+    // ✅ ESTADÍSTICAS DE LA CACHÉ DEL CATÁLOGO
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/cache/estadisticas")
+    @Operation(summary = "Obtener aciertos y fallos de la caché del catálogo")
+    public ResponseEntity<List<CacheEstadisticasDTO>> obtenerEstadisticasCache() {
+        return ResponseEntity.ok(catalogoCacheService.obtenerEstadisticas());
+    }
+
+    // ✅ ESTADÍSTICAS DE LA LIMPIEZA DE IMÁGENES HUÉRFANAS
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/imagenes/limpieza/estadisticas")
+    @Operation(summary = "Obtener archivos y bytes liberados por la limpieza de uploads")
+    public ResponseEntity<LimpiezaImagenesEstadisticasDTO> obtenerEstadisticasLimpiezaImagenes() {
+        return ResponseEntity.ok(imagenCleanupScheduler.obtenerEstadisticas());
+    }
+
+    // ✅ AVANCE DE LOS ENVÍOS DE NOTIFICACIONES DE DESCUENTO
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/notificaciones/descuentos")
+    @Operation(summary = "Listar los envíos recientes de notificaciones de descuento")
+    public ResponseEntity<List<TrabajoNotificacionDTO>> obtenerTrabajosNotificacion() {
+        return ResponseEntity.ok(notificacionDescuentoService.obtenerTrabajos());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/notificaciones/descuentos/{trabajoId}")
+    @Operation(summary = "Consultar el avance de un envío de notificaciones de descuento")
+    public ResponseEntity<TrabajoNotificacionDTO> obtenerTrabajoNotificacion(@PathVariable String trabajoId) {
+        return notificacionDescuentoService.obtenerTrabajo(trabajoId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // ✅ RANKING DE PRODUCTOS MÁS DESEADOS (DESDE MEMORIA)
+    @GetMapping("/mas-deseados")
+    @Operation(summary = "Productos activos con más favoritos, de mayor a menor")
+    public ResponseEntity<List<ProductoMasDeseadoDTO>> obtenerMasDeseados(
+            @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(favoritoContadorService.obtenerRanking(limite));
+    }
+
+    @GetMapping("/{id}/favoritos/cantidad")
+    @Operation(summary = "Cantidad de usuarios que tienen el producto en favoritos")
+    public ResponseEntity<Long> obtenerCantidadFavoritos(@PathVariable Long id) {
+        return ResponseEntity.ok(favoritoContadorService.obtenerCantidad(id));
+    }
+
     // ✅ NUEVO: CREAR PRODUCTO CON MÚLTIPLES IMÁGENES
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     @PostMapping(value = "/productos-multiple", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
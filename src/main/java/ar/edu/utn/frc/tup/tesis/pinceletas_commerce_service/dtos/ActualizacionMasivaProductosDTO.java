@@ -0,0 +1,30 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Cambio de descuento y/o precio sobre varios productos.
+ * Se indica una lista de ids o una categoría (no ambos).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ActualizacionMasivaProductosDTO {
+
+    private List<Long> productoIds;
+
+    private Long categoriaId;
+
+    /** Nuevo descuento (0-100) para todos los productos seleccionados */
+    private BigDecimal descuentoPorcentaje;
+
+    /** Ajuste porcentual del precio, por ejemplo 10 sube un 10% y -5 baja un 5% */
+    private BigDecimal ajustePrecioPorcentaje;
+}
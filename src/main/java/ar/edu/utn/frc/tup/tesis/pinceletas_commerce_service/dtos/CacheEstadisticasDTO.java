@@ -0,0 +1,19 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CacheEstadisticasDTO {
+    private String nombre;
+    private Long entradas;
+    private Long aciertos;
+    private Long fallos;
+    private Double tasaAciertos;
+    private Long desalojos;
+}
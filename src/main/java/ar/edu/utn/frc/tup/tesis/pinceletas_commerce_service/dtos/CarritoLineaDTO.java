@@ -0,0 +1,41 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CarritoLineaDTO {
+
+    private Long itemId;
+
+    private Long productoId;
+
+    private String nombre;
+
+    /** Imagen principal del producto */
+    private String imagen;
+
+    private Boolean activo;
+
+    private Long opcionId;
+
+    private String opcionTipo;
+
+    private Integer cantidad;
+
+    private BigDecimal precio;
+
+    private BigDecimal descuentoPorcentaje;
+
+    /** Precio unitario con el descuento aplicado */
+    private BigDecimal precioFinal;
+
+    private BigDecimal subtotal;
+}
@@ -0,0 +1,33 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Todo lo que necesita la vista del carrito: líneas, totales y costo de envío.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CarritoResumenDTO {
+
+    private List<CarritoLineaDTO> lineas;
+
+    /** Suma de los subtotales de las líneas, sin envío */
+    private BigDecimal subtotal;
+
+    /** Unidades en el carrito (suma de cantidades) */
+    private Long cantidadItems;
+
+    private BigDecimal costoEnvio;
+
+    private BigDecimal montoMinimoEnvioGratis;
+
+    private BigDecimal total;
+}
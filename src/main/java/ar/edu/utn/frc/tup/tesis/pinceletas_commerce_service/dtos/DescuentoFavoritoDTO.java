@@ -0,0 +1,30 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Datos de un producto favorito que entró en descuento, para armar la notificación.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DescuentoFavoritoDTO {
+
+    private Long productoId;
+
+    private String nombre;
+
+    private BigDecimal precioOriginal;
+
+    private BigDecimal descuentoPorcentaje;
+
+    private BigDecimal precioConDescuento;
+
+    private String imagen;
+}
@@ -0,0 +1,18 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ErrorImportacionDTO {
+
+    /** Número de fila de datos (1 = primer producto del archivo) */
+    private Integer fila;
+
+    private String mensaje;
+}
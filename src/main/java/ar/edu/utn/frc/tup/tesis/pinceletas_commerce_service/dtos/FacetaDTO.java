@@ -0,0 +1,31 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Cantidad de productos para un valor de faceta (una categoría o un rango de precio).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FacetaDTO {
+
+    /** Id de la categoría o índice del rango de precio */
+    private Long valor;
+
+    private String etiqueta;
+
+    /** Límite inferior del rango de precio (solo facetas de precio) */
+    private BigDecimal desde;
+
+    /** Límite superior exclusivo del rango de precio; nulo en el último rango */
+    private BigDecimal hasta;
+
+    private Long cantidad;
+}
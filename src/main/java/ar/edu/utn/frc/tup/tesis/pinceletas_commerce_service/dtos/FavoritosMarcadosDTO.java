@@ -0,0 +1,27 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Cuáles de los productos consultados están en favoritos del usuario (para el corazón de cada tarjeta).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FavoritosMarcadosDTO {
+
+    /** Ids consultados que son favoritos, en el orden en que se pidieron */
+    private List<Long> productoIds;
+
+    /**
+     * Los mismos datos como bitmap en Base64: el bit i corresponde al i-ésimo id pedido.
+     * Orden de java.util.BitSet: el bit i está en el byte i / 8, posición i % 8 desde el menos significativo.
+     */
+    private String mapa;
+}
@@ -0,0 +1,31 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Criterios del filtro de productos. Los campos nulos no filtran.
+ * El rango de precio se aplica sobre el precio con descuento: desde inclusive, hasta exclusive,
+ * igual que los rangos de las facetas.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FiltroProductoDTO {
+
+    private Long categoriaId;
+
+    private BigDecimal precioDesde;
+
+    private BigDecimal precioHasta;
+
+    /** true: solo productos con descuento; false: solo sin descuento */
+    private Boolean conDescuento;
+
+    private Boolean activo;
+}
@@ -0,0 +1,20 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LimpiezaImagenesEstadisticasDTO {
+    private Long archivosRevisados;
+    private Long archivosEliminados;
+    private Long bytesLiberados;
+    private Long vueltasCompletas;
+    private LocalDateTime ultimaEjecucion;
+}
@@ -0,0 +1,24 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.TipoOperacionCarrito;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Una operación del lote de cambios del carrito.
+ * AGREGAR usa productoId, cantidad y opcionSeleccionadaId; MODIFICAR usa itemId y cantidad; ELIMINAR usa itemId.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class OperacionCarritoDTO {
+
+    private TipoOperacionCarrito tipo;
+    private Long itemId;
+    private Long productoId;
+    private Integer cantidad;
+    private Long opcionSeleccionadaId;
+}
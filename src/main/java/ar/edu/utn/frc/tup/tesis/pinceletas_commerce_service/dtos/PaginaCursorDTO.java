@@ -0,0 +1,31 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de resultados paginada por cursor (keyset).
+ * El cursor es opaco para el cliente: solo debe reenviarse para pedir la página siguiente.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PaginaCursorDTO<T> {
+
+    /** Elementos de la página actual */
+    private List<T> items;
+
+    /** Tamaño de página aplicado */
+    private Integer tamanio;
+
+    /** Cursor para pedir la página siguiente (null si no hay más) */
+    private String siguienteCursor;
+
+    /** Indica si existen más resultados después de esta página */
+    private Boolean hayMas;
+}
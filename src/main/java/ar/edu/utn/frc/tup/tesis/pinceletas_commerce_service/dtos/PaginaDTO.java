@@ -0,0 +1,31 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de resultados paginada por número de página.
+ * No incluye el total de elementos para evitar un COUNT en cada consulta.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PaginaDTO<T> {
+
+    /** Elementos de la página actual */
+    private List<T> items;
+
+    /** Número de página (base 0) */
+    private Integer pagina;
+
+    /** Tamaño de página aplicado */
+    private Integer tamanio;
+
+    /** Indica si existen más resultados después de esta página */
+    private Boolean hayMas;
+}
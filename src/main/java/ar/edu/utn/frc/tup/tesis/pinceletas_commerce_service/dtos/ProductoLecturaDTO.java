@@ -0,0 +1,46 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Modelo de lectura de producto para los endpoints GET.
+ * Mantiene la forma del JSON que antes se obtenía serializando ProductoEntity.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductoLecturaDTO {
+
+    private Long id;
+
+    private String nombre;
+
+    private String descripcion;
+
+    private BigDecimal precio;
+
+    /** Precio con el descuento ya aplicado */
+    private BigDecimal precioFinal;
+
+    /** URLs de las imágenes en su orden de carga */
+    private List<String> imagenes;
+
+    /** Por imagen, los anchos (px) ya generados; se piden en /uploads/variantes/{ancho}/{archivo} */
+    private Map<String, List<Integer>> variantes;
+
+    private Boolean activo;
+
+    private BigDecimal descuentoPorcentaje;
+
+    private CategoriaDTO categoria;
+
+    private List<OpcionProductoDTO> opciones;
+}
@@ -0,0 +1,19 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entrada del ranking de productos más agregados a favoritos.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductoMasDeseadoDTO {
+    private Long productoId;
+    private String nombre;
+    private long cantidadFavoritos;
+}
@@ -0,0 +1,24 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ResultadoActualizacionMasivaDTO {
+
+    private Integer productosActualizados;
+
+    /** Productos que pasaron de no tener descuento a tenerlo */
+    private Integer productosEnDescuento;
+
+    /** Usuarios que recibirán un único email con sus favoritos en descuento */
+    private Integer usuariosANotificar;
+
+    /** Id del envío en segundo plano, para seguir su avance; null si no hay a quién notificar */
+    private String trabajoNotificacionId;
+}
@@ -0,0 +1,26 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Productos que cumplen el filtro junto con los conteos por faceta.
+ * Cada faceta se cuenta aplicando todos los criterios excepto el suyo,
+ * así el cliente puede mostrar cuántos productos tendría al cambiar esa opción.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ResultadoFiltroProductosDTO {
+
+    private PaginaDTO<ProductoLecturaDTO> productos;
+
+    private List<FacetaDTO> categorias;
+
+    private List<FacetaDTO> rangosPrecio;
+}
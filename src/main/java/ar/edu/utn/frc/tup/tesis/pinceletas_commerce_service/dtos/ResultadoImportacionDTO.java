@@ -0,0 +1,29 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resumen de una importación masiva de productos.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ResultadoImportacionDTO {
+
+    private Integer filasLeidas;
+
+    private Integer importados;
+
+    private Integer conError;
+
+    /** Detalle de errores por fila; se corta en un máximo para no inflar la respuesta */
+    private List<ErrorImportacionDTO> errores;
+
+    private Long duracionMs;
+}
@@ -0,0 +1,36 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.EstadoTrabajoNotificacion;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Avance de un envío de notificaciones de descuento en segundo plano.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TrabajoNotificacionDTO {
+    private String id;
+    private EstadoTrabajoNotificacion estado;
+
+    /** Usuarios a notificar */
+    private Integer total;
+    private Integer enviados;
+
+    /** Usuarios sin email registrado */
+    private Integer omitidos;
+    private Integer fallidos;
+
+    /** Primeros errores del trabajo ("usuario 12: mensaje") */
+    private List<String> errores;
+
+    private LocalDateTime fechaInicio;
+    private LocalDateTime fechaFin;
+}
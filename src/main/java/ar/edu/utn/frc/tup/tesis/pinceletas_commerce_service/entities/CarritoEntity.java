@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -27,4 +29,14 @@ public class CarritoEntity {
     @ManyToOne
     @JoinColumn(name = "opcion_seleccionada_id")
     private OpcionProductoEntity opcionSeleccionada;
+
+    // Último cambio de la línea; un carrito vence cuando todas sus líneas superan el TTL (ver CarritoExpiracionScheduler)
+    @Column(name = "ultima_modificacion")
+    private LocalDateTime ultimaModificacion;
+
+    @PrePersist
+    @PreUpdate
+    void actualizarUltimaModificacion() {
+        ultimaModificacion = LocalDateTime.now();
+    }
 }
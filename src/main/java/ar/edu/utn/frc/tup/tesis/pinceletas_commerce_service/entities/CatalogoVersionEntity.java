@@ -0,0 +1,32 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.SeccionCatalogo;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Contador de cambios por sección del catálogo, base de los ETag de los GET.
+ * Las filas se crean en schema.sql; las escrituras solo incrementan.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "catalogo_versiones")
+public class CatalogoVersionEntity {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private SeccionCatalogo seccion;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(nullable = false)
+    private LocalDateTime ultimaModificacion;
+}
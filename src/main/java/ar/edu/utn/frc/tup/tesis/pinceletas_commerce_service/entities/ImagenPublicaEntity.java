@@ -0,0 +1,30 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * URL pública (ImgBB) de una imagen local, identificada por el SHA-256 de su contenido.
+ * Una imagen ya subida nunca se vuelve a subir, aunque cambie de nombre o de producto.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "imagenes_publicas")
+public class ImagenPublicaEntity {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false, length = 500)
+    private String urlPublica;
+
+    @Column(nullable = false)
+    private LocalDateTime fechaCreacion;
+}
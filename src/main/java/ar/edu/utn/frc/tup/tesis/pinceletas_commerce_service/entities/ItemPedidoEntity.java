@@ -13,8 +13,10 @@ import java.math.BigDecimal;
 @Entity
 @Table(name = "items_pedido")
 public class ItemPedidoEntity {
+    // Secuencia con bloques de 50 ids: con IDENTITY Hibernate no puede agrupar los INSERT en lotes
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_pedido_seq")
+    @SequenceGenerator(name = "items_pedido_seq", sequenceName = "items_pedido_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -1,5 +1,6 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities;
 
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.CalculadoraPrecios;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -16,7 +17,13 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "productos")
+@Table(name = "productos", indexes = {
+        // Índices para la paginación por cursor ordenada por precio final o por nombre
+        @Index(name = "idx_productos_precio_final_id", columnList = "precio_final, id"),
+        @Index(name = "idx_productos_nombre_id", columnList = "nombre, id"),
+        // Índice para el filtro por categoría/estado y sus facetas
+        @Index(name = "idx_productos_categoria_activo_precio", columnList = "categoria_id, activo, precio_final")
+})
 public class ProductoEntity {
 
     @Id
@@ -42,6 +49,10 @@ public class ProductoEntity {
     @Column(nullable = false)
     private BigDecimal descuentoPorcentaje = BigDecimal.ZERO;
 
+    // Precio con descuento aplicado; se recalcula en cada escritura para poder ordenar y filtrar por él
+    @Column(name = "precio_final", precision = 19, scale = 2)
+    private BigDecimal precioFinal;
+
     @ManyToOne(fetch = FetchType.EAGER) // ✅ Asegura que cargue la categoría
     @JoinColumn(name = "categoria_id")
     @JsonIgnoreProperties("productos") // ✅ Ignora solo la lista de productos dentro de categoría
@@ -55,6 +66,12 @@ public class ProductoEntity {
     )
     private List<OpcionProductoEntity> opciones;
 
+    @PrePersist
+    @PreUpdate
+    void actualizarPrecioFinal() {
+        precioFinal = CalculadoraPrecios.precioFinal(precio, descuentoPorcentaje);
+    }
+
     // ✅ NUEVO: Método helper para obtener la primera imagen (imagen principal)
     @JsonIgnore
     public String getImagenPrincipal() {
@@ -0,0 +1,6 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums;
+
+public enum FormatoImportacion {
+    CSV,
+    NDJSON
+}
@@ -0,0 +1,7 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums;
+
+public enum SeccionCatalogo {
+    PRODUCTOS,
+    CATEGORIAS,
+    OPCIONES
+}
@@ -0,0 +1,39 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.AuditoriaProductoEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Inserción de auditorías de productos en lotes JDBC, para operaciones masivas
+ * donde un save por fila sería el cuello de botella.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditoriaProductoJdbcRepository {
+
+    private static final String INSERT_AUDITORIA = "INSERT INTO auditoria_productos " +
+            "(producto_id, usuario_id, accion, valores_anteriores, valores_nuevos, fecha_accion) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertarLote(List<AuditoriaProductoEntity> auditorias) {
+        if (auditorias.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_AUDITORIA, auditorias, auditorias.size(), (ps, auditoria) -> {
+            ps.setLong(1, auditoria.getProductoId());
+            ps.setObject(2, auditoria.getUsuarioId(), Types.BIGINT);
+            ps.setString(3, auditoria.getAccion().name());
+            ps.setString(4, auditoria.getValoresAnteriores());
+            ps.setString(5, auditoria.getValoresNuevos());
+            ps.setTimestamp(6, Timestamp.valueOf(auditoria.getFechaAccion()));
+        });
+    }
+}
@@ -0,0 +1,136 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.OperacionCarritoDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Cambios del carrito en lotes JDBC: una ida a la base por tipo de operación, no por ítem.
+ * Modificaciones y eliminaciones filtran por usuario, así un ítem ajeno cuenta como inexistente.
+ * También es la persistencia del modo en memoria (ver CarritoMemoriaService).
+ */
+@Repository
+@RequiredArgsConstructor
+public class CarritoJdbcRepository {
+
+    /** Mismo upsert que CarritoRepository.agregarOSumar */
+    private static final String AGREGAR_O_SUMAR =
+            "INSERT INTO carrito (usuario_id, producto_id, cantidad, opcion_seleccionada_id, ultima_modificacion) " +
+            "VALUES (?, ?, ?, ?, now()) " +
+            "ON CONFLICT (usuario_id, producto_id, COALESCE(opcion_seleccionada_id, 0)) " +
+            "DO UPDATE SET cantidad = carrito.cantidad + EXCLUDED.cantidad, ultima_modificacion = now()";
+
+    private static final String MODIFICAR_CANTIDAD =
+            "UPDATE carrito SET cantidad = ?, ultima_modificacion = now() WHERE id = ? AND usuario_id = ?";
+
+    private static final String ELIMINAR = "DELETE FROM carrito WHERE id = ? AND usuario_id = ?";
+
+    private static final String RESERVAR_IDS =
+            "SELECT nextval(pg_get_serial_sequence('carrito', 'id')) FROM generate_series(1, ?)";
+
+    private static final String BUSCAR_LINEAS = "SELECT id, usuario_id, producto_id, opcion_seleccionada_id, cantidad " +
+            "FROM carrito WHERE usuario_id = ? ORDER BY id";
+
+    private static final String BUSCAR_USUARIO_DE_ITEM = "SELECT usuario_id FROM carrito WHERE id = ?";
+
+    private static final String GUARDAR_LINEA =
+            "INSERT INTO carrito (id, usuario_id, producto_id, cantidad, opcion_seleccionada_id, ultima_modificacion) " +
+            "VALUES (?, ?, ?, ?, ?, now()) " +
+            "ON CONFLICT (id) DO UPDATE SET cantidad = EXCLUDED.cantidad, ultima_modificacion = now()";
+
+    private static final String ELIMINAR_POR_ID = "DELETE FROM carrito WHERE id = ?";
+
+    /** Fila de carrito sin entidades asociadas */
+    public record LineaCarrito(Long id, Long usuarioId, Long productoId, Long opcionId, int cantidad) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void agregarOSumar(Long usuarioId, List<OperacionCarritoDTO> operaciones) {
+        if (operaciones.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(AGREGAR_O_SUMAR, operaciones, operaciones.size(), (ps, operacion) -> {
+            ps.setLong(1, usuarioId);
+            ps.setLong(2, operacion.getProductoId());
+            ps.setInt(3, operacion.getCantidad());
+            if (operacion.getOpcionSeleccionadaId() != null) {
+                ps.setLong(4, operacion.getOpcionSeleccionadaId());
+            } else {
+                ps.setNull(4, Types.BIGINT);
+            }
+        });
+    }
+
+    /** Devuelve, por operación, las filas afectadas (0 si el ítem no existe o es de otro usuario) */
+    public int[][] modificarCantidades(Long usuarioId, List<OperacionCarritoDTO> operaciones) {
+        if (operaciones.isEmpty()) {
+            return new int[0][];
+        }
+        return jdbcTemplate.batchUpdate(MODIFICAR_CANTIDAD, operaciones, operaciones.size(), (ps, operacion) -> {
+            ps.setInt(1, operacion.getCantidad());
+            ps.setLong(2, operacion.getItemId());
+            ps.setLong(3, usuarioId);
+        });
+    }
+
+    public int[][] eliminar(Long usuarioId, List<OperacionCarritoDTO> operaciones) {
+        if (operaciones.isEmpty()) {
+            return new int[0][];
+        }
+        return jdbcTemplate.batchUpdate(ELIMINAR, operaciones, operaciones.size(), (ps, operacion) -> {
+            ps.setLong(1, operacion.getItemId());
+            ps.setLong(2, usuarioId);
+        });
+    }
+
+    // ---------------------- MODO EN MEMORIA ----------------------
+
+    public List<Long> reservarIds(int cantidad) {
+        return jdbcTemplate.queryForList(RESERVAR_IDS, Long.class, cantidad);
+    }
+
+    public List<LineaCarrito> buscarLineas(Long usuarioId) {
+        return jdbcTemplate.query(BUSCAR_LINEAS, (rs, fila) -> new LineaCarrito(
+                rs.getLong("id"),
+                rs.getLong("usuario_id"),
+                rs.getLong("producto_id"),
+                rs.getObject("opcion_seleccionada_id", Long.class),
+                rs.getInt("cantidad")), usuarioId);
+    }
+
+    public Optional<Long> buscarUsuarioDeItem(Long itemId) {
+        return jdbcTemplate.queryForList(BUSCAR_USUARIO_DE_ITEM, Long.class, itemId).stream().findFirst();
+    }
+
+    /** Inserta o actualiza por id; los ids ya vienen reservados de la secuencia */
+    public void guardarLineas(List<LineaCarrito> lineas) {
+        if (lineas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(GUARDAR_LINEA, lineas, lineas.size(), (ps, linea) -> {
+            ps.setLong(1, linea.id());
+            ps.setLong(2, linea.usuarioId());
+            ps.setLong(3, linea.productoId());
+            ps.setInt(4, linea.cantidad());
+            if (linea.opcionId() != null) {
+                ps.setLong(5, linea.opcionId());
+            } else {
+                ps.setNull(5, Types.BIGINT);
+            }
+        });
+    }
+
+    public void eliminarPorIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(ELIMINAR_POR_ID, ids, ids.size(), (ps, id) -> ps.setLong(1, id));
+    }
+}
@@ -1,19 +1,77 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories;
 
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.CarritoEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections.CarritoLineaProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CarritoRepository extends JpaRepository<CarritoEntity, Long> {
     List<CarritoEntity> findByUsuarioId(Long usuarioId);
 
-    // ✅ NUEVO: Método para verificar si ya existe un producto con opción específica
-    boolean existsByUsuarioIdAndProductoIdAndOpcionSeleccionadaId(Long usuarioId, Long productoId, Long opcionSeleccionadaId);
+    /**
+     * Resumen del carrito en una consulta: líneas con precio final (productos.precio_final),
+     * totales por suma de ventana y la configuración de envío activa más reciente.
+     */
+    @Query(value = "SELECT c.id AS \"itemId\", p.id AS \"productoId\", p.nombre AS \"nombre\", " +
+            "(SELECT i.imagen_url FROM producto_imagenes i WHERE i.producto_id = p.id AND i.orden = 0) AS \"imagen\", " +
+            "p.activo AS \"activo\", o.id AS \"opcionId\", o.tipo AS \"opcionTipo\", c.cantidad AS \"cantidad\", " +
+            "p.precio AS \"precio\", p.descuento_porcentaje AS \"descuentoPorcentaje\", p.precio_final AS \"precioFinal\", " +
+            "p.precio_final * c.cantidad AS \"subtotalLinea\", " +
+            "SUM(p.precio_final * c.cantidad) OVER () AS \"subtotal\", " +
+            "SUM(c.cantidad) OVER () AS \"cantidadTotal\", " +
+            "e.costo AS \"costoEnvio\", e.monto_minimo_envio_gratis AS \"montoMinimoEnvioGratis\" " +
+            "FROM carrito c " +
+            "JOIN productos p ON p.id = c.producto_id " +
+            "LEFT JOIN opciones_producto o ON o.id = c.opcion_seleccionada_id " +
+            "LEFT JOIN LATERAL (SELECT ce.costo, ce.monto_minimo_envio_gratis FROM configuraciones_envio ce " +
+            "WHERE ce.activo = true ORDER BY ce.fecha_creacion DESC LIMIT 1) e ON true " +
+            "WHERE c.usuario_id = :usuarioId ORDER BY c.id", nativeQuery = true)
+    List<CarritoLineaProjection> findResumenPorUsuarioId(@Param("usuarioId") Long usuarioId);
 
-    // ✅ NUEVO: Método para productos sin opción
-    boolean existsByUsuarioIdAndProductoIdAndOpcionSeleccionadaIsNull(Long usuarioId, Long productoId);
+    /**
+     * Inserta el ítem o, si el usuario ya tiene el producto con la misma opción, suma la cantidad.
+     * Se apoya en el índice único uk_carrito_usuario_producto_opcion (ver schema.sql), donde la opción
+     * nula cuenta como 0 para que "sin opción" también sea una sola fila. Devuelve el id del ítem.
+     */
+    @Transactional
+    @Query(value = "INSERT INTO carrito (usuario_id, producto_id, cantidad, opcion_seleccionada_id, ultima_modificacion) " +
+            "VALUES (:usuarioId, :productoId, :cantidad, :opcionId, now()) " +
+            "ON CONFLICT (usuario_id, producto_id, COALESCE(opcion_seleccionada_id, 0)) " +
+            "DO UPDATE SET cantidad = carrito.cantidad + EXCLUDED.cantidad, ultima_modificacion = now() " +
+            "RETURNING id", nativeQuery = true)
+    Long agregarOSumar(@Param("usuarioId") Long usuarioId,
+                       @Param("productoId") Long productoId,
+                       @Param("cantidad") int cantidad,
+                       @Param("opcionId") Long opcionId);
 
+    /**
+     * Siguiente lote de usuarios (en orden de id, después de desdeUsuarioId) con alguna línea sin cambios desde limite
+     */
+    @Query(value = "SELECT DISTINCT c.usuario_id FROM carrito c " +
+            "WHERE c.ultima_modificacion < :limite AND c.usuario_id > :desdeUsuarioId " +
+            "ORDER BY c.usuario_id LIMIT :lote", nativeQuery = true)
+    List<Long> findUsuariosConLineasVencidas(@Param("limite") LocalDateTime limite,
+                                             @Param("desdeUsuarioId") Long desdeUsuarioId,
+                                             @Param("lote") int lote);
+
+    /**
+     * Borra el carrito completo de esos usuarios, salvo que alguna línea se haya tocado después de limite
+     * (entonces el carrito sigue en uso y no se borra ninguna de sus líneas). Devuelve las filas borradas.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM carrito c WHERE c.usuario_id IN (:usuarioIds) " +
+            "AND NOT EXISTS (SELECT 1 FROM carrito r WHERE r.usuario_id = c.usuario_id " +
+            "AND r.ultima_modificacion >= :limite)", nativeQuery = true)
+    int deleteCarritosVencidos(@Param("usuarioIds") Collection<Long> usuarioIds,
+                               @Param("limite") LocalDateTime limite);
 }
@@ -0,0 +1,22 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.CatalogoVersionEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.SeccionCatalogo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface CatalogoVersionRepository extends JpaRepository<CatalogoVersionEntity, SeccionCatalogo> {
+
+    /** Incremento atómico en la base, sin leer la fila antes */
+    @Modifying
+    @Query("UPDATE CatalogoVersionEntity v SET v.version = v.version + 1, v.ultimaModificacion = :fecha " +
+            "WHERE v.seccion IN :secciones")
+    int incrementar(@Param("secciones") Collection<SeccionCatalogo> secciones, @Param("fecha") LocalDateTime fecha);
+}
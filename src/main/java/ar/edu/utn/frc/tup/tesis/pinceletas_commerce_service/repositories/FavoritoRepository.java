@@ -1,17 +1,32 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories;
 
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.FavoritoEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections.FavoritoUsuarioProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface FavoritoRepository extends JpaRepository<FavoritoEntity, Long> {
     List<FavoritoEntity> findByUsuarioId(Long usuarioId);
     boolean existsByUsuarioIdAndProductoId(Long usuarioId, Long productoId);
-    void deleteByUsuarioIdAndProductoId(Long usuarioId, Long productoId);
+    long deleteByUsuarioIdAndProductoId(Long usuarioId, Long productoId);
 
     // 🔔 NUEVO: Obtener todos los favoritos de un producto específico
     List<FavoritoEntity> findByProductoId(Long productoId);
+
+    // Usuarios que tienen en favoritos alguno de los productos, sin cargar las entidades
+    @Query("SELECT f.usuarioId AS usuarioId, f.producto.id AS productoId FROM FavoritoEntity f " +
+            "WHERE f.producto.id IN :productoIds")
+    List<FavoritoUsuarioProjection> findUsuariosPorProductoIds(@Param("productoIds") Collection<Long> productoIds);
+
+    // Cuáles de los productos son favoritos del usuario: se resuelve solo con el índice uk_favoritos_usuario_producto
+    @Query(value = "SELECT f.producto_id FROM favoritos f WHERE f.usuario_id = :usuarioId AND f.producto_id IN (:productoIds)",
+            nativeQuery = true)
+    List<Long> findProductoIdsFavoritos(@Param("usuarioId") Long usuarioId,
+                                        @Param("productoIds") Collection<Long> productoIds);
 }
@@ -0,0 +1,9 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.ImagenPublicaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ImagenPublicaRepository extends JpaRepository<ImagenPublicaEntity, String> {
+}
@@ -1,12 +1,25 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories;
 
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.OpcionProductoEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections.OpcionResumenProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface OpcionProductoRepository extends JpaRepository<OpcionProductoEntity, Long> {
     List<OpcionProductoEntity> findByProductoId(Long productoId);
+
+    // Id y tipo de las opciones existentes, sin el producto EAGER de la entidad
+    @Query("SELECT o.id AS id, o.tipo AS tipo FROM OpcionProductoEntity o WHERE o.id IN :ids")
+    List<OpcionResumenProjection> findResumenPorIds(@Param("ids") Collection<Long> ids);
+
+    // Con su producto (EAGER), las imágenes y la categoría de este en la misma consulta
+    @Query("SELECT DISTINCT o FROM OpcionProductoEntity o LEFT JOIN FETCH o.producto p " +
+            "LEFT JOIN FETCH p.imagenes LEFT JOIN FETCH p.categoria WHERE o.id IN :ids")
+    List<OpcionProductoEntity> findConProductoPorIds(@Param("ids") Collection<Long> ids);
 }
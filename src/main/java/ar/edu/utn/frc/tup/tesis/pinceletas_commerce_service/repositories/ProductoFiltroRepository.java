@@ -0,0 +1,25 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.FacetaDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.FiltroProductoDTO;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Consultas dinámicas del filtro de productos; ProductoRepository las expone como fragmento.
+ */
+public interface ProductoFiltroRepository {
+
+    /** Ids de los productos que cumplen el filtro, ordenados por id */
+    List<Long> filtrarIds(FiltroProductoDTO filtro, int limite, int desplazamiento);
+
+    /** Cantidad de productos por categoría, aplicando el filtro salvo la categoría */
+    List<FacetaDTO> contarPorCategoria(FiltroProductoDTO filtro);
+
+    /**
+     * Cantidad de productos por rango de precio con descuento, aplicando el filtro salvo el precio.
+     * Los límites deben estar ordenados; el último rango queda abierto.
+     */
+    List<Long> contarPorRangoPrecio(FiltroProductoDTO filtro, List<BigDecimal> limites);
+}
@@ -0,0 +1,126 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.FacetaDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.FiltroProductoDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Arma el WHERE según los criterios presentes para que PostgreSQL use el índice
+ * (categoria_id, activo, precio_final) y los conteos se resuelvan con GROUP BY / FILTER en la base.
+ */
+public class ProductoFiltroRepositoryImpl implements ProductoFiltroRepository {
+
+    private static final String PRECIO_CON_DESCUENTO = "p.precio_final";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> filtrarIds(FiltroProductoDTO filtro, int limite, int desplazamiento) {
+        Map<String, Object> parametros = new HashMap<>();
+        String sql = "SELECT p.id FROM productos p"
+                + construirCondiciones(filtro, parametros, true, true)
+                + " ORDER BY p.id ASC LIMIT :limite OFFSET :desplazamiento";
+        parametros.put("limite", limite);
+        parametros.put("desplazamiento", desplazamiento);
+
+        return ejecutar(sql, parametros).stream()
+                .map(id -> ((Number) id).longValue())
+                .toList();
+    }
+
+    @Override
+    public List<FacetaDTO> contarPorCategoria(FiltroProductoDTO filtro) {
+        Map<String, Object> parametros = new HashMap<>();
+        String sql = "SELECT c.id, c.nombre, COUNT(*) FROM productos p JOIN categorias c ON c.id = p.categoria_id"
+                + construirCondiciones(filtro, parametros, false, true)
+                + " GROUP BY c.id, c.nombre ORDER BY c.nombre";
+
+        List<FacetaDTO> facetas = new ArrayList<>();
+        for (Object fila : ejecutar(sql, parametros)) {
+            Object[] columnas = (Object[]) fila;
+            facetas.add(FacetaDTO.builder()
+                    .valor(((Number) columnas[0]).longValue())
+                    .etiqueta((String) columnas[1])
+                    .cantidad(((Number) columnas[2]).longValue())
+                    .build());
+        }
+        return facetas;
+    }
+
+    @Override
+    public List<Long> contarPorRangoPrecio(FiltroProductoDTO filtro, List<BigDecimal> limites) {
+        if (limites.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<String, Object> parametros = new HashMap<>();
+        StringBuilder columnas = new StringBuilder();
+        for (int i = 0; i < limites.size(); i++) {
+            if (i > 0) {
+                columnas.append(", ");
+            }
+            columnas.append("COUNT(*) FILTER (WHERE ").append(PRECIO_CON_DESCUENTO).append(" >= :desde").append(i);
+            parametros.put("desde" + i, limites.get(i));
+            if (i + 1 < limites.size()) {
+                columnas.append(" AND ").append(PRECIO_CON_DESCUENTO).append(" < :hasta").append(i);
+                parametros.put("hasta" + i, limites.get(i + 1));
+            }
+            columnas.append(")");
+        }
+
+        String sql = "SELECT " + columnas + " FROM productos p"
+                + construirCondiciones(filtro, parametros, true, false);
+
+        // Con una sola columna el resultado no viene como arreglo
+        Object fila = ejecutar(sql, parametros).get(0);
+        Object[] conteos = fila instanceof Object[] arreglo ? arreglo : new Object[]{fila};
+
+        List<Long> resultado = new ArrayList<>();
+        for (Object conteo : conteos) {
+            resultado.add(((Number) conteo).longValue());
+        }
+        return resultado;
+    }
+
+    private String construirCondiciones(FiltroProductoDTO filtro, Map<String, Object> parametros,
+                                        boolean incluirCategoria, boolean incluirPrecio) {
+        List<String> condiciones = new ArrayList<>();
+
+        if (incluirCategoria && filtro.getCategoriaId() != null) {
+            condiciones.add("p.categoria_id = :categoriaId");
+            parametros.put("categoriaId", filtro.getCategoriaId());
+        }
+        if (filtro.getActivo() != null) {
+            condiciones.add("p.activo = :activo");
+            parametros.put("activo", filtro.getActivo());
+        }
+        if (filtro.getConDescuento() != null) {
+            condiciones.add(filtro.getConDescuento() ? "p.descuento_porcentaje > 0" : "p.descuento_porcentaje = 0");
+        }
+        if (incluirPrecio && filtro.getPrecioDesde() != null) {
+            condiciones.add(PRECIO_CON_DESCUENTO + " >= :precioDesde");
+            parametros.put("precioDesde", filtro.getPrecioDesde());
+        }
+        if (incluirPrecio && filtro.getPrecioHasta() != null) {
+            condiciones.add(PRECIO_CON_DESCUENTO + " < :precioHasta");
+            parametros.put("precioHasta", filtro.getPrecioHasta());
+        }
+
+        return condiciones.isEmpty() ? "" : " WHERE " + String.join(" AND ", condiciones);
+    }
+
+    private List<?> ejecutar(String sql, Map<String, Object> parametros) {
+        Query query = entityManager.createNativeQuery(sql);
+        parametros.forEach(query::setParameter);
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,120 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ProductoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.CalculadoraPrecios;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escritura masiva de productos con lotes JDBC.
+ * Los ids se reservan de la secuencia de la columna identity antes de insertar,
+ * así los INSERT no necesitan devolver claves y el driver puede reescribirlos como multi-fila.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductoJdbcRepository {
+
+    private static final String RESERVAR_IDS =
+            "SELECT nextval(pg_get_serial_sequence('productos', 'id')) FROM generate_series(1, ?)";
+
+    private static final String INSERT_PRODUCTO = "INSERT INTO productos " +
+            "(id, nombre, descripcion, precio, activo, descuento_porcentaje, categoria_id, precio_final) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_IMAGEN =
+            "INSERT INTO producto_imagenes (producto_id, imagen_url, orden) VALUES (?, ?, ?)";
+
+    private static final String INSERT_OPCION =
+            "INSERT INTO producto_opciones (producto_id, opcion_producto_id) VALUES (?, ?)";
+
+    private static final String SUMAR_FAVORITOS =
+            "UPDATE productos SET cantidad_favoritos = cantidad_favoritos + ? WHERE id = ?";
+
+    private static final String CONTADORES_FAVORITOS =
+            "SELECT id, cantidad_favoritos FROM productos WHERE cantidad_favoritos > 0";
+
+    /** Recalcula desde favoritos y solo escribe las filas que difieren */
+    private static final String RECONCILIAR_FAVORITOS = "UPDATE productos p SET cantidad_favoritos = c.cantidad " +
+            "FROM (SELECT q.id, COUNT(f.id) AS cantidad FROM productos q " +
+            "LEFT JOIN favoritos f ON f.producto_id = q.id GROUP BY q.id) c " +
+            "WHERE p.id = c.id AND p.cantidad_favoritos <> c.cantidad";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Long> reservarIds(int cantidad) {
+        return jdbcTemplate.queryForList(RESERVAR_IDS, Long.class, cantidad);
+    }
+
+    /** Inserta productos que ya tienen id asignado, junto con sus imágenes y opciones */
+    public void insertarProductos(List<ProductoDTO> productos) {
+        if (productos.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_PRODUCTO, productos, productos.size(), (ps, producto) -> {
+            ps.setLong(1, producto.getId());
+            ps.setString(2, producto.getNombre());
+            ps.setString(3, producto.getDescripcion());
+            ps.setBigDecimal(4, producto.getPrecio());
+            ps.setBoolean(5, producto.getActivo());
+            ps.setBigDecimal(6, producto.getDescuentoPorcentaje());
+            ps.setLong(7, producto.getCategoriaId());
+            ps.setBigDecimal(8, CalculadoraPrecios.precioFinal(producto.getPrecio(), producto.getDescuentoPorcentaje()));
+        });
+
+        List<Object[]> imagenes = new ArrayList<>();
+        List<Object[]> opciones = new ArrayList<>();
+        for (ProductoDTO producto : productos) {
+            if (producto.getImagenes() != null) {
+                for (int orden = 0; orden < producto.getImagenes().size(); orden++) {
+                    imagenes.add(new Object[]{producto.getId(), producto.getImagenes().get(orden), orden});
+                }
+            }
+            if (producto.getOpcionesIds() != null) {
+                for (Long opcionId : producto.getOpcionesIds()) {
+                    opciones.add(new Object[]{producto.getId(), opcionId});
+                }
+            }
+        }
+
+        if (!imagenes.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_IMAGEN, imagenes);
+        }
+        if (!opciones.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_OPCION, opciones);
+        }
+    }
+
+    // ---------------------- CONTADORES DE FAVORITOS ----------------------
+
+    /** Suma a cada producto la diferencia acumulada (puede ser negativa) */
+    public void sumarFavoritos(Map<Long, Long> diferencias) {
+        if (diferencias.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, Long>> filas = new ArrayList<>(diferencias.entrySet());
+        jdbcTemplate.batchUpdate(SUMAR_FAVORITOS, filas, filas.size(), (ps, fila) -> {
+            ps.setLong(1, fila.getValue());
+            ps.setLong(2, fila.getKey());
+        });
+    }
+
+    public Map<Long, Long> contadoresFavoritos() {
+        Map<Long, Long> contadores = new HashMap<>();
+        jdbcTemplate.query(CONTADORES_FAVORITOS, (RowCallbackHandler) rs ->
+                contadores.put(rs.getLong("id"), rs.getLong("cantidad_favoritos")));
+        return contadores;
+    }
+
+    /** Devuelve cuántos productos tenían el contador desfasado */
+    public int reconciliarFavoritos() {
+        return jdbcTemplate.update(RECONCILIAR_FAVORITOS);
+    }
+}
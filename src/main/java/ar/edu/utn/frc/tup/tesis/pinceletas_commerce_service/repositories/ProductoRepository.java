@@ -1,10 +1,149 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories;
 
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.ProductoEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections.ProductoDetalleProjection;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections.ProductoImagenProjection;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections.ProductoOpcionProjection;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections.ProductoPrecioProjection;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections.ProductoResumenProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface ProductoRepository extends JpaRepository<ProductoEntity, Long> {
+public interface ProductoRepository extends JpaRepository<ProductoEntity, Long>, ProductoFiltroRepository {
+
+    /** Columnas del modelo de lectura (ver ProductoResumenProjection), con la categoría unida */
+    String COLUMNAS_RESUMEN = "SELECT p.id AS \"id\", p.nombre AS \"nombre\", p.descripcion AS \"descripcion\", " +
+            "p.precio AS \"precio\", p.precio_final AS \"precioFinal\", p.descuento_porcentaje AS \"descuentoPorcentaje\", " +
+            "p.activo AS \"activo\", c.id AS \"categoriaId\", c.nombre AS \"categoriaNombre\" ";
+
+    String FROM_RESUMEN = "FROM productos p LEFT JOIN categorias c ON c.id = p.categoria_id ";
+
+    String SELECT_RESUMEN = COLUMNAS_RESUMEN + FROM_RESUMEN;
+
+    // ---------------------- MODELO DE LECTURA ----------------------
+    // Los listados traen las filas base y cargan imágenes y opciones en lote por ids;
+    // el detalle de un producto resuelve todo en una consulta.
+
+    /**
+     * Detalle de un producto en una sola consulta. Imágenes y opciones se agregan con json_agg
+     * en subconsultas separadas, así cada colección suma sus filas y no las multiplica.
+     */
+    @Query(value = COLUMNAS_RESUMEN + ", " +
+            "CAST((SELECT COALESCE(json_agg(i.imagen_url ORDER BY i.orden), '[]') " +
+            "FROM producto_imagenes i WHERE i.producto_id = p.id) AS text) AS \"imagenes\", " +
+            "CAST((SELECT COALESCE(json_agg(json_build_object('id', o.id, 'tipo', o.tipo) ORDER BY o.id), '[]') " +
+            "FROM producto_opciones po JOIN opciones_producto o ON o.id = po.opcion_producto_id " +
+            "WHERE po.producto_id = p.id) AS text) AS \"opciones\" " +
+            FROM_RESUMEN + "WHERE p.id = :id", nativeQuery = true)
+    Optional<ProductoDetalleProjection> findDetallePorId(@Param("id") Long id);
+
+    @Query(value = SELECT_RESUMEN + "ORDER BY p.id ASC", nativeQuery = true)
+    List<ProductoResumenProjection> findAllResumen();
+
+    @Query(value = SELECT_RESUMEN + "WHERE p.id IN (:ids)", nativeQuery = true)
+    List<ProductoResumenProjection> findResumenPorIds(@Param("ids") Collection<Long> ids);
+
+    /** De los ids recibidos, los que existen; no carga imágenes ni categoría */
+    @Query("SELECT p.id FROM ProductoEntity p WHERE p.id IN :ids")
+    List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    /** Productos con imágenes y categoría en una sola consulta (si no, cada una se lee aparte por producto) */
+    @Query("SELECT DISTINCT p FROM ProductoEntity p LEFT JOIN FETCH p.imagenes LEFT JOIN FETCH p.categoria " +
+            "WHERE p.id IN :ids")
+    List<ProductoEntity> findConImagenesYCategoriaPorIds(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT i.producto_id AS \"productoId\", i.imagen_url AS \"imagenUrl\" " +
+            "FROM producto_imagenes i WHERE i.producto_id IN (:ids) " +
+            "ORDER BY i.producto_id, i.orden", nativeQuery = true)
+    List<ProductoImagenProjection> findImagenesPorProductoIds(@Param("ids") Collection<Long> ids);
+
+    /** De las URLs recibidas, las que usa algún producto (limpieza de uploads) */
+    @Query(value = "SELECT DISTINCT i.imagen_url FROM producto_imagenes i WHERE i.imagen_url IN (:urls)",
+            nativeQuery = true)
+    List<String> findImagenesReferenciadas(@Param("urls") Collection<String> urls);
+
+    @Query(value = "SELECT po.producto_id AS \"productoId\", o.id AS \"opcionId\", o.tipo AS \"tipo\" " +
+            "FROM producto_opciones po JOIN opciones_producto o ON o.id = po.opcion_producto_id " +
+            "WHERE po.producto_id IN (:ids) ORDER BY po.producto_id, o.id", nativeQuery = true)
+    List<ProductoOpcionProjection> findOpcionesPorProductoIds(@Param("ids") Collection<Long> ids);
+
+    // ---------------------- PAGINACIÓN POR CURSOR (KEYSET) ----------------------
+    // Cada consulta se apoya en un índice (clave de orden, id) y compara por tupla,
+    // así el costo depende del tamaño de página y no de la posición en el catálogo.
+
+    @Query(value = SELECT_RESUMEN + "ORDER BY p.id ASC LIMIT :limite", nativeQuery = true)
+    List<ProductoResumenProjection> findPrimeraPaginaPorId(@Param("limite") int limite);
+
+    @Query(value = SELECT_RESUMEN + "WHERE p.id > :ultimoId ORDER BY p.id ASC LIMIT :limite",
+            nativeQuery = true)
+    List<ProductoResumenProjection> findPaginaPorIdDespuesDe(@Param("ultimoId") Long ultimoId,
+                                                             @Param("limite") int limite);
+
+    // El orden "por precio" es por precio final: lo que el cliente paga, no el precio de lista
+    @Query(value = SELECT_RESUMEN + "WHERE p.precio_final IS NOT NULL " +
+            "ORDER BY p.precio_final ASC, p.id ASC LIMIT :limite", nativeQuery = true)
+    List<ProductoResumenProjection> findPrimeraPaginaPorPrecio(@Param("limite") int limite);
+
+    @Query(value = SELECT_RESUMEN + "WHERE (p.precio_final, p.id) > (:precio, :ultimoId) " +
+            "ORDER BY p.precio_final ASC, p.id ASC LIMIT :limite", nativeQuery = true)
+    List<ProductoResumenProjection> findPaginaPorPrecioDespuesDe(@Param("precio") BigDecimal precio,
+                                                                 @Param("ultimoId") Long ultimoId,
+                                                                 @Param("limite") int limite);
+
+    @Query(value = SELECT_RESUMEN + "WHERE p.nombre IS NOT NULL " +
+            "ORDER BY p.nombre ASC, p.id ASC LIMIT :limite", nativeQuery = true)
+    List<ProductoResumenProjection> findPrimeraPaginaPorNombre(@Param("limite") int limite);
+
+    @Query(value = SELECT_RESUMEN + "WHERE (p.nombre, p.id) > (:nombre, :ultimoId) " +
+            "ORDER BY p.nombre ASC, p.id ASC LIMIT :limite", nativeQuery = true)
+    List<ProductoResumenProjection> findPaginaPorNombreDespuesDe(@Param("nombre") String nombre,
+                                                                 @Param("ultimoId") Long ultimoId,
+                                                                 @Param("limite") int limite);
+
+    // ---------------------- BÚSQUEDA DE TEXTO COMPLETO ----------------------
+    // "busqueda" es una columna tsvector generada por PostgreSQL (ver schema.sql) con índice GIN.
+
+    @Query(value = SELECT_RESUMEN +
+            "WHERE p.busqueda @@ to_tsquery('spanish', :consulta) " +
+            "ORDER BY ts_rank(p.busqueda, to_tsquery('spanish', :consulta)) DESC, p.id ASC " +
+            "LIMIT :limite OFFSET :desplazamiento", nativeQuery = true)
+    List<ProductoResumenProjection> buscarPorTexto(@Param("consulta") String consulta,
+                                                   @Param("limite") int limite,
+                                                   @Param("desplazamiento") int desplazamiento);
+
+    // ---------------------- ACTUALIZACIÓN MASIVA ----------------------
+
+    @Query("SELECT p.id FROM ProductoEntity p WHERE p.categoria.id = :categoriaId ORDER BY p.id")
+    List<Long> findIdsByCategoriaId(@Param("categoriaId") Long categoriaId);
+
+    /** Lee y bloquea las filas a modificar, para auditar el valor previo sin carreras */
+    @Query(value = "SELECT p.id AS \"id\", p.nombre AS \"nombre\", p.precio AS \"precio\", " +
+            "p.descuento_porcentaje AS \"descuentoPorcentaje\", " +
+            "(SELECT i.imagen_url FROM producto_imagenes i WHERE i.producto_id = p.id AND i.orden = 0) " +
+            "AS \"imagenPrincipal\" " +
+            "FROM productos p WHERE p.id IN (:ids) ORDER BY p.id FOR UPDATE", nativeQuery = true)
+    List<ProductoPrecioProjection> bloquearPreciosPorIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductoEntity p SET p.descuentoPorcentaje = :descuento WHERE p.id IN :ids")
+    int actualizarDescuentoPorIds(@Param("ids") Collection<Long> ids, @Param("descuento") BigDecimal descuento);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductoEntity p SET p.precio = ROUND(p.precio * :factor, 2) WHERE p.id IN :ids")
+    int ajustarPrecioPorIds(@Param("ids") Collection<Long> ids, @Param("factor") BigDecimal factor);
 
+    /** Los UPDATE masivos no pasan por los callbacks de la entidad, así que el precio final se recalcula acá */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductoEntity p SET p.precioFinal = ROUND(p.precio * (100 - p.descuentoPorcentaje) / 100, 2) " +
+            "WHERE p.id IN :ids")
+    int recalcularPrecioFinalPorIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,42 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections;
+
+import java.math.BigDecimal;
+
+/**
+ * Línea del resumen del carrito. Los totales del carrito y la configuración de envío activa
+ * vienen repetidos en cada fila (sumas de ventana y LATERAL), así el resumen es una sola consulta.
+ */
+public interface CarritoLineaProjection {
+
+    Long getItemId();
+
+    Long getProductoId();
+
+    String getNombre();
+
+    String getImagen();
+
+    Boolean getActivo();
+
+    Long getOpcionId();
+
+    String getOpcionTipo();
+
+    Integer getCantidad();
+
+    BigDecimal getPrecio();
+
+    BigDecimal getDescuentoPorcentaje();
+
+    BigDecimal getPrecioFinal();
+
+    BigDecimal getSubtotalLinea();
+
+    BigDecimal getSubtotal();
+
+    Long getCantidadTotal();
+
+    BigDecimal getCostoEnvio();
+
+    BigDecimal getMontoMinimoEnvioGratis();
+}
@@ -0,0 +1,11 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections;
+
+/**
+ * Par usuario/producto de un favorito, sin cargar la entidad del producto.
+ */
+public interface FavoritoUsuarioProjection {
+
+    Long getUsuarioId();
+
+    Long getProductoId();
+}
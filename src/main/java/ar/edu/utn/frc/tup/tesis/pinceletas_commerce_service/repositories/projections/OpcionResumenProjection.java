@@ -0,0 +1,11 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections;
+
+/**
+ * Id y tipo de una opción, sin cargar el producto asociado.
+ */
+public interface OpcionResumenProjection {
+
+    Long getId();
+
+    String getTipo();
+}
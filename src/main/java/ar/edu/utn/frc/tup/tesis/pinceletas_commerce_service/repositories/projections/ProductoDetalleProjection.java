@@ -0,0 +1,14 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections;
+
+/**
+ * Producto completo en una sola fila: las columnas del resumen más imágenes y opciones
+ * agregadas como arreglos JSON por subconsultas correlacionadas (sin producto cartesiano).
+ */
+public interface ProductoDetalleProjection extends ProductoResumenProjection {
+
+    /** Arreglo JSON de URLs en el orden de carga */
+    String getImagenes();
+
+    /** Arreglo JSON de objetos {id, tipo} */
+    String getOpciones();
+}
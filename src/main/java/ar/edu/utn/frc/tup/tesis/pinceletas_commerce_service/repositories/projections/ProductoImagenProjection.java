@@ -0,0 +1,11 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections;
+
+/**
+ * Imagen de un producto, cargada en lote para varios productos a la vez.
+ */
+public interface ProductoImagenProjection {
+
+    Long getProductoId();
+
+    String getImagenUrl();
+}
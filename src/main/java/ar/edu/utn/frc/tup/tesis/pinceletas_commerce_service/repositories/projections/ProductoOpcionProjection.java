@@ -0,0 +1,13 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections;
+
+/**
+ * Opción asociada a un producto, cargada en lote para varios productos a la vez.
+ */
+public interface ProductoOpcionProjection {
+
+    Long getProductoId();
+
+    Long getOpcionId();
+
+    String getTipo();
+}
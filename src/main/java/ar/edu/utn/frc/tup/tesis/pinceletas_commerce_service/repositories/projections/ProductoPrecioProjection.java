@@ -0,0 +1,19 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections;
+
+import java.math.BigDecimal;
+
+/**
+ * Estado de precio de un producto antes de una actualización masiva.
+ */
+public interface ProductoPrecioProjection {
+
+    Long getId();
+
+    String getNombre();
+
+    BigDecimal getPrecio();
+
+    BigDecimal getDescuentoPorcentaje();
+
+    String getImagenPrincipal();
+}
@@ -0,0 +1,28 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections;
+
+import java.math.BigDecimal;
+
+/**
+ * Fila base de producto para el modelo de lectura: columnas propias más la categoría ya unida.
+ * Los alias de las consultas nativas van entre comillas para conservar mayúsculas en PostgreSQL.
+ */
+public interface ProductoResumenProjection {
+
+    Long getId();
+
+    String getNombre();
+
+    String getDescripcion();
+
+    BigDecimal getPrecio();
+
+    BigDecimal getPrecioFinal();
+
+    BigDecimal getDescuentoPorcentaje();
+
+    Boolean getActivo();
+
+    Long getCategoriaId();
+
+    String getCategoriaNombre();
+}
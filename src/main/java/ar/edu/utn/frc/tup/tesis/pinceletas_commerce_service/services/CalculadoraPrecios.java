@@ -0,0 +1,66 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Único lugar donde se calcula el precio con descuento.
+ * El precio final se redondea a centavos por unidad y recién después se multiplica por la cantidad,
+ * así el total de un pedido coincide con la suma de los precios que ve el cliente.
+ */
+public final class CalculadoraPrecios {
+
+    private static final BigDecimal CIEN = BigDecimal.valueOf(100);
+    private static final long PUNTOS_BASICOS_TOTAL = 10_000L;
+
+    private CalculadoraPrecios() {
+    }
+
+    // ---------------------- BIGDECIMAL ----------------------
+
+    /** precio * (100 - descuento) / 100, con una sola división y redondeado a centavos */
+    public static BigDecimal precioFinal(BigDecimal precio, BigDecimal descuentoPorcentaje) {
+        if (precio == null) {
+            return null;
+        }
+        if (descuentoPorcentaje == null || descuentoPorcentaje.signum() == 0) {
+            return precio.setScale(2, RoundingMode.HALF_UP);
+        }
+        return precio.multiply(CIEN.subtract(descuentoPorcentaje)).divide(CIEN, 2, RoundingMode.HALF_UP);
+    }
+
+    public static BigDecimal subtotal(BigDecimal precio, BigDecimal descuentoPorcentaje, int cantidad) {
+        BigDecimal unitario = precioFinal(precio, descuentoPorcentaje);
+        return unitario == null ? BigDecimal.ZERO : unitario.multiply(BigDecimal.valueOf(cantidad));
+    }
+
+    // ---------------------- CENTAVOS (long) ----------------------
+    // Para loops de agregación: se convierte una vez por fila y se suma sin crear objetos.
+
+    public static long aCentavos(BigDecimal monto) {
+        return monto == null ? 0L : monto.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /** 12.5% -> 1250 puntos básicos */
+    public static long descuentoEnPuntosBasicos(BigDecimal descuentoPorcentaje) {
+        return descuentoPorcentaje == null ? 0L
+                : descuentoPorcentaje.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /** Mismo redondeo HALF_UP que {@link #precioFinal(BigDecimal, BigDecimal)}, para montos no negativos */
+    public static long precioFinalCentavos(long precioCentavos, long descuentoPuntosBasicos) {
+        if (descuentoPuntosBasicos == 0L) {
+            return precioCentavos;
+        }
+        return (precioCentavos * (PUNTOS_BASICOS_TOTAL - descuentoPuntosBasicos) + PUNTOS_BASICOS_TOTAL / 2)
+                / PUNTOS_BASICOS_TOTAL;
+    }
+
+    public static long subtotalCentavos(long precioCentavos, long descuentoPuntosBasicos, int cantidad) {
+        return precioFinalCentavos(precioCentavos, descuentoPuntosBasicos) * cantidad;
+    }
+
+    public static BigDecimal desdeCentavos(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+}
@@ -0,0 +1,70 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.CarritoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Borra los carritos abandonados: los que no tuvieron cambios en app.carrito.expiracion.dias-inactividad.
+ * Recorre los usuarios en orden de id y borra de a un lote por sentencia, cada una en su propia
+ * transacción, así ninguna retiene locks sobre muchas filas. Los carritos cargados en memoria
+ * se consideran en uso y no se borran: CarritoMemoriaService.borrarNoCargados hace el chequeo y el
+ * borrado sin que un carrito se cargue en el medio.
+ */
+@Service
+@Slf4j
+public class CarritoExpiracionScheduler {
+
+    private final CarritoRepository carritoRepository;
+    private final CarritoMemoriaService carritoMemoriaService;
+    private final long diasInactividad;
+    private final int tamanioLote;
+
+    public CarritoExpiracionScheduler(CarritoRepository carritoRepository,
+                                      CarritoMemoriaService carritoMemoriaService,
+                                      @Value("${app.carrito.expiracion.dias-inactividad:30}") long diasInactividad,
+                                      @Value("${app.carrito.expiracion.lote:500}") int tamanioLote) {
+        this.carritoRepository = carritoRepository;
+        this.carritoMemoriaService = carritoMemoriaService;
+        this.diasInactividad = diasInactividad;
+        this.tamanioLote = tamanioLote;
+    }
+
+    /**
+     * Una vuelta completa sobre la tabla. Devuelve la cantidad de filas borradas.
+     */
+    @Scheduled(fixedDelayString = "${app.carrito.expiracion.intervalo-ms:3600000}",
+            initialDelayString = "${app.carrito.expiracion.demora-inicial-ms:600000}")
+    public synchronized int vencerCarritosAbandonados() {
+        LocalDateTime limite = LocalDateTime.now().minusDays(diasInactividad);
+        long desdeUsuarioId = 0;
+        int revisados = 0;
+        int filas = 0;
+
+        while (true) {
+            List<Long> candidatos = carritoRepository.findUsuariosConLineasVencidas(limite, desdeUsuarioId, tamanioLote);
+            if (candidatos.isEmpty()) {
+                break;
+            }
+            desdeUsuarioId = candidatos.get(candidatos.size() - 1);
+
+            filas += carritoMemoriaService.borrarNoCargados(candidatos,
+                    vencidos -> carritoRepository.deleteCarritosVencidos(vencidos, limite));
+            revisados += candidatos.size();
+            if (candidatos.size() < tamanioLote) {
+                break;
+            }
+        }
+
+        if (filas > 0) {
+            log.info("🧹 Carritos vencidos: {} filas borradas de {} usuarios revisados (sin cambios desde {})",
+                    filas, revisados, limite.toLocalDate());
+        }
+        return filas;
+    }
+}
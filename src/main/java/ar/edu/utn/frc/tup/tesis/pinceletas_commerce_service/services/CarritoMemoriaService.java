@@ -0,0 +1,456 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.OperacionCarritoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.CarritoJdbcRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.CarritoJdbcRepository.LineaCarrito;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Almacenamiento opcional de carritos en memoria (app.carrito.almacenamiento=memoria).
+ * Los carritos se reparten en particiones por usuario, cada una con su lock; se cargan de la base
+ * la primera vez que se usan y los cambios se vuelcan a la tabla carrito en lotes cada
+ * app.carrito.memoria.volcado-ms y al apagar. Si la base no responde, los cambios quedan pendientes
+ * para el próximo volcado; si el proceso cae, se pierden los que no llegaron a volcarse. Solo sirve con una única instancia: otra instancia no vería estos carritos.
+ */
+@Service
+@Slf4j
+public class CarritoMemoriaService {
+
+    private static final int IDS_POR_RESERVA = 50;
+
+    /** Carrito de un usuario; solo se toca con el lock de su partición */
+    private static final class Carrito {
+        private final Map<Long, LineaCarrito> lineas = new LinkedHashMap<>();
+        private final Set<Long> modificados = new HashSet<>();
+        private final Set<Long> eliminados = new HashSet<>();
+        private long ultimoAcceso;
+
+        boolean sucio() {
+            return !modificados.isEmpty() || !eliminados.isEmpty();
+        }
+    }
+
+    private static final class Particion {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Long, Carrito> carritos = new HashMap<>();
+        /** Cuenta desalojos y borrados de vencidos, para descartar una carga hecha mientras tanto */
+        private long desalojos;
+    }
+
+    /** Cambios pendientes de un carrito, tomados bajo lock para escribirlos sin él */
+    private record Pendiente(Long usuarioId, List<LineaCarrito> guardar, Set<Long> eliminar) {
+    }
+
+    private final CarritoJdbcRepository carritoJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean activo;
+    private final Particion[] particiones;
+    private final long inactividadMs;
+
+    /** Dueño de cada ítem en memoria, para modificar o eliminar solo con el id */
+    private final Map<Long, Long> duenios = new ConcurrentHashMap<>();
+    private final Deque<Long> idsReservados = new ArrayDeque<>();
+
+    public CarritoMemoriaService(CarritoJdbcRepository carritoJdbcRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${app.carrito.almacenamiento:base}") String almacenamiento,
+                                 @Value("${app.carrito.memoria.particiones:64}") int particiones,
+                                 @Value("${app.carrito.memoria.volcado-ms:5000}") long volcadoMs,
+                                 @Value("${app.carrito.memoria.inactividad-minutos:30}") long inactividadMinutos) {
+        this.carritoJdbcRepository = carritoJdbcRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.activo = "memoria".equalsIgnoreCase(almacenamiento);
+        this.particiones = new Particion[particiones];
+        for (int i = 0; i < particiones; i++) {
+            this.particiones[i] = new Particion();
+        }
+        this.inactividadMs = Duration.ofMinutes(inactividadMinutos).toMillis();
+        if (activo) {
+            log.info("🧠 Carritos en memoria: {} particiones, volcado cada {} ms (es lo máximo que se pierde si el proceso cae)",
+                    particiones, volcadoMs);
+        }
+    }
+
+    public boolean isActivo() {
+        return activo;
+    }
+
+    /**
+     * Borra de la base los carritos de los usuarios que no están cargados (los cargados se consideran en uso).
+     * Toma los locks de las particiones involucradas en orden y los mantiene durante el borrado, así ningún
+     * carrito se carga entre el chequeo y el borrado; una carga que leyó la base antes se descarta y se repite.
+     * Devuelve lo que devuelve el borrado, o 0 si todos estaban cargados.
+     */
+    public int borrarNoCargados(List<Long> usuarioIds, Function<List<Long>, Integer> borrar) {
+        if (!activo) {
+            return usuarioIds.isEmpty() ? 0 : borrar.apply(usuarioIds);
+        }
+
+        List<Particion> bloqueadas = usuarioIds.stream()
+                .map(usuarioId -> Math.floorMod(usuarioId.hashCode(), particiones.length))
+                .distinct()
+                .sorted()
+                .map(indice -> particiones[indice])
+                .toList();
+        List<Particion> tomadas = new ArrayList<>();
+        try {
+            for (Particion particion : bloqueadas) {
+                particion.lock.lock();
+                tomadas.add(particion);
+            }
+            List<Long> noCargados = usuarioIds.stream()
+                    .filter(usuarioId -> !particion(usuarioId).carritos.containsKey(usuarioId))
+                    .toList();
+            if (noCargados.isEmpty()) {
+                return 0;
+            }
+            tomadas.forEach(particion -> particion.desalojos++);
+            return borrar.apply(noCargados);
+        } finally {
+            tomadas.forEach(particion -> particion.lock.unlock());
+        }
+    }
+
+    public List<LineaCarrito> lineas(Long usuarioId) {
+        return conCarrito(usuarioId, carrito -> new ArrayList<>(carrito.lineas.values()));
+    }
+
+    /**
+     * Agrega un producto; si ya estaba con la misma opción suma la cantidad (igual que el upsert en base)
+     */
+    public LineaCarrito agregar(Long usuarioId, Long productoId, Long opcionId, int cantidad) {
+        return conCarrito(usuarioId, carrito -> sumar(usuarioId, carrito, productoId, opcionId, cantidad));
+    }
+
+    public LineaCarrito modificar(Long itemId, int cantidad) {
+        Long usuarioId = duenio(itemId).orElseThrow(() -> new RuntimeException("Item no encontrado"));
+        return conCarrito(usuarioId, carrito -> {
+            LineaCarrito linea = carrito.lineas.get(itemId);
+            if (linea == null) {
+                throw new RuntimeException("Item no encontrado");
+            }
+            return reemplazar(carrito, linea, cantidad);
+        });
+    }
+
+    public void eliminar(Long itemId) {
+        duenio(itemId).ifPresent(usuarioId -> conCarrito(usuarioId, carrito -> quitar(carrito, itemId)));
+    }
+
+    /**
+     * Aplica un lote completo bajo el lock del usuario: si falta algún ítem a modificar no se aplica nada.
+     * Mismo orden que en base: eliminaciones, modificaciones y agregados.
+     */
+    public void aplicar(Long usuarioId, List<OperacionCarritoDTO> eliminaciones,
+                        List<OperacionCarritoDTO> modificaciones, List<OperacionCarritoDTO> agregados) {
+        conCarrito(usuarioId, carrito -> {
+            Set<Long> eliminadosEnLote = new HashSet<>();
+            eliminaciones.forEach(operacion -> eliminadosEnLote.add(operacion.getItemId()));
+            for (OperacionCarritoDTO operacion : modificaciones) {
+                if (!carrito.lineas.containsKey(operacion.getItemId()) || eliminadosEnLote.contains(operacion.getItemId())) {
+                    throw new RuntimeException("Item no encontrado: " + operacion.getItemId());
+                }
+            }
+
+            eliminadosEnLote.forEach(itemId -> quitar(carrito, itemId));
+            for (OperacionCarritoDTO operacion : modificaciones) {
+                reemplazar(carrito, carrito.lineas.get(operacion.getItemId()), operacion.getCantidad());
+            }
+            for (OperacionCarritoDTO operacion : agregados) {
+                sumar(usuarioId, carrito, operacion.getProductoId(), operacion.getOpcionSeleccionadaId(),
+                        operacion.getCantidad());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Descuenta lo comprado en un pedido: resta la cantidad y quita la línea si no queda nada
+     */
+    public void descontar(Long usuarioId, Long productoId, Long opcionId, int cantidad) {
+        conCarrito(usuarioId, carrito -> {
+            buscar(carrito, productoId, opcionId).ifPresent(linea -> {
+                if (linea.cantidad() <= cantidad) {
+                    quitar(carrito, linea.id());
+                } else {
+                    reemplazar(carrito, linea, linea.cantidad() - cantidad);
+                }
+            });
+            return null;
+        });
+    }
+
+    public void vaciar(Long usuarioId) {
+        conCarrito(usuarioId, carrito -> {
+            new ArrayList<>(carrito.lineas.keySet()).forEach(itemId -> quitar(carrito, itemId));
+            return null;
+        });
+    }
+
+    /**
+     * Vuelca los carritos con cambios en una transacción con dos lotes (bajas y altas/modificaciones).
+     * Si la base rechaza los datos se reintenta carrito por carrito y el que vuelve a ser rechazado
+     * (por ejemplo, un producto borrado) se descarta de la memoria para que se recargue desde la base.
+     * Ante cualquier otro error (base caída, timeout) los cambios vuelven a quedar pendientes.
+     * También desaloja los carritos sin cambios que no se usan hace más de app.carrito.memoria.inactividad-minutos.
+     */
+    @Scheduled(fixedDelayString = "${app.carrito.memoria.volcado-ms:5000}")
+    public synchronized void volcar() {
+        if (!activo) {
+            return;
+        }
+
+        List<Pendiente> pendientes = new ArrayList<>();
+        for (Particion particion : particiones) {
+            particion.lock.lock();
+            try {
+                particion.carritos.forEach((usuarioId, carrito) -> {
+                    if (carrito.sucio()) {
+                        pendientes.add(tomarPendiente(usuarioId, carrito));
+                    }
+                });
+            } finally {
+                particion.lock.unlock();
+            }
+        }
+
+        if (!pendientes.isEmpty()) {
+            try {
+                escribir(pendientes);
+                log.debug("💾 Volcados {} carritos", pendientes.size());
+            } catch (DataIntegrityViolationException e) {
+                log.warn("⚠️ La base rechazó el volcado en lote de {} carritos, se reintenta uno por uno: {}",
+                        pendientes.size(), e.getMostSpecificCause().getMessage());
+                for (Pendiente pendiente : pendientes) {
+                    try {
+                        escribir(List.of(pendiente));
+                    } catch (DataIntegrityViolationException error) {
+                        log.error("❌ No se pudo volcar el carrito del usuario {}, se descarta de memoria: {}",
+                                pendiente.usuarioId(), error.getMostSpecificCause().getMessage());
+                        desalojar(pendiente.usuarioId());
+                    } catch (RuntimeException error) {
+                        devolver(pendiente);
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("⚠️ Falló el volcado de {} carritos, se reintenta en el próximo: {}",
+                        pendientes.size(), e.getMessage());
+                pendientes.forEach(this::devolver);
+            }
+        }
+
+        desalojarInactivos();
+    }
+
+    @PreDestroy
+    void cerrar() {
+        volcar();
+    }
+
+    private void escribir(List<Pendiente> pendientes) {
+        List<Long> eliminar = new ArrayList<>();
+        List<LineaCarrito> guardar = new ArrayList<>();
+        for (Pendiente pendiente : pendientes) {
+            eliminar.addAll(pendiente.eliminar());
+            guardar.addAll(pendiente.guardar());
+        }
+        transactionTemplate.executeWithoutResult(estado -> {
+            carritoJdbcRepository.eliminarPorIds(eliminar);
+            carritoJdbcRepository.guardarLineas(guardar);
+        });
+    }
+
+    /** Toma los cambios pendientes y deja el carrito limpio; las líneas se copian tal como están ahora */
+    private Pendiente tomarPendiente(Long usuarioId, Carrito carrito) {
+        List<LineaCarrito> guardar = carrito.modificados.stream()
+                .map(carrito.lineas::get)
+                .filter(Objects::nonNull)
+                .toList();
+        Pendiente pendiente = new Pendiente(usuarioId, guardar, new HashSet<>(carrito.eliminados));
+        carrito.modificados.clear();
+        carrito.eliminados.clear();
+        return pendiente;
+    }
+
+    /**
+     * Vuelve a marcar como pendientes los cambios de un volcado fallido. Lo que se modificó o borró
+     * mientras tanto ya está marcado; una línea borrada después no se vuelve a guardar.
+     */
+    private void devolver(Pendiente pendiente) {
+        Particion particion = particion(pendiente.usuarioId());
+        particion.lock.lock();
+        try {
+            Carrito carrito = particion.carritos.get(pendiente.usuarioId());
+            if (carrito == null) {
+                return;
+            }
+            for (LineaCarrito linea : pendiente.guardar()) {
+                if (carrito.lineas.containsKey(linea.id())) {
+                    carrito.modificados.add(linea.id());
+                }
+            }
+            for (Long itemId : pendiente.eliminar()) {
+                if (!carrito.lineas.containsKey(itemId)) {
+                    carrito.eliminados.add(itemId);
+                }
+            }
+        } finally {
+            particion.lock.unlock();
+        }
+    }
+
+    private void desalojar(Long usuarioId) {
+        Particion particion = particion(usuarioId);
+        particion.lock.lock();
+        try {
+            Carrito carrito = particion.carritos.remove(usuarioId);
+            if (carrito != null) {
+                carrito.lineas.keySet().forEach(duenios::remove);
+                particion.desalojos++;
+            }
+        } finally {
+            particion.lock.unlock();
+        }
+    }
+
+    private void desalojarInactivos() {
+        long limite = System.currentTimeMillis() - inactividadMs;
+        int desalojados = 0;
+        for (Particion particion : particiones) {
+            particion.lock.lock();
+            try {
+                Iterator<Carrito> iterador = particion.carritos.values().iterator();
+                while (iterador.hasNext()) {
+                    Carrito carrito = iterador.next();
+                    if (!carrito.sucio() && carrito.ultimoAcceso < limite) {
+                        carrito.lineas.keySet().forEach(duenios::remove);
+                        iterador.remove();
+                        particion.desalojos++;
+                        desalojados++;
+                    }
+                }
+            } finally {
+                particion.lock.unlock();
+            }
+        }
+        if (desalojados > 0) {
+            log.debug("🧹 Desalojados {} carritos inactivos", desalojados);
+        }
+    }
+
+    /**
+     * Ejecuta la acción con el carrito del usuario bajo el lock de su partición.
+     * Si no está en memoria se carga de la base fuera del lock y se descarta la carga
+     * si mientras tanto otro hilo lo cargó o hubo un desalojo o un borrado en la partición.
+     */
+    private <T> T conCarrito(Long usuarioId, Function<Carrito, T> accion) {
+        Particion particion = particion(usuarioId);
+        while (true) {
+            long desalojos;
+            particion.lock.lock();
+            try {
+                Carrito carrito = particion.carritos.get(usuarioId);
+                if (carrito != null) {
+                    carrito.ultimoAcceso = System.currentTimeMillis();
+                    return accion.apply(carrito);
+                }
+                desalojos = particion.desalojos;
+            } finally {
+                particion.lock.unlock();
+            }
+
+            List<LineaCarrito> cargadas = carritoJdbcRepository.buscarLineas(usuarioId);
+
+            particion.lock.lock();
+            try {
+                if (!particion.carritos.containsKey(usuarioId) && particion.desalojos == desalojos) {
+                    Carrito carrito = new Carrito();
+                    for (LineaCarrito linea : cargadas) {
+                        carrito.lineas.put(linea.id(), linea);
+                        duenios.put(linea.id(), usuarioId);
+                    }
+                    particion.carritos.put(usuarioId, carrito);
+                }
+            } finally {
+                particion.lock.unlock();
+            }
+        }
+    }
+
+    private Optional<Long> duenio(Long itemId) {
+        Long usuarioId = duenios.get(itemId);
+        return usuarioId != null ? Optional.of(usuarioId) : carritoJdbcRepository.buscarUsuarioDeItem(itemId);
+    }
+
+    private LineaCarrito sumar(Long usuarioId, Carrito carrito, Long productoId, Long opcionId, int cantidad) {
+        Optional<LineaCarrito> existente = buscar(carrito, productoId, opcionId);
+        if (existente.isPresent()) {
+            return reemplazar(carrito, existente.get(), existente.get().cantidad() + cantidad);
+        }
+        LineaCarrito nueva = new LineaCarrito(siguienteId(), usuarioId, productoId, opcionId, cantidad);
+        carrito.lineas.put(nueva.id(), nueva);
+        carrito.modificados.add(nueva.id());
+        duenios.put(nueva.id(), usuarioId);
+        return nueva;
+    }
+
+    private LineaCarrito reemplazar(Carrito carrito, LineaCarrito linea, int cantidad) {
+        LineaCarrito actualizada = new LineaCarrito(linea.id(), linea.usuarioId(), linea.productoId(),
+                linea.opcionId(), cantidad);
+        carrito.lineas.put(linea.id(), actualizada);
+        carrito.modificados.add(linea.id());
+        return actualizada;
+    }
+
+    private Void quitar(Carrito carrito, Long itemId) {
+        if (carrito.lineas.remove(itemId) != null) {
+            carrito.modificados.remove(itemId);
+            carrito.eliminados.add(itemId);
+            duenios.remove(itemId);
+        }
+        return null;
+    }
+
+    private Optional<LineaCarrito> buscar(Carrito carrito, Long productoId, Long opcionId) {
+        return carrito.lineas.values().stream()
+                .filter(linea -> linea.productoId().equals(productoId) && Objects.equals(linea.opcionId(), opcionId))
+                .findFirst();
+    }
+
+    /** Ids tomados de la secuencia de carrito de a bloques, así una línea nueva no espera a la base */
+    private Long siguienteId() {
+        synchronized (idsReservados) {
+            if (idsReservados.isEmpty()) {
+                idsReservados.addAll(carritoJdbcRepository.reservarIds(IDS_POR_RESERVA));
+            }
+            return idsReservados.poll();
+        }
+    }
+
+    private Particion particion(Long usuarioId) {
+        return particiones[Math.floorMod(usuarioId.hashCode(), particiones.length)];
+    }
+}
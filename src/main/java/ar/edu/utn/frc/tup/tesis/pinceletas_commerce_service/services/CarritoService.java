@@ -1,61 +1,201 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
 
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.CarritoLineaDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.CarritoResumenDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ConfiguracionEnvioResponseDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.OpcionProductoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.OperacionCarritoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ProductoLecturaDTO;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.CarritoEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.CategoriaEntity;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.OpcionProductoEntity;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.ProductoEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.TipoOperacionCarrito;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.CarritoJdbcRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.CarritoJdbcRepository.LineaCarrito;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.CarritoRepository;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.OpcionProductoRepository;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.ProductoRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections.CarritoLineaProjection;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Carrito de compras. Con app.carrito.almacenamiento=memoria las lecturas y escrituras
+ * las atiende CarritoMemoriaService y la tabla carrito se actualiza en segundo plano; los datos
+ * de producto salen de la caché del catálogo (ProductoLecturaService), así un carrito cargado
+ * no consulta la base de productos en cada operación.
+ */
 @Service
 @AllArgsConstructor
 public class CarritoService {
 
     private final CarritoRepository carritoRepository;
+    private final CarritoJdbcRepository carritoJdbcRepository;
     private final ProductoRepository productoRepository;
     private final OpcionProductoRepository opcionProductoRepository;
+    private final ConfiguracionEnvioService configuracionEnvioService;
+    private final CarritoMemoriaService carritoMemoriaService;
+    private final ProductoLecturaService productoLecturaService;
 
+    /**
+     * Agrega un producto al carrito. Si ya estaba con la misma opción, suma la cantidad.
+     * Es una sola sentencia en la base, así dos agregados simultáneos no duplican el ítem.
+     */
+    @Transactional
     public CarritoEntity agregarProducto(Long usuarioId, Long productoId, int cantidad, Long opcionSeleccionadaId) {
-        ProductoEntity producto = productoRepository.findById(productoId)
-                .orElseThrow(() -> new RuntimeException("Producto no encontrado"));
+        if (carritoMemoriaService.isActivo()) {
+            return agregarEnMemoria(usuarioId, productoId, cantidad, opcionSeleccionadaId);
+        }
 
-        // Verificar si ya existe el mismo producto con la misma opción seleccionada
-        List<CarritoEntity> carritoExistente = carritoRepository.findByUsuarioId(usuarioId);
+        if (!productoRepository.existsById(productoId)) {
+            throw new RuntimeException("Producto no encontrado");
+        }
+        if (opcionSeleccionadaId != null && !opcionProductoRepository.existsById(opcionSeleccionadaId)) {
+            throw new RuntimeException("Opción no encontrada");
+        }
 
-        for (CarritoEntity item : carritoExistente) {
-            if (item.getProducto().getId().equals(productoId)) {
-                // Comparar opciones seleccionadas
-                Long itemOpcionId = (item.getOpcionSeleccionada() != null) ? item.getOpcionSeleccionada().getId() : null;
+        Long itemId = carritoRepository.agregarOSumar(usuarioId, productoId, cantidad, opcionSeleccionadaId);
+        return carritoRepository.findById(itemId)
+                .orElseThrow(() -> new RuntimeException("Item no encontrado"));
+    }
 
-                if ((itemOpcionId == null && opcionSeleccionadaId == null) ||
-                        (itemOpcionId != null && itemOpcionId.equals(opcionSeleccionadaId))) {
-                    throw new RuntimeException("El producto ya está en el carrito con la misma opción");
+    /**
+     * Aplica un lote de cambios en una sola transacción y devuelve el carrito resultante.
+     * Productos y opciones se validan con una consulta cada uno (en memoria, contra la caché del
+     * catálogo); los cambios van en lotes JDBC en este orden: eliminaciones, modificaciones y agregados
+     * (así quitar y volver a agregar un producto no suma sobre el ítem anterior). Si algo falla, no se aplica nada.
+     */
+    @Transactional
+    public CarritoResumenDTO aplicarOperaciones(Long usuarioId, List<OperacionCarritoDTO> operaciones) {
+        if (operaciones == null || operaciones.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos una operación");
+        }
+
+        List<OperacionCarritoDTO> agregados = new ArrayList<>();
+        List<OperacionCarritoDTO> modificaciones = new ArrayList<>();
+        List<OperacionCarritoDTO> eliminaciones = new ArrayList<>();
+        for (OperacionCarritoDTO operacion : operaciones) {
+            if (operacion.getTipo() == null) {
+                throw new IllegalArgumentException("Cada operación debe indicar su tipo");
+            }
+            switch (operacion.getTipo()) {
+                case AGREGAR -> {
+                    if (operacion.getProductoId() == null) {
+                        throw new IllegalArgumentException("AGREGAR requiere productoId");
+                    }
+                    validarCantidad(operacion);
+                    agregados.add(operacion);
+                }
+                case MODIFICAR -> {
+                    validarItemId(operacion);
+                    validarCantidad(operacion);
+                    modificaciones.add(operacion);
+                }
+                case ELIMINAR -> {
+                    validarItemId(operacion);
+                    eliminaciones.add(operacion);
                 }
             }
         }
 
-        CarritoEntity item = new CarritoEntity();
-        item.setUsuarioId(usuarioId);
-        item.setProducto(producto);
-        item.setCantidad(cantidad);
+        agregados = combinarAgregados(agregados);
+
+        boolean enMemoria = carritoMemoriaService.isActivo();
+        Set<Long> productoIds = agregados.stream().map(OperacionCarritoDTO::getProductoId).collect(Collectors.toSet());
+        Map<Long, ProductoLecturaDTO> enCache = enMemoria ? productosEnCache(productoIds) : Map.of();
+        validarExistentes(productoIds,
+                ids -> enMemoria ? List.copyOf(enCache.keySet()) : productoRepository.findIdsExistentes(ids),
+                "Producto no encontrado: ");
+        validarExistentes(agregados.stream().map(OperacionCarritoDTO::getOpcionSeleccionadaId)
+                        .filter(Objects::nonNull).collect(Collectors.toSet()),
+                ids -> List.copyOf(opcionesConocidas(ids, enCache.values()).keySet()),
+                "Opción no encontrada: ");
 
-        // Asignar opción seleccionada si existe
-        if (opcionSeleccionadaId != null) {
-            OpcionProductoEntity opcion = opcionProductoRepository.findById(opcionSeleccionadaId)
-                    .orElseThrow(() -> new RuntimeException("Opción no encontrada"));
-            item.setOpcionSeleccionada(opcion);
+        if (enMemoria) {
+            carritoMemoriaService.aplicar(usuarioId, eliminaciones, modificaciones, agregados);
+            return obtenerResumen(usuarioId);
         }
 
-        return carritoRepository.save(item);
+        carritoJdbcRepository.eliminar(usuarioId, eliminaciones);
+
+        int[][] modificados = carritoJdbcRepository.modificarCantidades(usuarioId, modificaciones);
+        int indice = 0;
+        for (int[] lote : modificados) {
+            for (int filas : lote) {
+                if (filas == 0) {
+                    throw new RuntimeException("Item no encontrado: " + modificaciones.get(indice).getItemId());
+                }
+                indice++;
+            }
+        }
+
+        carritoJdbcRepository.agregarOSumar(usuarioId, agregados);
+
+        return obtenerResumen(usuarioId);
+    }
+
+    /**
+     * Une los AGREGAR del mismo producto y opción sumando las cantidades, como hace el carrito en memoria.
+     * Además, un INSERT ... ON CONFLICT de varias filas no puede tocar la misma fila dos veces.
+     */
+    private List<OperacionCarritoDTO> combinarAgregados(List<OperacionCarritoDTO> agregados) {
+        Map<List<Long>, OperacionCarritoDTO> combinados = new LinkedHashMap<>();
+        for (OperacionCarritoDTO operacion : agregados) {
+            combinados.merge(Arrays.asList(operacion.getProductoId(), operacion.getOpcionSeleccionadaId()), operacion,
+                    (anterior, nueva) -> OperacionCarritoDTO.builder()
+                            .tipo(TipoOperacionCarrito.AGREGAR)
+                            .productoId(anterior.getProductoId())
+                            .opcionSeleccionadaId(anterior.getOpcionSeleccionadaId())
+                            .cantidad(anterior.getCantidad() + nueva.getCantidad())
+                            .build());
+        }
+        return new ArrayList<>(combinados.values());
+    }
+
+    private void validarCantidad(OperacionCarritoDTO operacion) {
+        if (operacion.getCantidad() == null || operacion.getCantidad() < 1) {
+            throw new IllegalArgumentException("La cantidad debe ser mayor a cero");
+        }
+    }
+
+    private void validarItemId(OperacionCarritoDTO operacion) {
+        if (operacion.getItemId() == null) {
+            throw new IllegalArgumentException(operacion.getTipo() + " requiere itemId");
+        }
+    }
+
+    private void validarExistentes(Set<Long> ids, Function<Set<Long>, List<Long>> buscar, String mensaje) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Set<Long> faltantes = new HashSet<>(ids);
+        buscar.apply(ids).forEach(faltantes::remove);
+        if (!faltantes.isEmpty()) {
+            throw new RuntimeException(mensaje + faltantes.iterator().next());
+        }
     }
 
     public CarritoEntity modificarItem(Long itemId, int nuevaCantidad) {
+        if (carritoMemoriaService.isActivo()) {
+            return aEntidades(List.of(carritoMemoriaService.modificar(itemId, nuevaCantidad))).get(0);
+        }
+
         CarritoEntity item = carritoRepository.findById(itemId)
                 .orElseThrow(() -> new RuntimeException("Item no encontrado"));
 
@@ -64,26 +204,255 @@ public class CarritoService {
     }
 
     public void eliminarItem(Long itemId) {
+        if (carritoMemoriaService.isActivo()) {
+            carritoMemoriaService.eliminar(itemId);
+            return;
+        }
         carritoRepository.deleteById(itemId);
     }
 
     public List<CarritoEntity> obtenerCarrito(Long usuarioId) {
+        if (carritoMemoriaService.isActivo()) {
+            return aEntidades(carritoMemoriaService.lineas(usuarioId));
+        }
         return carritoRepository.findByUsuarioId(usuarioId);
     }
 
+    /**
+     * Líneas, totales y envío del carrito, armados desde una sola consulta.
+     * Solo si no hay configuración de envío activa se delega en ConfiguracionEnvioService (que crea la por defecto).
+     */
+    @Transactional(readOnly = true)
+    public CarritoResumenDTO obtenerResumen(Long usuarioId) {
+        if (carritoMemoriaService.isActivo()) {
+            return resumenDesdeMemoria(usuarioId);
+        }
+
+        List<CarritoLineaProjection> filas = carritoRepository.findResumenPorUsuarioId(usuarioId);
+        if (filas.isEmpty()) {
+            return resumenVacio();
+        }
+
+        List<CarritoLineaDTO> lineas = filas.stream()
+                .map(fila -> CarritoLineaDTO.builder()
+                        .itemId(fila.getItemId())
+                        .productoId(fila.getProductoId())
+                        .nombre(fila.getNombre())
+                        .imagen(fila.getImagen())
+                        .activo(fila.getActivo())
+                        .opcionId(fila.getOpcionId())
+                        .opcionTipo(fila.getOpcionTipo())
+                        .cantidad(fila.getCantidad())
+                        .precio(fila.getPrecio())
+                        .descuentoPorcentaje(fila.getDescuentoPorcentaje())
+                        .precioFinal(fila.getPrecioFinal())
+                        .subtotal(fila.getSubtotalLinea())
+                        .build())
+                .toList();
+
+        CarritoLineaProjection primera = filas.get(0);
+        BigDecimal subtotal = primera.getSubtotal() != null ? primera.getSubtotal() : BigDecimal.ZERO;
+        BigDecimal costoEnvio;
+        if (primera.getCostoEnvio() != null) {
+            // Misma regla que ConfiguracionEnvioService.obtenerCostoEnvio
+            costoEnvio = subtotal.compareTo(primera.getMontoMinimoEnvioGratis()) >= 0
+                    ? BigDecimal.ZERO : primera.getCostoEnvio();
+        } else {
+            costoEnvio = configuracionEnvioService.obtenerCostoEnvio(subtotal);
+        }
+
+        return CarritoResumenDTO.builder()
+                .lineas(lineas)
+                .subtotal(subtotal)
+                .cantidadItems(primera.getCantidadTotal())
+                .costoEnvio(costoEnvio)
+                .montoMinimoEnvioGratis(primera.getMontoMinimoEnvioGratis())
+                .total(subtotal.add(costoEnvio))
+                .build();
+    }
+
+    /**
+     * Mismo resumen que obtenerResumen, con las líneas en memoria y los datos de producto de la caché
+     */
+    private CarritoResumenDTO resumenDesdeMemoria(Long usuarioId) {
+        List<CarritoEntity> items = aEntidades(carritoMemoriaService.lineas(usuarioId));
+        if (items.isEmpty()) {
+            return resumenVacio();
+        }
+
+        BigDecimal subtotal = BigDecimal.ZERO;
+        long cantidadItems = 0;
+        List<CarritoLineaDTO> lineas = new ArrayList<>();
+        for (CarritoEntity item : items) {
+            ProductoEntity producto = item.getProducto();
+            BigDecimal subtotalLinea = producto.getPrecioFinal() != null
+                    ? producto.getPrecioFinal().multiply(BigDecimal.valueOf(item.getCantidad()))
+                    : null;
+            lineas.add(CarritoLineaDTO.builder()
+                    .itemId(item.getId())
+                    .productoId(producto.getId())
+                    .nombre(producto.getNombre())
+                    .imagen(producto.getImagenPrincipal())
+                    .activo(producto.getActivo())
+                    .opcionId(item.getOpcionSeleccionada() != null ? item.getOpcionSeleccionada().getId() : null)
+                    .opcionTipo(item.getOpcionSeleccionada() != null ? item.getOpcionSeleccionada().getTipo() : null)
+                    .cantidad(item.getCantidad())
+                    .precio(producto.getPrecio())
+                    .descuentoPorcentaje(producto.getDescuentoPorcentaje())
+                    .precioFinal(producto.getPrecioFinal())
+                    .subtotal(subtotalLinea)
+                    .build());
+            if (subtotalLinea != null) {
+                subtotal = subtotal.add(subtotalLinea);
+            }
+            cantidadItems += item.getCantidad();
+        }
+
+        ConfiguracionEnvioResponseDTO envio = configuracionEnvioService.obtenerConfiguracionActiva();
+        BigDecimal costoEnvio = subtotal.compareTo(envio.getMontoMinimoEnvioGratis()) >= 0
+                ? BigDecimal.ZERO : envio.getCosto();
+
+        return CarritoResumenDTO.builder()
+                .lineas(lineas)
+                .subtotal(subtotal)
+                .cantidadItems(cantidadItems)
+                .costoEnvio(costoEnvio)
+                .montoMinimoEnvioGratis(envio.getMontoMinimoEnvioGratis())
+                .total(subtotal.add(costoEnvio))
+                .build();
+    }
+
+    private CarritoResumenDTO resumenVacio() {
+        return CarritoResumenDTO.builder()
+                .lineas(List.of())
+                .subtotal(BigDecimal.ZERO)
+                .cantidadItems(0L)
+                .costoEnvio(BigDecimal.ZERO)
+                .total(BigDecimal.ZERO)
+                .build();
+    }
+
+    /** Valida contra la caché del catálogo y arma la entidad con esos mismos datos */
+    private CarritoEntity agregarEnMemoria(Long usuarioId, Long productoId, int cantidad, Long opcionSeleccionadaId) {
+        Map<Long, ProductoLecturaDTO> productos = productosEnCache(Set.of(productoId));
+        if (productos.isEmpty()) {
+            throw new RuntimeException("Producto no encontrado");
+        }
+        Map<Long, OpcionProductoEntity> opciones = opcionesConocidas(
+                opcionSeleccionadaId != null ? Set.of(opcionSeleccionadaId) : Set.of(), productos.values());
+        if (opcionSeleccionadaId != null && !opciones.containsKey(opcionSeleccionadaId)) {
+            throw new RuntimeException("Opción no encontrada");
+        }
+
+        LineaCarrito linea = carritoMemoriaService.agregar(usuarioId, productoId, opcionSeleccionadaId, cantidad);
+        return aEntidad(linea, productos, opciones);
+    }
+
+    /**
+     * Entidades (no administradas) a partir de líneas en memoria, con los productos de la caché
+     * del catálogo. Las líneas de productos que ya no existen se omiten.
+     */
+    private List<CarritoEntity> aEntidades(List<LineaCarrito> lineas) {
+        if (lineas.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProductoLecturaDTO> productos = productosEnCache(
+                lineas.stream().map(LineaCarrito::productoId).collect(Collectors.toSet()));
+        Map<Long, OpcionProductoEntity> opciones = opcionesConocidas(
+                lineas.stream().map(LineaCarrito::opcionId).filter(Objects::nonNull).collect(Collectors.toSet()),
+                productos.values());
+
+        return lineas.stream()
+                .filter(linea -> productos.containsKey(linea.productoId()))
+                .map(linea -> aEntidad(linea, productos, opciones))
+                .toList();
+    }
+
+    private CarritoEntity aEntidad(LineaCarrito linea, Map<Long, ProductoLecturaDTO> productos,
+                                   Map<Long, OpcionProductoEntity> opciones) {
+        return new CarritoEntity(linea.id(), linea.usuarioId(), aProducto(productos.get(linea.productoId())),
+                linea.cantidad(), linea.opcionId() != null ? opciones.get(linea.opcionId()) : null, null);
+    }
+
+    /** Copia: el DTO es el que guarda la caché y no se debe modificar */
+    private ProductoEntity aProducto(ProductoLecturaDTO dto) {
+        ProductoEntity producto = new ProductoEntity();
+        producto.setId(dto.getId());
+        producto.setNombre(dto.getNombre());
+        producto.setDescripcion(dto.getDescripcion());
+        producto.setPrecio(dto.getPrecio());
+        producto.setPrecioFinal(dto.getPrecioFinal());
+        producto.setDescuentoPorcentaje(dto.getDescuentoPorcentaje());
+        producto.setActivo(dto.getActivo());
+        producto.setImagenes(dto.getImagenes() != null ? new ArrayList<>(dto.getImagenes()) : new ArrayList<>());
+        if (dto.getCategoria() != null) {
+            producto.setCategoria(new CategoriaEntity(dto.getCategoria().getId(), dto.getCategoria().getNombre(), null));
+        }
+        return producto;
+    }
+
+    /**
+     * Productos desde la caché del catálogo (una consulta por producto solo la primera vez);
+     * los que no existen no aparecen en el resultado.
+     */
+    private Map<Long, ProductoLecturaDTO> productosEnCache(Collection<Long> ids) {
+        Map<Long, ProductoLecturaDTO> productos = new HashMap<>();
+        for (Long id : ids) {
+            try {
+                productos.put(id, productoLecturaService.obtenerProducto(id));
+            } catch (RuntimeException e) {
+                if (!"Producto no encontrado".equals(e.getMessage())) {
+                    throw e;
+                }
+            }
+        }
+        return productos;
+    }
+
+    /**
+     * Opciones existentes entre los ids pedidos. Primero se buscan entre las opciones de los productos
+     * ya leídos; solo las que no aparecen ahí se consultan, con una proyección de id y tipo.
+     */
+    private Map<Long, OpcionProductoEntity> opcionesConocidas(Set<Long> ids, Collection<ProductoLecturaDTO> productos) {
+        Map<Long, OpcionProductoEntity> opciones = new HashMap<>();
+        if (ids.isEmpty()) {
+            return opciones;
+        }
+        for (ProductoLecturaDTO producto : productos) {
+            if (producto.getOpciones() == null) {
+                continue;
+            }
+            for (OpcionProductoDTO opcion : producto.getOpciones()) {
+                if (ids.contains(opcion.getId())) {
+                    opciones.putIfAbsent(opcion.getId(), new OpcionProductoEntity(opcion.getId(), null, opcion.getTipo()));
+                }
+            }
+        }
+
+        Set<Long> faltantes = new HashSet<>(ids);
+        faltantes.removeAll(opciones.keySet());
+        if (!faltantes.isEmpty()) {
+            opcionProductoRepository.findResumenPorIds(faltantes).forEach(opcion ->
+                    opciones.put(opcion.getId(), new OpcionProductoEntity(opcion.getId(), null, opcion.getTipo())));
+        }
+        return opciones;
+    }
+
     public BigDecimal calcularTotalCarrito(Long usuarioId) {
-        List<CarritoEntity> items = carritoRepository.findByUsuarioId(usuarioId);
+        List<CarritoEntity> items = obtenerCarrito(usuarioId);
         return items.stream()
-                .map(item -> {
-                    BigDecimal precio = item.getProducto().getPrecio();
-                    BigDecimal descuento = item.getProducto().getDescuentoPorcentaje();
-                    BigDecimal precioConDescuento = precio.subtract(precio.multiply(descuento.divide(BigDecimal.valueOf(100))));
-                    return precioConDescuento.multiply(BigDecimal.valueOf(item.getCantidad()));
-                })
+                .map(item -> CalculadoraPrecios.subtotal(
+                        item.getProducto().getPrecio(),
+                        item.getProducto().getDescuentoPorcentaje(),
+                        item.getCantidad()))
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
     // Agregar este método al CarritoService existente
     public void limpiarCarrito(Long usuarioId) {
+        if (carritoMemoriaService.isActivo()) {
+            carritoMemoriaService.vaciar(usuarioId);
+            return;
+        }
         List<CarritoEntity> items = carritoRepository.findByUsuarioId(usuarioId);
         carritoRepository.deleteAll(items);
     }
@@ -0,0 +1,129 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.Rabbit.configs.RabbitMQConfig;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.Rabbit.events.CatalogoInvalidacionEvent;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.configs.CacheConfig;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.CacheEstadisticasDTO;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Invalidación de la caché del catálogo.
+ * Los servicios de escritura avisan qué cambió; si el broadcast está habilitado,
+ * la invalidación también se publica al resto de las instancias vía RabbitMQ.
+ */
+@Service
+@Slf4j
+public class CatalogoCacheService {
+
+    private final CacheManager cacheManager;
+    private final RabbitTemplate rabbitTemplate;
+
+    /** Identifica a esta instancia para ignorar sus propios mensajes */
+    private final String nodoId = UUID.randomUUID().toString();
+
+    @Value("${app.catalogo.cache.broadcast:false}")
+    private boolean broadcastHabilitado;
+
+    public CatalogoCacheService(CacheManager cacheManager, RabbitTemplate rabbitTemplate) {
+        this.cacheManager = cacheManager;
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    /**
+     * Invalida un producto y los listados que podrían contenerlo
+     */
+    public void invalidarProducto(Long productoId) {
+        aplicar(CatalogoInvalidacionEvent.PRODUCTO, productoId);
+        publicar(CatalogoInvalidacionEvent.PRODUCTO, productoId);
+    }
+
+    /**
+     * Invalida solo los listados (ej: alta de un producto nuevo)
+     */
+    public void invalidarListados() {
+        aplicar(CatalogoInvalidacionEvent.LISTADOS, null);
+        publicar(CatalogoInvalidacionEvent.LISTADOS, null);
+    }
+
+    /**
+     * Invalida todo el catálogo (ej: cambios en categorías u opciones embebidas en los productos)
+     */
+    public void invalidarTodo() {
+        aplicar(CatalogoInvalidacionEvent.TODO, null);
+        publicar(CatalogoInvalidacionEvent.TODO, null);
+    }
+
+    /**
+     * Aplica una invalidación recibida desde otra instancia
+     */
+    public void aplicarInvalidacionRemota(CatalogoInvalidacionEvent evento) {
+        if (nodoId.equals(evento.getNodoOrigen())) {
+            return;
+        }
+        aplicar(evento.getTipo(), evento.getProductoId());
+    }
+
+    /**
+     * Estadísticas de aciertos/fallos de todas las cachés registradas
+     */
+    public List<CacheEstadisticasDTO> obtenerEstadisticas() {
+        List<CacheEstadisticasDTO> estadisticas = new ArrayList<>();
+        for (String nombre : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(nombre);
+            if (cache instanceof CaffeineCache caffeineCache) {
+                CacheStats stats = caffeineCache.getNativeCache().stats();
+                estadisticas.add(CacheEstadisticasDTO.builder()
+                        .nombre(nombre)
+                        .entradas(caffeineCache.getNativeCache().estimatedSize())
+                        .aciertos(stats.hitCount())
+                        .fallos(stats.missCount())
+                        .tasaAciertos(stats.hitRate())
+                        .desalojos(stats.evictionCount())
+                        .build());
+            }
+        }
+        return estadisticas;
+    }
+
+    private void aplicar(String tipo, Long productoId) {
+        Cache productos = cacheManager.getCache(CacheConfig.CACHE_PRODUCTOS);
+        Cache listados = cacheManager.getCache(CacheConfig.CACHE_PRODUCTOS_LISTADO);
+
+        if (CatalogoInvalidacionEvent.PRODUCTO.equals(tipo) && productoId != null) {
+            if (productos != null) {
+                productos.evict(productoId);
+            }
+        } else if (CatalogoInvalidacionEvent.TODO.equals(tipo) && productos != null) {
+            productos.clear();
+        }
+
+        if (listados != null) {
+            listados.clear();
+        }
+        log.debug("🧹 Caché de catálogo invalidada: tipo={}, productoId={}", tipo, productoId);
+    }
+
+    private void publicar(String tipo, Long productoId) {
+        if (!broadcastHabilitado) {
+            return;
+        }
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.CATALOGO_EXCHANGE, "",
+                    new CatalogoInvalidacionEvent(nodoId, tipo, productoId));
+        } catch (Exception e) {
+            // La caché tiene TTL, así que una invalidación perdida no deja datos viejos para siempre
+            log.error("❌ Error publicando invalidación de catálogo: {}", e.getMessage());
+        }
+    }
+}
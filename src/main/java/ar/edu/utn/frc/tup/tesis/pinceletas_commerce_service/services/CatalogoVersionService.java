@@ -0,0 +1,65 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.CatalogoVersionEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.SeccionCatalogo;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.CatalogoVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Versiones del catálogo para GET condicionales.
+ * Cada escritura de productos, categorías u opciones incrementa su sección; los GET arman
+ * un ETag fuerte con las versiones de las secciones que muestran y responden 304
+ * sin tocar las tablas del catálogo cuando el cliente ya tiene esa versión.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogoVersionService {
+
+    private final CatalogoVersionRepository catalogoVersionRepository;
+
+    /**
+     * Registra un cambio en las secciones indicadas. Si se llama dentro de la transacción
+     * de la escritura, la nueva versión se confirma junto con los datos.
+     */
+    @Transactional
+    public void incrementar(SeccionCatalogo... secciones) {
+        catalogoVersionRepository.incrementar(Arrays.asList(secciones), LocalDateTime.now());
+    }
+
+    /**
+     * Compara If-None-Match / If-Modified-Since con la versión actual.
+     * Si no hubo cambios deja la respuesta en 304 y devuelve true; si los hubo,
+     * agrega ETag y Last-Modified a la respuesta y devuelve false.
+     */
+    public boolean esNoModificado(WebRequest request, SeccionCatalogo... secciones) {
+        List<CatalogoVersionEntity> versiones = catalogoVersionRepository.findAllById(Arrays.asList(secciones));
+        if (versiones.isEmpty()) {
+            return false;
+        }
+
+        String etag = versiones.stream()
+                .sorted(Comparator.comparing(CatalogoVersionEntity::getSeccion))
+                .map(v -> v.getSeccion().name().toLowerCase() + "." + v.getVersion())
+                .collect(Collectors.joining("-", "\"", "\""));
+
+        long ultimaModificacion = versiones.stream()
+                .map(CatalogoVersionEntity::getUltimaModificacion)
+                .max(Comparator.naturalOrder())
+                .map(fecha -> fecha.truncatedTo(ChronoUnit.SECONDS)
+                        .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                .orElse(-1L);
+
+        return request.checkNotModified(etag, ultimaModificacion);
+    }
+}
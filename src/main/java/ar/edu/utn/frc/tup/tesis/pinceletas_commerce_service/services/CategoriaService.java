@@ -4,6 +4,7 @@ import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.CategoriaDTO;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.AuditoriaCategoriaEntity;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.CategoriaEntity;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.AccionAuditoria;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.SeccionCatalogo;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.AuditoriaCategoriaRepository;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.CategoriaRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -21,12 +22,15 @@ public class CategoriaService {
     private final CategoriaRepository categoriaRepository;
     private final AuditoriaCategoriaRepository auditoriaCategoriaRepository;
     private final ModelMapper modelMapper;
+    private final CatalogoCacheService catalogoCacheService;
+    private final CatalogoVersionService catalogoVersionService;
 
     public CategoriaDTO registrarCategoria(CategoriaDTO dto, Long usuarioId) {
         dto.setId(null); // Asegura que se cree una nueva entidad
         CategoriaEntity entity = modelMapper.map(dto, CategoriaEntity.class);
         CategoriaEntity saved = categoriaRepository.save(entity);
         registrarAuditoria(null, saved, AccionAuditoria.CREAR, usuarioId);
+        catalogoVersionService.incrementar(SeccionCatalogo.CATEGORIAS);
         return modelMapper.map(saved, CategoriaDTO.class);
     }
 
@@ -42,6 +46,9 @@ public class CategoriaService {
         CategoriaEntity actualizada = categoriaRepository.save(nueva);
 
         registrarAuditoria(copiaAnterior, actualizada, AccionAuditoria.MODIFICAR, usuarioId);
+        // Los productos cacheados embeben la categoría
+        catalogoCacheService.invalidarTodo();
+        catalogoVersionService.incrementar(SeccionCatalogo.CATEGORIAS);
         return modelMapper.map(actualizada, CategoriaDTO.class);
     }
 
@@ -51,8 +58,10 @@ public class CategoriaService {
         // ✅ Primero registramos la auditoría
         registrarAuditoria(categoria, null, AccionAuditoria.ELIMINAR, usuarioId);
 
-        // ✅ Luego eliminamos la categoría
+        // ✅ Luego eliminamos la categoría (en cascada se eliminan sus productos)
         categoriaRepository.delete(categoria);
+        catalogoCacheService.invalidarTodo();
+        catalogoVersionService.incrementar(SeccionCatalogo.CATEGORIAS, SeccionCatalogo.PRODUCTOS);
     }
 
     public CategoriaEntity consultarCategoria(Long id) {
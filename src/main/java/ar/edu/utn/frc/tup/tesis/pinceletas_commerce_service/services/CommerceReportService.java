@@ -83,6 +83,8 @@ public class CommerceReportService {
         }
 
         Map<Long, TopSellingProductsReport> productSalesMap = new HashMap<>();
+        // Recaudación acumulada en centavos: el loop suma longs y se convierte a BigDecimal una vez por producto
+        Map<Long, long[]> centavosPorProducto = new HashMap<>();
 
         for (var item : allItems) {
             Long productId = item.getProducto().getId();
@@ -98,20 +100,19 @@ public class CommerceReportService {
                             .build()
             );
 
-            BigDecimal precioConDescuento = item.getPrecioUnitario().subtract(
-                    item.getPrecioUnitario().multiply(
-                            item.getDescuentoPorcentaje().divide(BigDecimal.valueOf(100))
-                    )
-            );
-
-            BigDecimal subtotal = precioConDescuento.multiply(BigDecimal.valueOf(item.getCantidad()));
+            centavosPorProducto.computeIfAbsent(productId, k -> new long[1])[0] += CalculadoraPrecios.subtotalCentavos(
+                    CalculadoraPrecios.aCentavos(item.getPrecioUnitario()),
+                    CalculadoraPrecios.descuentoEnPuntosBasicos(item.getDescuentoPorcentaje()),
+                    item.getCantidad());
 
             report.setUnitsSold(report.getUnitsSold() + item.getCantidad());
-            report.setTotalRevenue(report.getTotalRevenue().add(subtotal));
 
             productSalesMap.put(productId, report);
         }
 
+        productSalesMap.forEach((productId, report) ->
+                report.setTotalRevenue(CalculadoraPrecios.desdeCentavos(centavosPorProducto.get(productId)[0])));
+
         List<TopSellingProductsReport> topProducts = productSalesMap.values().stream()
                 .peek(report -> {
                     if (report.getUnitsSold() > 0) {
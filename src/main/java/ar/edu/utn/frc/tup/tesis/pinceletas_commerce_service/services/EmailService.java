@@ -3,6 +3,7 @@ package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
 import jakarta.annotation.PostConstruct;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.DescuentoFavoritoDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,6 +12,7 @@ import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -79,6 +81,105 @@ public class EmailService {
         }
     }
 
+    /**
+     * Envía un único email con varios productos favoritos que entraron en descuento
+     */
+    public void enviarEmailDescuentosFavoritos(
+            String emailDestino,
+            String nombreUsuario,
+            List<DescuentoFavoritoDTO> descuentos) {
+
+        log.info("📧 Enviando email con {} descuentos a: {}", descuentos.size(), emailDestino);
+
+        try {
+            MimeMessage mimeMessage = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "utf-8");
+
+            helper.setFrom(fromEmail);
+            helper.setTo(emailDestino);
+            helper.setSubject("🎉 ¡" + descuentos.size() + " de tus favoritos están en descuento! - Pinceletas");
+            helper.setText(buildDescuentosFavoritosEmailContent(nombreUsuario, descuentos), true);
+
+            mailSender.send(mimeMessage);
+            log.info("✅ Email de descuentos enviado exitosamente a: {}", emailDestino);
+
+        } catch (MessagingException e) {
+            log.error("❌ Error enviando email de descuentos a {}: {}", emailDestino, e.getMessage(), e);
+            throw new RuntimeException("Error enviando email de descuentos: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Construye el contenido HTML del email con varios productos en descuento
+     */
+    private String buildDescuentosFavoritosEmailContent(String nombreUsuario, List<DescuentoFavoritoDTO> descuentos) {
+        StringBuilder filas = new StringBuilder();
+        for (DescuentoFavoritoDTO descuento : descuentos) {
+            String urlProducto = "https://pinceletas-frontend.onrender.com/productos/" + descuento.getProductoId();
+            filas.append(String.format("""
+                        <tr>
+                            <td style="padding: 12px; border-bottom: 1px solid #eee;">
+                                <a href="%s" style="color: #ED620C; text-decoration: none; font-weight: bold;">%s</a>
+                            </td>
+                            <td style="padding: 12px; border-bottom: 1px solid #eee; color: #999; text-decoration: line-through;">$%.2f</td>
+                            <td style="padding: 12px; border-bottom: 1px solid #eee;"><strong>%.0f%% OFF</strong></td>
+                            <td style="padding: 12px; border-bottom: 1px solid #eee; color: #ED620C; font-weight: bold;">$%.2f</td>
+                        </tr>
+                    """,
+                    urlProducto,
+                    descuento.getNombre(),
+                    descuento.getPrecioOriginal(),
+                    descuento.getDescuentoPorcentaje(),
+                    descuento.getPrecioConDescuento()));
+        }
+
+        return String.format("""
+            <div style="font-family: 'Segoe UI', Tahoma, Geneva, Verdana, sans-serif; background-color: #f8f9fa; padding: 30px;">
+                <div style="max-width: 600px; margin: auto; background-color: white; border-radius: 12px; box-shadow: 0 4px 10px rgba(0,0,0,0.1); overflow: hidden;">
+
+                    <!-- Header -->
+                    <div style="background: linear-gradient(135deg, #ED620C 0%%, #EBED6D 100%%); padding: 30px; text-align: center;">
+                        <h1 style="color: #FFFFFF; margin: 0; font-size: 28px;">🎉 ¡Grandes Descuentos!</h1>
+                        <p style="color: #FFFFFF; margin: 10px 0 0 0; font-size: 16px;">Varios de tus favoritos están en oferta</p>
+                    </div>
+
+                    <!-- Body -->
+                    <div style="padding: 30px; color: #333;">
+                        <p style="font-size: 16px; margin-bottom: 20px;">Hola <strong>%s</strong>,</p>
+
+                        <p style="font-size: 16px; margin-bottom: 25px;">
+                            ¡Tenemos buenas noticias! 🎨 Estos productos que agregaste a favoritos ahora tienen un <strong style="color: #ED620C;">descuento especial</strong>.
+                        </p>
+
+                        <table style="width: 100%%; border-collapse: collapse; font-size: 15px;">
+                            %s
+                        </table>
+
+                        <p style="font-size: 14px; color: #666; text-align: center; margin-top: 25px;">
+                            ⏰ ¡No dejes pasar esta oportunidad! Los descuentos pueden cambiar en cualquier momento.
+                        </p>
+
+                        <p style="margin-top: 30px; font-size: 14px; color: #333;">
+                            Saludos,<br>
+                            <strong>Equipo Pinceletas 🎨</strong>
+                        </p>
+                    </div>
+
+                    <!-- Footer -->
+                    <div style="background-color: #f3f3f3; text-align: center; padding: 20px; font-size: 12px; color: #777;">
+                        <p style="margin: 0 0 10px 0;">© 2025 Pinceletas. Todos los derechos reservados.</p>
+                        <p style="margin: 0;">
+                            <a href="https://pinceletas-frontend.onrender.com/favoritos" style="color: #ED620C; text-decoration: none;">Ver todos mis favoritos</a>
+                        </p>
+                    </div>
+                </div>
+            </div>
+        """,
+                nombreUsuario,
+                filas
+        );
+    }
+
     /**
      * Construye el contenido HTML del email de descuento
      */
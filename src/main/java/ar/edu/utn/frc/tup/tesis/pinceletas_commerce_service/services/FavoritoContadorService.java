@@ -0,0 +1,187 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ProductoMasDeseadoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.ProductoJdbcRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.ProductoRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections.ProductoResumenProjection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cantidad de favoritos por producto y ranking de los más deseados, servidos desde memoria.
+ * Cada alta o baja de favorito suma en un LongAdder por producto (sin locks entre usuarios) y la
+ * diferencia se vuelca de a lote a productos.cantidad_favoritos cada app.favoritos.contador.volcado-ms.
+ * Cada app.favoritos.contador.reconciliacion-ms la columna se recalcula desde la tabla favoritos,
+ * así que cualquier desvío (un volcado perdido, borrados por fuera del servicio) dura a lo sumo ese intervalo.
+ */
+@Service
+@Slf4j
+public class FavoritoContadorService {
+
+    /** Tamaño del ranking que se mantiene armado; limite mayor a esto se recorta */
+    public static final int TAMANIO_RANKING = 100;
+
+    private final ProductoJdbcRepository productoJdbcRepository;
+    private final ProductoRepository productoRepository;
+
+    /** Cantidad actual por producto, tal como la ven las consultas */
+    private final Map<Long, LongAdder> totales = new ConcurrentHashMap<>();
+
+    /** Diferencia acumulada por producto desde el último volcado */
+    private final Map<Long, LongAdder> pendientes = new ConcurrentHashMap<>();
+
+    private volatile List<ProductoMasDeseadoDTO> ranking = List.of();
+
+    public FavoritoContadorService(ProductoJdbcRepository productoJdbcRepository,
+                                   ProductoRepository productoRepository) {
+        this.productoJdbcRepository = productoJdbcRepository;
+        this.productoRepository = productoRepository;
+    }
+
+    public void incrementar(Long productoId) {
+        sumar(productoId, 1);
+    }
+
+    public void decrementar(Long productoId) {
+        sumar(productoId, -1);
+    }
+
+    private void sumar(Long productoId, long diferencia) {
+        totales.computeIfAbsent(productoId, id -> new LongAdder()).add(diferencia);
+        pendientes.computeIfAbsent(productoId, id -> new LongAdder()).add(diferencia);
+    }
+
+    public long obtenerCantidad(Long productoId) {
+        LongAdder total = totales.get(productoId);
+        return total == null ? 0 : Math.max(0, total.sum());
+    }
+
+    /**
+     * Los productos activos más deseados, de mayor a menor (según el último volcado).
+     */
+    public List<ProductoMasDeseadoDTO> obtenerRanking(int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("El límite debe ser mayor a cero");
+        }
+        List<ProductoMasDeseadoDTO> actual = ranking;
+        return actual.subList(0, Math.min(limite, actual.size()));
+    }
+
+    /**
+     * Escribe en la base las diferencias pendientes y rearma el ranking.
+     */
+    @Scheduled(fixedDelayString = "${app.favoritos.contador.volcado-ms:10000}",
+            initialDelayString = "${app.favoritos.contador.volcado-ms:10000}")
+    public synchronized void volcar() {
+        Map<Long, Long> diferencias = new HashMap<>();
+        pendientes.forEach((productoId, pendiente) -> {
+            long diferencia = pendiente.sumThenReset();
+            if (diferencia != 0) {
+                diferencias.put(productoId, diferencia);
+            }
+        });
+
+        if (!diferencias.isEmpty()) {
+            try {
+                productoJdbcRepository.sumarFavoritos(diferencias);
+            } catch (RuntimeException e) {
+                // Se devuelven para el próximo volcado
+                diferencias.forEach((productoId, diferencia) ->
+                        pendientes.computeIfAbsent(productoId, id -> new LongAdder()).add(diferencia));
+                log.error("❌ Error al volcar contadores de favoritos ({} productos): {}",
+                        diferencias.size(), e.getMessage());
+            }
+        }
+
+        armarRanking();
+    }
+
+    /**
+     * Recalcula la columna desde la tabla favoritos y recarga los contadores en memoria.
+     * Las diferencias pendientes se descartan justo antes del recálculo en vez de volcarse: ya están
+     * en la tabla favoritos (se suman después del commit), así que volcarlas las contaría dos veces.
+     * Devuelve la cantidad de productos que estaban desfasados.
+     */
+    @Scheduled(fixedDelayString = "${app.favoritos.contador.reconciliacion-ms:3600000}",
+            initialDelayString = "${app.favoritos.contador.demora-inicial-ms:0}")
+    public synchronized int reconciliar() {
+        pendientes.values().forEach(LongAdder::reset);
+        int corregidos = productoJdbcRepository.reconciliarFavoritos();
+        Map<Long, Long> contadores = productoJdbcRepository.contadoresFavoritos();
+
+        // Lo que entró durante el recálculo sigue pendiente y se suma a lo leído
+        Map<Long, LongAdder> recargados = new HashMap<>();
+        contadores.forEach((productoId, cantidad) -> {
+            LongAdder total = new LongAdder();
+            total.add(cantidad);
+            recargados.put(productoId, total);
+        });
+        pendientes.forEach((productoId, pendiente) ->
+                recargados.computeIfAbsent(productoId, id -> new LongAdder()).add(pendiente.sum()));
+        totales.keySet().retainAll(recargados.keySet());
+        totales.putAll(recargados);
+
+        armarRanking();
+        if (corregidos > 0) {
+            log.warn("⚠️ Contadores de favoritos reconciliados: {} productos estaban desfasados", corregidos);
+        }
+        return corregidos;
+    }
+
+    /** Top-K con un heap acotado; los inactivos o borrados quedan afuera */
+    private void armarRanking() {
+        PriorityQueue<Map.Entry<Long, Long>> mejores = new PriorityQueue<>(Map.Entry.comparingByValue());
+        totales.forEach((productoId, total) -> {
+            long cantidad = total.sum();
+            if (cantidad <= 0) {
+                return;
+            }
+            mejores.add(Map.entry(productoId, cantidad));
+            // Margen para descartar inactivos sin volver a recorrer
+            if (mejores.size() > TAMANIO_RANKING * 2) {
+                mejores.poll();
+            }
+        });
+        if (mejores.isEmpty()) {
+            ranking = List.of();
+            return;
+        }
+
+        List<Map.Entry<Long, Long>> candidatos = new ArrayList<>(mejores);
+        candidatos.sort(Map.Entry.<Long, Long>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+
+        Map<Long, ProductoResumenProjection> productos = productoRepository.findResumenPorIds(
+                        candidatos.stream().map(Map.Entry::getKey).toList()).stream()
+                .collect(Collectors.toMap(ProductoResumenProjection::getId, Function.identity()));
+
+        List<ProductoMasDeseadoDTO> nuevo = new ArrayList<>();
+        for (Map.Entry<Long, Long> candidato : candidatos) {
+            ProductoResumenProjection producto = productos.get(candidato.getKey());
+            if (producto == null || !Boolean.TRUE.equals(producto.getActivo())) {
+                continue;
+            }
+            nuevo.add(ProductoMasDeseadoDTO.builder()
+                    .productoId(candidato.getKey())
+                    .nombre(producto.getNombre())
+                    .cantidadFavoritos(candidato.getValue())
+                    .build());
+            if (nuevo.size() == TAMANIO_RANKING) {
+                break;
+            }
+        }
+        ranking = List.copyOf(nuevo);
+    }
+}
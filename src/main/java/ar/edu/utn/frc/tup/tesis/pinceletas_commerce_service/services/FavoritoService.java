@@ -1,6 +1,7 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
 
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.FavoritoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.FavoritosMarcadosDTO;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.FavoritoEntity;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.ProductoEntity;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.FavoritoRepository;
@@ -8,15 +9,26 @@ import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.Product
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
 public class FavoritoService {
 
+    /** Máximo de ids por consulta de marcados (una grilla de productos trae bastante menos) */
+    public static final int MAXIMO_IDS_MARCADOS = 500;
+
     private final FavoritoRepository favoritoRepository;
     private final ProductoRepository productoRepository;
+    private final FavoritoContadorService favoritoContadorService;
 
     public FavoritoEntity agregarAFavoritos(FavoritoDTO dto) {
         Long usuarioId = dto.getUsuarioId();
@@ -33,15 +45,66 @@ public class FavoritoService {
         favorito.setUsuarioId(usuarioId);
         favorito.setProducto(producto);
 
-        return favoritoRepository.save(favorito);
+        FavoritoEntity guardado = favoritoRepository.save(favorito);
+        despuesDelCommit(() -> favoritoContadorService.incrementar(productoId));
+        return guardado;
     }
 
     @Transactional
     public void eliminarDeFavoritos(Long usuarioId, Long productoId) {
-        favoritoRepository.deleteByUsuarioIdAndProductoId(usuarioId, productoId);
+        if (favoritoRepository.deleteByUsuarioIdAndProductoId(usuarioId, productoId) > 0) {
+            despuesDelCommit(() -> favoritoContadorService.decrementar(productoId));
+        }
+    }
+
+    /**
+     * El contador se mueve recién cuando el cambio está en la tabla favoritos: si la transacción
+     * vuelve atrás no queda desfasado, y la reconciliación no lo cuenta dos veces.
+     */
+    private void despuesDelCommit(Runnable accion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accion.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accion.run();
+            }
+        });
     }
 
     public List<FavoritoEntity> obtenerFavoritos(Long usuarioId) {
         return favoritoRepository.findByUsuarioId(usuarioId);
     }
+
+    /**
+     * Marca cuáles de los productos están en favoritos del usuario, con una sola consulta que
+     * no toca la tabla de productos: el costo depende de cuántos ids se piden, no de los productos.
+     */
+    public FavoritosMarcadosDTO obtenerMarcados(Long usuarioId, List<Long> productoIds) {
+        if (productoIds == null || productoIds.isEmpty()) {
+            return FavoritosMarcadosDTO.builder().productoIds(List.of()).mapa("").build();
+        }
+        if (productoIds.size() > MAXIMO_IDS_MARCADOS) {
+            throw new IllegalArgumentException("Se pueden consultar hasta " + MAXIMO_IDS_MARCADOS + " productos");
+        }
+
+        Set<Long> favoritos = new HashSet<>(
+                favoritoRepository.findProductoIdsFavoritos(usuarioId, new LinkedHashSet<>(productoIds)));
+
+        BitSet mapa = new BitSet(productoIds.size());
+        Set<Long> marcados = new LinkedHashSet<>();
+        for (int i = 0; i < productoIds.size(); i++) {
+            if (favoritos.contains(productoIds.get(i))) {
+                mapa.set(i);
+                marcados.add(productoIds.get(i));
+            }
+        }
+
+        return FavoritosMarcadosDTO.builder()
+                .productoIds(List.copyOf(marcados))
+                .mapa(Base64.getEncoder().encodeToString(mapa.toByteArray()))
+                .build();
+    }
 }
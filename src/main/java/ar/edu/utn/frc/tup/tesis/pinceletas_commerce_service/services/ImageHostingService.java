@@ -1,30 +1,57 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
 
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.ImagenPublicaEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.ImagenPublicaRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpMessageConverterExtractor;
 import org.springframework.web.client.RestTemplate;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
 import java.util.Base64;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
 
 /**
  * Servicio para subir imágenes a ImgBB (servicio gratuito de hosting de imágenes).
  * Convierte las imágenes locales en URLs públicas accesibles desde cualquier cliente de email.
+ * Las URLs obtenidas se guardan en imagenes_publicas por hash de contenido: solo se sube a ImgBB
+ * una imagen que nunca se subió, y si varios hilos piden la misma a la vez, sube uno solo.
  */
 @Service
 @Slf4j
 public class ImageHostingService {
 
     private final RestTemplate restTemplate;
+    private final ImagenPublicaRepository imagenPublicaRepository;
+
+    /** Subidas en curso por hash; los pedidos concurrentes esperan la misma subida */
+    private final ConcurrentMap<String, CompletableFuture<String>> subidasEnCurso = new ConcurrentHashMap<>();
+
+    /** Hash de archivos con nombre heredado, por nombre, tamaño y fecha, para no releerlos en cada email */
+    private final ConcurrentMap<String, String> hashesPorArchivo = new ConcurrentHashMap<>();
 
     @Value("${app.uploads.path:file:uploads/}")
     private String uploadsPath;
@@ -36,8 +63,12 @@ public class ImageHostingService {
 
     private static final String IMGBB_API_URL = "https://api.imgbb.com/1/upload";
 
-    public ImageHostingService() {
+    /** Nombres generados por ImagenStorageService: el nombre ya es el hash del contenido */
+    private static final Pattern NOMBRE_POR_CONTENIDO = Pattern.compile("([0-9a-f]{64})(\\.[a-z0-9]{1,5})?");
+
+    public ImageHostingService(ImagenPublicaRepository imagenPublicaRepository) {
         this.restTemplate = new RestTemplate();
+        this.imagenPublicaRepository = imagenPublicaRepository;
     }
 
     /**
@@ -67,15 +98,10 @@ public class ImageHostingService {
                 return getPlaceholderUrl();
             }
 
-            // Leer archivo y convertir a Base64
-            byte[] imageBytes = Files.readAllBytes(imagePath);
-            String base64Image = Base64.getEncoder().encodeToString(imageBytes);
-
-            // Subir a ImgBB
-            String publicUrl = uploadToImgBB(base64Image, fileName);
+            String hash = hashDeContenido(fileName, imagePath);
+            String publicUrl = obtenerOSubir(hash, imagePath, fileName);
 
             if (publicUrl != null) {
-                log.info("✅ Imagen subida exitosamente: {}", publicUrl);
                 return publicUrl;
             } else {
                 log.warn("⚠️ Falló la subida, usando placeholder");
@@ -89,43 +115,81 @@ public class ImageHostingService {
     }
 
     /**
-     * Sube una imagen codificada en Base64 a ImgBB.
-     *
-     * @param base64Image Imagen en Base64
-     * @param fileName Nombre del archivo
-     * @return URL pública de la imagen o null si falla
+     * URL guardada para el hash o, si no hay, la sube una sola vez aunque haya pedidos concurrentes.
+     * Un fallo no se guarda: el próximo pedido vuelve a intentar.
      */
-    private String uploadToImgBB(String base64Image, String fileName) {
+    private String obtenerOSubir(String hash, Path imagePath, String fileName) {
+        Optional<String> guardada = buscarGuardada(hash);
+        if (guardada.isPresent()) {
+            log.debug("♻️ Imagen ya publicada: {}", guardada.get());
+            return guardada.get();
+        }
+
+        CompletableFuture<String> nueva = new CompletableFuture<>();
+        CompletableFuture<String> enCurso = subidasEnCurso.putIfAbsent(hash, nueva);
+        if (enCurso != null) {
+            log.debug("⏳ Esperando subida en curso de {}", fileName);
+            return enCurso.join();
+        }
+
         try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+            // Otro hilo pudo terminar y guardarla entre la consulta y el registro de la subida
+            String url = buscarGuardada(hash).orElseGet(() -> subirYGuardar(hash, imagePath, fileName));
+            nueva.complete(url);
+            return url;
+        } catch (RuntimeException e) {
+            nueva.completeExceptionally(e);
+            throw e;
+        } finally {
+            subidasEnCurso.remove(hash, nueva);
+        }
+    }
 
-            MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
-            body.add("key", imgbbApiKey);
-            body.add("image", base64Image);
-            body.add("name", sanitizeFileName(fileName));
+    private Optional<String> buscarGuardada(String hash) {
+        return imagenPublicaRepository.findById(hash).map(ImagenPublicaEntity::getUrlPublica);
+    }
 
-            HttpEntity<MultiValueMap<String, String>> requestEntity = new HttpEntity<>(body, headers);
+    private String subirYGuardar(String hash, Path imagePath, String fileName) {
+        String url = uploadToImgBB(imagePath, fileName);
+        if (url == null) {
+            return null;
+        }
+        log.info("✅ Imagen subida exitosamente: {}", url);
+        try {
+            imagenPublicaRepository.save(new ImagenPublicaEntity(hash, url, LocalDateTime.now()));
+        } catch (DataIntegrityViolationException e) {
+            // Otra instancia la guardó primero; cualquiera de las dos URLs sirve
+            log.debug("Imagen {} ya registrada por otra instancia", hash);
+        }
+        return url;
+    }
 
-            ResponseEntity<Map> response = restTemplate.exchange(
+    /**
+     * Sube una imagen a ImgBB como campo multipart en Base64.
+     * El archivo se codifica mientras se escribe el cuerpo, sin cargarlo completo en memoria.
+     *
+     * @param imagePath Archivo local
+     * @param fileName Nombre del archivo
+     * @return URL pública de la imagen o null si falla
+     */
+    private String uploadToImgBB(Path imagePath, String fileName) {
+        String boundary = UUID.randomUUID().toString();
+        try {
+            Map<String, Object> responseBody = restTemplate.execute(
                     IMGBB_API_URL,
                     HttpMethod.POST,
-                    requestEntity,
-                    Map.class
+                    request -> escribirMultipart(request, boundary, imagePath, fileName),
+                    new HttpMessageConverterExtractor<>(Map.class, restTemplate.getMessageConverters())
             );
 
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                Map<String, Object> responseBody = response.getBody();
-
-                if (Boolean.TRUE.equals(responseBody.get("success"))) {
-                    Map<String, Object> data = (Map<String, Object>) responseBody.get("data");
-                    String url = (String) data.get("url");
-                    log.info("🌐 URL pública obtenida: {}", url);
-                    return url;
-                }
+            if (responseBody != null && Boolean.TRUE.equals(responseBody.get("success"))) {
+                Map<String, Object> data = (Map<String, Object>) responseBody.get("data");
+                String url = (String) data.get("url");
+                log.info("🌐 URL pública obtenida: {}", url);
+                return url;
             }
 
-            log.error("❌ Respuesta de ImgBB no exitosa: {}", response.getStatusCode());
+            log.error("❌ Respuesta de ImgBB no exitosa: {}", responseBody);
             return null;
 
         } catch (Exception e) {
@@ -134,6 +198,73 @@ public class ImageHostingService {
         }
     }
 
+    private void escribirMultipart(ClientHttpRequest request, String boundary, Path imagePath, String fileName)
+            throws IOException {
+        request.getHeaders().setContentType(MediaType.parseMediaType("multipart/form-data; boundary=" + boundary));
+        if (request instanceof StreamingHttpOutputMessage streaming) {
+            streaming.setBody(salida -> escribirCampos(salida, boundary, imagePath, fileName));
+        } else {
+            escribirCampos(request.getBody(), boundary, imagePath, fileName);
+        }
+    }
+
+    private void escribirCampos(OutputStream salida, String boundary, Path imagePath, String fileName)
+            throws IOException {
+        escribirCampo(salida, boundary, "key", imgbbApiKey);
+        escribirCampo(salida, boundary, "name", sanitizeFileName(fileName));
+
+        escribirTexto(salida, encabezadoCampo(boundary, "image"));
+        // nonClosing: cerrar el codificador agrega el relleno final sin cerrar la conexión
+        try (OutputStream base64 = Base64.getEncoder().wrap(StreamUtils.nonClosing(salida))) {
+            Files.copy(imagePath, base64);
+        }
+        escribirTexto(salida, "\r\n--" + boundary + "--\r\n");
+        salida.flush();
+    }
+
+    private void escribirCampo(OutputStream salida, String boundary, String nombre, String valor) throws IOException {
+        escribirTexto(salida, encabezadoCampo(boundary, nombre) + valor + "\r\n");
+    }
+
+    private String encabezadoCampo(String boundary, String nombre) {
+        return "--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + nombre + "\"\r\n\r\n";
+    }
+
+    private void escribirTexto(OutputStream salida, String texto) throws IOException {
+        salida.write(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * SHA-256 del contenido. Los archivos de ImagenStorageService ya lo llevan en el nombre;
+     * el resto se lee una vez en streaming y se recuerda mientras no cambie tamaño ni fecha.
+     */
+    private String hashDeContenido(String fileName, Path imagePath) throws IOException {
+        if (NOMBRE_POR_CONTENIDO.matcher(fileName).matches()) {
+            return fileName.substring(0, 64);
+        }
+        BasicFileAttributes atributos = Files.readAttributes(imagePath, BasicFileAttributes.class);
+        String clave = fileName + ":" + atributos.size() + ":" + atributos.lastModifiedTime().toMillis();
+        String hash = hashesPorArchivo.get(clave);
+        if (hash == null) {
+            hash = calcularHash(imagePath);
+            hashesPorArchivo.put(clave, hash);
+        }
+        return hash;
+    }
+
+    private String calcularHash(Path imagePath) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+        try (InputStream entrada = new DigestInputStream(Files.newInputStream(imagePath), digest)) {
+            entrada.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
     /**
      * Extrae el nombre del archivo de una ruta completa.
      */
@@ -0,0 +1,83 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Ubica en disco los archivos pedidos por /uploads y calcula sus metadatos HTTP.
+ * Los archivos con nombre de hash (ver ImagenStorageService) nunca cambian de contenido,
+ * por eso su ETag es el propio hash y se pueden cachear como inmutables.
+ */
+@Service
+public class ImagenArchivoService {
+
+    /** "{sha256}.ext" o la variante "{sha256}-w{ancho}.ext" */
+    private static final Pattern NOMBRE_POR_CONTENIDO = Pattern.compile("([0-9a-f]{64})(-w\\d{1,4})?(\\.[a-z0-9]{1,5})?");
+
+    private final Path directorio;
+
+    public ImagenArchivoService(@Value("${app.uploads.dir:uploads}") String directorio) {
+        this.directorio = Paths.get(directorio).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Archivo listo para servir.
+     *
+     * @param inmutable true si el nombre identifica al contenido y puede cachearse sin revalidar
+     */
+    public record ArchivoImagen(Path ruta, long tamanio, long ultimaModificacion, String etag,
+                                MediaType tipo, boolean inmutable) {
+    }
+
+    public Optional<ArchivoImagen> buscar(String archivo) {
+        return buscar(archivo, true);
+    }
+
+    /**
+     * Variante por ancho; si todavía no existe se devuelve el original, marcado como no inmutable
+     * porque la misma URL pasará a servir la variante cuando se genere.
+     */
+    public Optional<ArchivoImagen> buscarVariante(String archivo, int ancho) {
+        Optional<ArchivoImagen> variante = buscar(ImagenVarianteService.nombreVariante(archivo, ancho), true);
+        return variante.isPresent() ? variante : buscar(archivo, false);
+    }
+
+    private Optional<ArchivoImagen> buscar(String archivo, boolean puedeSerInmutable) {
+        if (archivo == null || archivo.isEmpty() || archivo.contains("/") || archivo.contains("\\")
+                || archivo.contains("..") || archivo.startsWith(".")) {
+            return Optional.empty();
+        }
+        Path ruta = directorio.resolve(archivo);
+
+        BasicFileAttributes atributos;
+        try {
+            atributos = Files.readAttributes(ruta, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+        if (!atributos.isRegularFile()) {
+            return Optional.empty();
+        }
+
+        boolean porContenido = NOMBRE_POR_CONTENIDO.matcher(archivo).matches();
+        long ultimaModificacion = atributos.lastModifiedTime().toMillis();
+        // Para nombres heredados (timestamp_nombre) el ETag sale de tamaño y fecha
+        String etag = porContenido
+                ? "\"" + archivo + "\""
+                : "\"" + Long.toHexString(atributos.size()) + "-" + Long.toHexString(ultimaModificacion) + "\"";
+
+        return Optional.of(new ArchivoImagen(ruta, atributos.size(), ultimaModificacion, etag,
+                MediaTypeFactory.getMediaType(archivo).orElse(MediaType.APPLICATION_OCTET_STREAM),
+                porContenido && puedeSerInmutable));
+    }
+}
@@ -0,0 +1,247 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.LimpiezaImagenesEstadisticasDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.ProductoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Borra de uploads los archivos que ningún producto referencia (imágenes reemplazadas o de
+ * productos eliminados) y los temporales que quedaron de una escritura interrumpida.
+ * Cada ejecución revisa un lote de nombres en orden alfabético a partir de donde quedó la anterior,
+ * así el costo por ejecución no depende del tamaño del directorio ni bloquea la base.
+ */
+@Service
+@Slf4j
+public class ImagenCleanupScheduler {
+
+    private static final String PREFIJO_URL = "/uploads/";
+    private static final String PREFIJO_BORRADO = ".borrando-";
+
+    /** "{nombre}-w{ancho}.ext": variante generada por ImagenVarianteService */
+    private static final Pattern VARIANTE = Pattern.compile("(.+)-w\\d{1,4}(\\.[a-z0-9]{1,5})?");
+
+    private final ProductoRepository productoRepository;
+    private final Path directorio;
+    private final Duration gracia;
+    private final int tamanioLote;
+
+    /** Último nombre revisado; vacío para empezar una vuelta nueva */
+    private String cursor = "";
+
+    private final LongAdder archivosRevisados = new LongAdder();
+    private final LongAdder archivosEliminados = new LongAdder();
+    private final LongAdder bytesLiberados = new LongAdder();
+    private final LongAdder vueltasCompletas = new LongAdder();
+    private final AtomicLong ultimaEjecucion = new AtomicLong();
+
+    public ImagenCleanupScheduler(ProductoRepository productoRepository,
+                                  @Value("${app.uploads.dir:uploads}") String directorio,
+                                  @Value("${app.uploads.limpieza.gracia-horas:24}") long graciaHoras,
+                                  @Value("${app.uploads.limpieza.lote:200}") int tamanioLote) {
+        this.productoRepository = productoRepository;
+        this.directorio = Paths.get(directorio).toAbsolutePath().normalize();
+        this.gracia = Duration.ofHours(graciaHoras);
+        this.tamanioLote = tamanioLote;
+    }
+
+    /**
+     * Revisa el siguiente lote del directorio. Con el intervalo por defecto (10 minutos) y lotes de 200
+     * se recorren unos 29.000 archivos por día, sin picos de E/S.
+     */
+    @Scheduled(fixedDelayString = "${app.uploads.limpieza.intervalo-ms:600000}",
+            initialDelayString = "${app.uploads.limpieza.demora-inicial-ms:300000}")
+    public synchronized void limpiarImagenesHuerfanas() {
+        if (!Files.isDirectory(directorio)) {
+            return;
+        }
+        ultimaEjecucion.set(System.currentTimeMillis());
+
+        List<String> lote;
+        try {
+            lote = siguienteLote();
+        } catch (IOException e) {
+            log.error("❌ Error listando {}: {}", directorio, e.getMessage());
+            return;
+        }
+        if (lote.size() < tamanioLote) {
+            cursor = "";
+            vueltasCompletas.increment();
+        } else {
+            cursor = lote.get(lote.size() - 1);
+        }
+        if (lote.isEmpty()) {
+            return;
+        }
+
+        Instant limite = Instant.now().minus(gracia);
+        List<Path> candidatos = new ArrayList<>();
+        Set<String> urls = new HashSet<>();
+
+        for (String nombre : lote) {
+            archivosRevisados.increment();
+            Path archivo = directorio.resolve(nombre);
+            BasicFileAttributes atributos;
+            try {
+                atributos = Files.readAttributes(archivo, BasicFileAttributes.class);
+            } catch (IOException e) {
+                continue; // borrado o movido mientras se listaba
+            }
+            // Dentro del período de gracia puede pertenecer a una subida cuyo producto aún no se guardó
+            if (!atributos.isRegularFile() || atributos.lastModifiedTime().toInstant().isAfter(limite)) {
+                continue;
+            }
+            if (nombre.startsWith(".")) {
+                borrar(archivo, atributos.size()); // temporal abandonado
+                continue;
+            }
+            candidatos.add(archivo);
+            urls.add(PREFIJO_URL + nombre);
+            String original = nombreOriginal(nombre);
+            if (original != null) {
+                urls.add(PREFIJO_URL + original);
+            }
+        }
+        if (candidatos.isEmpty()) {
+            return;
+        }
+
+        Set<String> referenciadas = new HashSet<>(productoRepository.findImagenesReferenciadas(urls));
+        int eliminados = 0;
+        for (Path archivo : candidatos) {
+            String nombre = archivo.getFileName().toString();
+            String original = nombreOriginal(nombre);
+            if (referenciadas.contains(PREFIJO_URL + nombre)
+                    || (original != null && referenciadas.contains(PREFIJO_URL + original))) {
+                continue;
+            }
+            if (eliminarHuerfana(archivo, limite)) {
+                eliminados++;
+            }
+        }
+        if (eliminados > 0) {
+            log.info("🧹 Imágenes huérfanas eliminadas: {} de {} revisadas", eliminados, lote.size());
+        }
+    }
+
+    public LimpiezaImagenesEstadisticasDTO obtenerEstadisticas() {
+        long ultima = ultimaEjecucion.get();
+        return LimpiezaImagenesEstadisticasDTO.builder()
+                .archivosRevisados(archivosRevisados.sum())
+                .archivosEliminados(archivosEliminados.sum())
+                .bytesLiberados(bytesLiberados.sum())
+                .vueltasCompletas(vueltasCompletas.sum())
+                .ultimaEjecucion(ultima == 0 ? null
+                        : LocalDateTime.ofInstant(Instant.ofEpochMilli(ultima), ZoneId.systemDefault()))
+                .build();
+    }
+
+    /** Los tamanioLote nombres siguientes al cursor, en orden, sin cargar el directorio completo */
+    private List<String> siguienteLote() throws IOException {
+        PriorityQueue<String> menores = new PriorityQueue<>(Comparator.reverseOrder());
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio)) {
+            for (Path archivo : archivos) {
+                String nombre = archivo.getFileName().toString();
+                if (nombre.compareTo(cursor) <= 0) {
+                    continue;
+                }
+                if (menores.size() < tamanioLote) {
+                    menores.add(nombre);
+                } else if (nombre.compareTo(menores.peek()) < 0) {
+                    menores.poll();
+                    menores.add(nombre);
+                }
+            }
+        }
+        List<String> lote = new ArrayList<>(menores);
+        lote.sort(null);
+        return lote;
+    }
+
+    /**
+     * Primero se renombra (atómico) y después se confirma la fecha: si una subida del mismo contenido
+     * renovó el archivo entre la consulta y el renombre, se devuelve a su lugar. Si la subida llega
+     * después del renombre, no lo encuentra y escribe el archivo de nuevo (ver ImagenStorageService).
+     */
+    private boolean eliminarHuerfana(Path archivo, Instant limite) {
+        Path apartado = archivo.resolveSibling(PREFIJO_BORRADO + archivo.getFileName());
+        try {
+            Files.move(archivo, apartado, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException | AtomicMoveNotSupportedException | FileAlreadyExistsException e) {
+            return false;
+        } catch (IOException e) {
+            log.warn("⚠️ No se pudo apartar {}: {}", archivo.getFileName(), e.getMessage());
+            return false;
+        }
+
+        try {
+            BasicFileAttributes atributos = Files.readAttributes(apartado, BasicFileAttributes.class);
+            if (atributos.lastModifiedTime().toInstant().isAfter(limite)) {
+                restaurar(apartado, archivo);
+                return false;
+            }
+            return borrar(apartado, atributos.size());
+        } catch (IOException e) {
+            log.warn("⚠️ No se pudo eliminar {}: {}", archivo.getFileName(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void restaurar(Path apartado, Path archivo) throws IOException {
+        try {
+            Files.move(apartado, archivo, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // La subida ya escribió el archivo de nuevo; el apartado es una copia idéntica
+            Files.deleteIfExists(apartado);
+        }
+    }
+
+    private boolean borrar(Path archivo, long tamanio) {
+        try {
+            if (Files.deleteIfExists(archivo)) {
+                archivosEliminados.increment();
+                bytesLiberados.add(tamanio);
+                return true;
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ No se pudo eliminar {}: {}", archivo.getFileName(), e.getMessage());
+        }
+        return false;
+    }
+
+    /** Nombre del original si el archivo es una variante, si no null */
+    private String nombreOriginal(String nombre) {
+        Matcher variante = VARIANTE.matcher(nombre);
+        if (!variante.matches()) {
+            return null;
+        }
+        return variante.group(1) + (variante.group(2) != null ? variante.group(2) : "");
+    }
+}
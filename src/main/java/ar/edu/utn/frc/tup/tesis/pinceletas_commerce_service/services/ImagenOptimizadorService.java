@@ -0,0 +1,284 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Optimiza las imágenes subidas antes de guardarlas: limita el lado mayor, recomprime JPEG/PNG
+ * y descarta los metadatos (EXIF, GPS, perfil de cámara), aplicando antes la orientación EXIF.
+ * Decodificar una foto de cámara ocupa decenas de MB, por eso corre en un pool chico y acotado;
+ * si el pool está saturado o la imagen no se puede procesar, se guarda el original.
+ */
+@Service
+@Slf4j
+public class ImagenOptimizadorService {
+
+    private static final int CAPACIDAD_COLA = 50;
+    private static final long ESPERA_MAXIMA_SEGUNDOS = 60;
+    private static final int BYTES_CABECERA = 64 * 1024;
+
+    /**
+     * Resultado de una imagen optimizada (si no se optimizó, optimizar devuelve null)
+     */
+    public record ResultadoOptimizacion(long bytesOriginales, long bytesFinales) {
+
+        public int porcentajeReduccion() {
+            return bytesOriginales == 0 ? 0 : (int) Math.round(100.0 * (bytesOriginales - bytesFinales) / bytesOriginales);
+        }
+    }
+
+    private final int ladoMaximo;
+    private final float calidadJpeg;
+    private final ThreadPoolExecutor executor;
+
+    public ImagenOptimizadorService(@Value("${app.uploads.optimizacion.lado-maximo:2048}") int ladoMaximo,
+                                    @Value("${app.uploads.optimizacion.calidad-jpeg:0.82}") float calidadJpeg,
+                                    @Value("${app.uploads.optimizacion.hilos:2}") int hilos) {
+        this.ladoMaximo = ladoMaximo;
+        this.calidadJpeg = calidadJpeg;
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(CAPACIDAD_COLA), tarea -> {
+            Thread hilo = new Thread(tarea, "optimizador-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    @PreDestroy
+    void cerrar() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Reemplaza el contenido de archivo por su versión optimizada, si conviene.
+     *
+     * @param extension extensión con punto (".jpg"); solo se procesan JPEG y PNG
+     * @return bytes antes y después, o null si el archivo quedó como estaba
+     */
+    public ResultadoOptimizacion optimizar(Path archivo, String extension) {
+        String formato = formato(extension);
+        if (formato == null) {
+            return null;
+        }
+
+        Future<ResultadoOptimizacion> tarea;
+        try {
+            tarea = executor.submit(() -> procesar(archivo, formato));
+        } catch (RejectedExecutionException e) {
+            log.warn("⚠️ Optimizador saturado, se guarda la imagen original");
+            return null;
+        }
+
+        try {
+            return tarea.get(ESPERA_MAXIMA_SEGUNDOS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            tarea.cancel(true);
+            log.warn("⚠️ La optimización tardó más de {} s, se guarda la imagen original", ESPERA_MAXIMA_SEGUNDOS);
+        } catch (ExecutionException e) {
+            log.warn("⚠️ No se pudo optimizar la imagen: {}", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    private ResultadoOptimizacion procesar(Path archivo, String formato) throws IOException {
+        long bytesOriginales = Files.size(archivo);
+        int orientacion = 0;
+        if ("jpg".equals(formato)) {
+            try (InputStream entrada = Files.newInputStream(archivo)) {
+                orientacion = orientacionExif(entrada.readNBytes(BYTES_CABECERA));
+            }
+        }
+
+        BufferedImage imagen = ImageIO.read(archivo.toFile());
+        if (imagen == null) {
+            return null;
+        }
+
+        BufferedImage orientada = orientar(imagen, orientacion);
+        int ladoMayor = Math.max(orientada.getWidth(), orientada.getHeight());
+        boolean reducida = ladoMayor > ladoMaximo;
+        BufferedImage finalImagen = reducida || orientada != imagen || "jpg".equals(formato)
+                ? redibujar(orientada, Math.min(1.0, (double) ladoMaximo / ladoMayor), "png".equals(formato))
+                : orientada;
+
+        Path optimizada = Files.createTempFile(archivo.getParent(), ".optimizada-", ".tmp");
+        try {
+            if ("jpg".equals(formato)) {
+                escribirJpeg(finalImagen, optimizada);
+            } else if (!ImageIO.write(finalImagen, formato, optimizada.toFile())) {
+                return null;
+            }
+
+            long bytesFinales = Files.size(optimizada);
+            // Con EXIF se reemplaza aunque no achique: la ubicación y los datos de cámara no se publican
+            if (bytesFinales >= bytesOriginales && !reducida && orientacion == 0) {
+                return null;
+            }
+            Files.move(optimizada, archivo, StandardCopyOption.REPLACE_EXISTING);
+            return new ResultadoOptimizacion(bytesOriginales, bytesFinales);
+        } finally {
+            Files.deleteIfExists(optimizada);
+        }
+    }
+
+    private void escribirJpeg(BufferedImage imagen, Path destino) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam parametros = writer.getDefaultWriteParam();
+        parametros.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        parametros.setCompressionQuality(calidadJpeg);
+        try (ImageOutputStream salida = ImageIO.createImageOutputStream(destino.toFile())) {
+            writer.setOutput(salida);
+            // Sin metadatos: el JPEG resultante solo lleva la imagen
+            writer.write(null, new IIOImage(imagen, null, null), parametros);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /** Copia escalada; también normaliza a RGB los JPEG (el encoder no acepta canal alfa) */
+    private BufferedImage redibujar(BufferedImage imagen, double escala, boolean conTransparencia) {
+        int ancho = Math.max(1, (int) Math.round(imagen.getWidth() * escala));
+        int alto = Math.max(1, (int) Math.round(imagen.getHeight() * escala));
+        BufferedImage destino = new BufferedImage(ancho, alto,
+                conTransparencia ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D grafico = destino.createGraphics();
+        try {
+            grafico.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            grafico.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            grafico.drawImage(imagen, 0, 0, ancho, alto, null);
+        } finally {
+            grafico.dispose();
+        }
+        return destino;
+    }
+
+    /** Rota según la orientación EXIF (3 = 180°, 6 = 90° horario, 8 = 90° antihorario) */
+    private BufferedImage orientar(BufferedImage imagen, int orientacion) {
+        if (orientacion != 3 && orientacion != 6 && orientacion != 8) {
+            return imagen;
+        }
+        int ancho = imagen.getWidth();
+        int alto = imagen.getHeight();
+        boolean girada = orientacion != 3;
+        BufferedImage destino = new BufferedImage(girada ? alto : ancho, girada ? ancho : alto,
+                imagen.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+
+        AffineTransform transformacion = new AffineTransform();
+        if (orientacion == 3) {
+            transformacion.translate(ancho, alto);
+            transformacion.rotate(Math.PI);
+        } else if (orientacion == 6) {
+            transformacion.translate(alto, 0);
+            transformacion.rotate(Math.PI / 2);
+        } else {
+            transformacion.translate(0, ancho);
+            transformacion.rotate(-Math.PI / 2);
+        }
+
+        Graphics2D grafico = destino.createGraphics();
+        try {
+            grafico.drawImage(imagen, transformacion, null);
+        } finally {
+            grafico.dispose();
+        }
+        return destino;
+    }
+
+    /**
+     * Orientación del bloque EXIF (APP1) de un JPEG, leyendo solo la cabecera del archivo.
+     * Devuelve 0 si no hay EXIF, 1 si lo hay sin orientación, o el valor del tag 0x0112.
+     */
+    static int orientacionExif(byte[] datos) {
+        if (datos.length < 4 || (datos[0] & 0xFF) != 0xFF || (datos[1] & 0xFF) != 0xD8) {
+            return 0;
+        }
+        int posicion = 2;
+        while (posicion + 4 <= datos.length && (datos[posicion] & 0xFF) == 0xFF) {
+            int marcador = datos[posicion + 1] & 0xFF;
+            if (marcador == 0xDA || marcador == 0xD9) {
+                break; // empiezan los datos de imagen
+            }
+            int largo = leer16(datos, posicion + 2, false);
+            int inicio = posicion + 4;
+            int fin = Math.min(posicion + 2 + largo, datos.length);
+            if (marcador == 0xE1 && fin - inicio >= 14 && esCabeceraExif(datos, inicio)) {
+                return orientacionTiff(datos, inicio + 6, fin);
+            }
+            posicion += 2 + largo;
+        }
+        return 0;
+    }
+
+    private static boolean esCabeceraExif(byte[] datos, int inicio) {
+        return datos[inicio] == 'E' && datos[inicio + 1] == 'x' && datos[inicio + 2] == 'i' && datos[inicio + 3] == 'f'
+                && datos[inicio + 4] == 0 && datos[inicio + 5] == 0;
+    }
+
+    private static int orientacionTiff(byte[] datos, int tiff, int fin) {
+        boolean littleEndian = datos[tiff] == 'I' && datos[tiff + 1] == 'I';
+        long desplazamiento = leer32(datos, tiff + 4, littleEndian);
+        if (desplazamiento < 8 || tiff + desplazamiento + 2 > fin) {
+            return 1;
+        }
+        int ifd = (int) (tiff + desplazamiento);
+        int entradas = leer16(datos, ifd, littleEndian);
+        for (int i = 0; i < entradas; i++) {
+            int entrada = ifd + 2 + i * 12;
+            if (entrada + 12 > fin) {
+                break;
+            }
+            if (leer16(datos, entrada, littleEndian) == 0x0112) {
+                return leer16(datos, entrada + 8, littleEndian);
+            }
+        }
+        return 1;
+    }
+
+    private static int leer16(byte[] datos, int posicion, boolean littleEndian) {
+        int a = datos[posicion] & 0xFF;
+        int b = datos[posicion + 1] & 0xFF;
+        return littleEndian ? (b << 8) | a : (a << 8) | b;
+    }
+
+    private static long leer32(byte[] datos, int posicion, boolean littleEndian) {
+        long alto = leer16(datos, littleEndian ? posicion + 2 : posicion, littleEndian);
+        long bajo = leer16(datos, littleEndian ? posicion : posicion + 2, littleEndian);
+        return (alto << 16) | bajo;
+    }
+
+    private String formato(String extension) {
+        return switch (extension) {
+            case ".jpg", ".jpeg" -> "jpg";
+            case ".png" -> "png";
+            default -> null;
+        };
+    }
+}
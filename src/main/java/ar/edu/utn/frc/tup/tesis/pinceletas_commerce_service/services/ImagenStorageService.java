@@ -0,0 +1,227 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.ImagenOptimizadorService.ResultadoOptimizacion;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Guarda las imágenes subidas en el directorio de uploads.
+ * El nombre del archivo es el SHA-256 del contenido, así dos subidas iguales apuntan al mismo archivo
+ * y no hay colisiones entre subidas simultáneas. Cada archivo se escribe primero en un temporal
+ * y se mueve a su nombre final, de modo que nunca se sirve una imagen a medio escribir.
+ * Antes de nombrarlo pasa por ImagenOptimizadorService (tamaño máximo, recompresión, sin EXIF).
+ */
+@Service
+@Slf4j
+public class ImagenStorageService {
+
+    /** Máximo de imágenes por producto; también es el paralelismo de escritura */
+    public static final int MAXIMO_IMAGENES = 5;
+
+    /**
+     * Tamaño máximo por imagen. El límite de multipart es más alto por la importación masiva,
+     * y una imagen grande se decodifica completa en memoria al optimizarla.
+     */
+    public static final long TAMANIO_MAXIMO_IMAGEN = 10L * 1024 * 1024;
+
+    private static final String PREFIJO_URL = "/uploads/";
+    private static final long BLOQUE_TRANSFERENCIA = 1L << 20;
+
+    private final Path directorio;
+    private final ImagenOptimizadorService imagenOptimizadorService;
+    private final ExecutorService executor;
+
+    public ImagenStorageService(@Value("${app.uploads.dir:uploads}") String directorio,
+                                ImagenOptimizadorService imagenOptimizadorService) {
+        this.directorio = Paths.get(directorio).toAbsolutePath().normalize();
+        this.imagenOptimizadorService = imagenOptimizadorService;
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(MAXIMO_IMAGENES, tarea -> {
+            Thread hilo = new Thread(tarea, "imagenes-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    @PreDestroy
+    void cerrar() {
+        executor.shutdown();
+    }
+
+    /**
+     * Guarda una imagen y devuelve su URL pública
+     */
+    public String guardar(MultipartFile imagen) {
+        validarTamanio(imagen);
+        try {
+            return escribir(imagen);
+        } catch (IOException e) {
+            log.error("❌ Error al guardar imagen {}: {}", imagen.getOriginalFilename(), e.getMessage());
+            throw new RuntimeException("Error al guardar imagen", e);
+        }
+    }
+
+    /**
+     * Guarda hasta MAXIMO_IMAGENES imágenes en paralelo y devuelve sus URLs en el orden recibido.
+     * Los archivos vacíos se ignoran. Si alguna falla, la operación completa falla.
+     */
+    public List<String> guardarTodas(List<MultipartFile> imagenes) {
+        List<MultipartFile> aGuardar = imagenes.subList(0, Math.min(imagenes.size(), MAXIMO_IMAGENES));
+        aGuardar.stream().filter(imagen -> imagen != null).forEach(this::validarTamanio);
+
+        List<CompletableFuture<String>> escrituras = new ArrayList<>();
+        for (MultipartFile imagen : aGuardar) {
+            if (imagen != null && !imagen.isEmpty()) {
+                escrituras.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return escribir(imagen);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, executor));
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(escrituras.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            Throwable causa = e.getCause() instanceof UncheckedIOException io ? io.getCause() : e.getCause();
+            log.error("❌ Error al guardar imágenes: {}", causa.getMessage());
+            throw new RuntimeException("Error al guardar imágenes", causa);
+        }
+
+        return escrituras.stream().map(CompletableFuture::join).toList();
+    }
+
+    private void validarTamanio(MultipartFile imagen) {
+        if (imagen.getSize() > TAMANIO_MAXIMO_IMAGEN) {
+            throw new RuntimeException("La imagen " + imagen.getOriginalFilename() + " supera el máximo de "
+                    + TAMANIO_MAXIMO_IMAGEN / (1024 * 1024) + "MB");
+        }
+    }
+
+    private String escribir(MultipartFile imagen) throws IOException {
+        Files.createDirectories(directorio);
+        Path temporal = Files.createTempFile(directorio, ".subida-", ".tmp");
+
+        try {
+            MessageDigest digest = nuevoDigest();
+            try (InputStream entrada = new DigestInputStream(imagen.getInputStream(), digest)) {
+                copiar(entrada, temporal);
+            }
+
+            String extension = extension(imagen.getOriginalFilename());
+            // El archivo canónico es el optimizado; si cambió, el hash se calcula sobre el nuevo contenido
+            ResultadoOptimizacion optimizacion = imagenOptimizadorService.optimizar(temporal, extension);
+            if (optimizacion != null) {
+                log.info("📉 Imagen {} optimizada: {} KB -> {} KB (reducción {}%)", imagen.getOriginalFilename(),
+                        optimizacion.bytesOriginales() / 1024, optimizacion.bytesFinales() / 1024,
+                        optimizacion.porcentajeReduccion());
+                digest = nuevoDigest();
+                try (InputStream entrada = new DigestInputStream(Files.newInputStream(temporal), digest)) {
+                    entrada.transferTo(OutputStream.nullOutputStream());
+                }
+            }
+
+            String nombre = HexFormat.of().formatHex(digest.digest()) + extension;
+            Path archivo = directorio.resolve(nombre);
+
+            if (renovar(archivo)) {
+                log.debug("♻️ Imagen repetida, se reutiliza {}", nombre);
+            } else {
+                mover(temporal, archivo);
+            }
+            return PREFIJO_URL + nombre;
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    /**
+     * Actualiza la fecha de un archivo existente para que ImagenCleanupScheduler lo trate como recién subido.
+     * Devuelve false si no existe (o lo acaba de apartar la limpieza) y hay que escribirlo.
+     */
+    private boolean renovar(Path archivo) throws IOException {
+        try {
+            Files.setLastModifiedTime(archivo, FileTime.from(Instant.now()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private void copiar(InputStream entrada, Path temporal) throws IOException {
+        try (ReadableByteChannel origen = Channels.newChannel(entrada);
+             FileChannel destino = FileChannel.open(temporal, StandardOpenOption.WRITE)) {
+            long posicion = 0;
+            long transferidos;
+            while ((transferidos = destino.transferFrom(origen, posicion, BLOQUE_TRANSFERENCIA)) > 0) {
+                posicion += transferidos;
+            }
+        }
+    }
+
+    private void mover(Path temporal, Path archivo) throws IOException {
+        try {
+            Files.move(temporal, archivo, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporal, archivo);
+        } catch (FileAlreadyExistsException e) {
+            // Otra subida con el mismo contenido llegó primero: el archivo ya es idéntico
+        }
+    }
+
+    /** Extensión original en minúsculas, solo si es alfanumérica y corta */
+    private String extension(String nombreOriginal) {
+        if (nombreOriginal == null) {
+            return "";
+        }
+        int punto = nombreOriginal.lastIndexOf('.');
+        if (punto < 0) {
+            return "";
+        }
+        String extension = nombreOriginal.substring(punto + 1).toLowerCase(Locale.ROOT);
+        return extension.matches("[a-z0-9]{1,5}") ? "." + extension : "";
+    }
+
+    private MessageDigest nuevoDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Genera copias reducidas (por ancho) de las imágenes subidas, en segundo plano.
+ * Cada variante queda junto al original como "{hash}-w{ancho}.{ext}" y se pide por
+ * /uploads/variantes/{ancho}/{archivo}; mientras no exista, esa URL sirve el original (ver ImagenArchivoController).
+ */
+@Service
+@Slf4j
+public class ImagenVarianteService {
+
+    public static final String PREFIJO_URL_VARIANTES = "/uploads/variantes/";
+
+    private static final String PREFIJO_URL = "/uploads/";
+    private static final int CAPACIDAD_COLA = 200;
+
+    private final Path directorio;
+    private final List<Integer> anchos;
+    private final ThreadPoolExecutor executor;
+
+    public ImagenVarianteService(@Value("${app.uploads.dir:uploads}") String directorio,
+                                 @Value("${app.uploads.variantes.anchos:160,480,1024}") List<Integer> anchos,
+                                 @Value("${app.uploads.variantes.hilos:2}") int hilos) {
+        this.directorio = Paths.get(directorio).toAbsolutePath().normalize();
+        this.anchos = anchos.stream().sorted().toList();
+        AtomicInteger contador = new AtomicInteger();
+        // Pool acotado: si la cola se llena, la variante no se genera y la URL sigue sirviendo el original
+        this.executor = new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(CAPACIDAD_COLA), tarea -> {
+            Thread hilo = new Thread(tarea, "variantes-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            hilo.setPriority(Thread.NORM_PRIORITY - 1);
+            return hilo;
+        });
+    }
+
+    @PreDestroy
+    void cerrar() {
+        executor.shutdown();
+    }
+
+    /** Nombre del archivo de una variante: "abc.jpg" con 480 -> "abc-w480.jpg" */
+    public static String nombreVariante(String archivo, int ancho) {
+        int punto = archivo.lastIndexOf('.');
+        return punto < 0
+                ? archivo + "-w" + ancho
+                : archivo.substring(0, punto) + "-w" + ancho + archivo.substring(punto);
+    }
+
+    /**
+     * Encola la generación de variantes de las imágenes indicadas.
+     * alTerminar se ejecuta en el hilo de trabajo cuando todas quedaron generadas.
+     */
+    public void generarVariantes(List<String> urls, Runnable alTerminar) {
+        List<String> propias = urls.stream().filter(url -> archivoLocal(url) != null).toList();
+        if (propias.isEmpty()) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                propias.forEach(this::generar);
+                alTerminar.run();
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("⚠️ Cola de variantes llena, se omiten {} imágenes", propias.size());
+        }
+    }
+
+    /**
+     * Anchos cuya variante ya existe en disco, de menor a mayor
+     */
+    public List<Integer> anchosDisponibles(String url) {
+        Path original = archivoLocal(url);
+        List<Integer> disponibles = new ArrayList<>();
+        if (original == null) {
+            return disponibles;
+        }
+        for (Integer ancho : anchos) {
+            if (Files.exists(original.resolveSibling(nombreVariante(original.getFileName().toString(), ancho)))) {
+                disponibles.add(ancho);
+            }
+        }
+        return disponibles;
+    }
+
+    void generar(String url) {
+        Path original = archivoLocal(url);
+        String formato = formatoEscritura(original.getFileName().toString());
+        if (formato == null) {
+            return;
+        }
+
+        try {
+            BufferedImage imagen = ImageIO.read(original.toFile());
+            if (imagen == null) {
+                log.debug("Formato no soportado para variantes: {}", url);
+                return;
+            }
+            for (Integer ancho : anchos) {
+                Path destino = original.resolveSibling(nombreVariante(original.getFileName().toString(), ancho));
+                // No se amplía: si el original es más angosto, la URL de la variante sirve el original
+                if (imagen.getWidth() <= ancho || Files.exists(destino)) {
+                    continue;
+                }
+                escribir(redimensionar(imagen, ancho, "png".equals(formato)), formato, destino);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("❌ Error generando variantes de {}: {}", url, e.getMessage());
+        }
+    }
+
+    private BufferedImage redimensionar(BufferedImage imagen, int ancho, boolean conTransparencia) {
+        int alto = Math.max(1, Math.round((float) imagen.getHeight() * ancho / imagen.getWidth()));
+        BufferedImage reducida = new BufferedImage(ancho, alto,
+                conTransparencia ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D grafico = reducida.createGraphics();
+        try {
+            grafico.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            grafico.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            grafico.drawImage(imagen, 0, 0, ancho, alto, null);
+        } finally {
+            grafico.dispose();
+        }
+        return reducida;
+    }
+
+    private void escribir(BufferedImage imagen, String formato, Path destino) throws IOException {
+        Path temporal = Files.createTempFile(directorio, ".variante-", ".tmp");
+        try {
+            if (!ImageIO.write(imagen, formato, temporal.toFile())) {
+                return;
+            }
+            try {
+                Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    /** Solo JPEG y PNG: son los formatos que ImageIO escribe sin plugins adicionales */
+    private String formatoEscritura(String archivo) {
+        String nombre = archivo.toLowerCase(Locale.ROOT);
+        if (nombre.endsWith(".jpg") || nombre.endsWith(".jpeg")) {
+            return "jpg";
+        }
+        return nombre.endsWith(".png") ? "png" : null;
+    }
+
+    /** Ruta en disco de una URL /uploads/{archivo}; null si la imagen no es de este servidor */
+    private Path archivoLocal(String url) {
+        if (url == null || !url.startsWith(PREFIJO_URL) || url.startsWith(PREFIJO_URL_VARIANTES)) {
+            return null;
+        }
+        String archivo = url.substring(PREFIJO_URL.length());
+        if (archivo.isEmpty() || archivo.contains("/") || archivo.contains("\\") || archivo.contains("..")) {
+            return null;
+        }
+        return directorio.resolve(archivo);
+    }
+}
@@ -0,0 +1,243 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.configs.UserAuthClient;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.DescuentoFavoritoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.TrabajoNotificacionDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.UserResponseDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.EstadoTrabajoNotificacion;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envía las notificaciones de descuentos agrupadas por usuario:
+ * cada usuario recibe un solo email aunque varios de sus favoritos hayan entrado en descuento.
+ * Cada envío es un trabajo en segundo plano con su avance consultable. Los usuarios se procesan de a
+ * lotes: primero se consultan en paralelo a user-auth y después se mandan los emails, con a lo sumo
+ * app.notificaciones.descuentos.hilos llamadas simultáneas y un máximo de emails por segundo.
+ */
+@Service
+@Slf4j
+public class NotificacionDescuentoService {
+
+    private static final int TRABAJOS_RETENIDOS = 50;
+    private static final int ERRORES_POR_TRABAJO = 20;
+
+    private static final class Trabajo {
+        private final String id = UUID.randomUUID().toString().substring(0, 8);
+        private final int total;
+        private final AtomicInteger enviados = new AtomicInteger();
+        private final AtomicInteger omitidos = new AtomicInteger();
+        private final AtomicInteger fallidos = new AtomicInteger();
+        private final ConcurrentLinkedQueue<String> errores = new ConcurrentLinkedQueue<>();
+        private volatile EstadoTrabajoNotificacion estado = EstadoTrabajoNotificacion.PENDIENTE;
+        private volatile LocalDateTime fechaInicio;
+        private volatile LocalDateTime fechaFin;
+
+        Trabajo(int total) {
+            this.total = total;
+        }
+
+        void registrarError(Long usuarioId, String mensaje) {
+            fallidos.incrementAndGet();
+            if (errores.size() < ERRORES_POR_TRABAJO) {
+                errores.add("usuario " + usuarioId + ": " + mensaje);
+            }
+        }
+
+        TrabajoNotificacionDTO aDto() {
+            return TrabajoNotificacionDTO.builder()
+                    .id(id)
+                    .estado(estado)
+                    .total(total)
+                    .enviados(enviados.get())
+                    .omitidos(omitidos.get())
+                    .fallidos(fallidos.get())
+                    .errores(List.copyOf(errores))
+                    .fechaInicio(fechaInicio)
+                    .fechaFin(fechaFin)
+                    .build();
+        }
+    }
+
+    private final UserAuthClient userAuthClient;
+    private final EmailService emailService;
+    private final int tamanioLote;
+    private final long intervaloEnvioNanos;
+
+    /** Un hilo que recorre los trabajos en orden; el trabajo real va al pool acotado */
+    private final ExecutorService coordinador;
+    private final ExecutorService trabajadores;
+
+    /** Últimos trabajos, del más viejo al más nuevo */
+    private final Map<String, Trabajo> trabajos = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Trabajo> mayor) {
+            return size() > TRABAJOS_RETENIDOS;
+        }
+    };
+
+    private final Object turnos = new Object();
+    private long proximoEnvio = System.nanoTime();
+
+    public NotificacionDescuentoService(UserAuthClient userAuthClient,
+                                        EmailService emailService,
+                                        @Value("${app.notificaciones.descuentos.lote:50}") int tamanioLote,
+                                        @Value("${app.notificaciones.descuentos.hilos:4}") int hilos,
+                                        @Value("${app.notificaciones.descuentos.emails-por-segundo:5}") double emailsPorSegundo) {
+        this.userAuthClient = userAuthClient;
+        this.emailService = emailService;
+        this.tamanioLote = tamanioLote;
+        this.intervaloEnvioNanos = (long) (TimeUnit.SECONDS.toNanos(1) / emailsPorSegundo);
+        this.coordinador = Executors.newSingleThreadExecutor(tarea -> hilo(tarea, "notificaciones"));
+        AtomicInteger contador = new AtomicInteger();
+        this.trabajadores = Executors.newFixedThreadPool(hilos,
+                tarea -> hilo(tarea, "notificaciones-" + contador.incrementAndGet()));
+    }
+
+    private static Thread hilo(Runnable tarea, String nombre) {
+        Thread hilo = new Thread(tarea, nombre);
+        hilo.setDaemon(true);
+        return hilo;
+    }
+
+    @PreDestroy
+    void cerrar() {
+        coordinador.shutdownNow();
+        trabajadores.shutdownNow();
+    }
+
+    /**
+     * Encola el envío y vuelve enseguida con el id del trabajo (ver obtenerTrabajo).
+     */
+    public String notificarDescuentos(Map<Long, List<DescuentoFavoritoDTO>> descuentosPorUsuario) {
+        Trabajo trabajo = new Trabajo(descuentosPorUsuario.size());
+        synchronized (trabajos) {
+            trabajos.put(trabajo.id, trabajo);
+        }
+        Map<Long, List<DescuentoFavoritoDTO>> copia = new LinkedHashMap<>(descuentosPorUsuario);
+        coordinador.execute(() -> ejecutar(trabajo, copia));
+        log.info("📧 Trabajo {} encolado: notificar descuentos a {} usuarios", trabajo.id, trabajo.total);
+        return trabajo.id;
+    }
+
+    public Optional<TrabajoNotificacionDTO> obtenerTrabajo(String id) {
+        synchronized (trabajos) {
+            return Optional.ofNullable(trabajos.get(id)).map(Trabajo::aDto);
+        }
+    }
+
+    /**
+     * Trabajos recientes, del más nuevo al más viejo
+     */
+    public List<TrabajoNotificacionDTO> obtenerTrabajos() {
+        List<TrabajoNotificacionDTO> resultado = new ArrayList<>();
+        synchronized (trabajos) {
+            trabajos.values().forEach(trabajo -> resultado.add(0, trabajo.aDto()));
+        }
+        return resultado;
+    }
+
+    private void ejecutar(Trabajo trabajo, Map<Long, List<DescuentoFavoritoDTO>> descuentosPorUsuario) {
+        trabajo.fechaInicio = LocalDateTime.now();
+        trabajo.estado = EstadoTrabajoNotificacion.EN_CURSO;
+
+        List<Long> usuarioIds = new ArrayList<>(descuentosPorUsuario.keySet());
+        for (int desde = 0; desde < usuarioIds.size(); desde += tamanioLote) {
+            List<Long> lote = usuarioIds.subList(desde, Math.min(desde + tamanioLote, usuarioIds.size()));
+
+            // Consultas a user-auth del lote, en paralelo
+            Map<Long, CompletableFuture<UserResponseDTO>> usuarios = new LinkedHashMap<>();
+            for (Long usuarioId : lote) {
+                usuarios.put(usuarioId, CompletableFuture.supplyAsync(
+                        () -> userAuthClient.obtenerUsuarioPorId(usuarioId), trabajadores));
+            }
+
+            List<CompletableFuture<Void>> envios = new ArrayList<>();
+            usuarios.forEach((usuarioId, consulta) -> envios.add(consulta
+                    .thenAcceptAsync(usuario -> enviar(trabajo, usuarioId, usuario,
+                            descuentosPorUsuario.get(usuarioId)), trabajadores)
+                    .exceptionally(error -> {
+                        Throwable causa = error.getCause() != null ? error.getCause() : error;
+                        trabajo.registrarError(usuarioId, causa.getMessage());
+                        return null;
+                    })));
+
+            try {
+                CompletableFuture.allOf(envios.toArray(new CompletableFuture[0])).join();
+            } catch (RuntimeException e) {
+                log.error("❌ Error en el lote del trabajo {}: {}", trabajo.id, e.getMessage());
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+        }
+
+        trabajo.fechaFin = LocalDateTime.now();
+        trabajo.estado = EstadoTrabajoNotificacion.COMPLETADO;
+        log.info("✅ Trabajo {} completado: {} enviados, {} sin email, {} con error",
+                trabajo.id, trabajo.enviados.get(), trabajo.omitidos.get(), trabajo.fallidos.get());
+    }
+
+    private void enviar(Trabajo trabajo, Long usuarioId, UserResponseDTO usuario, List<DescuentoFavoritoDTO> descuentos) {
+        if (usuario == null || usuario.getEmail() == null) {
+            log.warn("⚠️ Usuario {} sin email, se omite la notificación", usuarioId);
+            trabajo.omitidos.incrementAndGet();
+            return;
+        }
+
+        try {
+            esperarTurno();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            trabajo.registrarError(usuarioId, "envío interrumpido");
+            return;
+        }
+
+        String nombreUsuario = usuario.getNombre() + " " + usuario.getApellido();
+        if (descuentos.size() == 1) {
+            DescuentoFavoritoDTO descuento = descuentos.get(0);
+            emailService.enviarEmailDescuentoFavorito(
+                    usuario.getEmail(),
+                    nombreUsuario,
+                    descuento.getNombre(),
+                    descuento.getPrecioOriginal(),
+                    descuento.getDescuentoPorcentaje(),
+                    descuento.getPrecioConDescuento(),
+                    descuento.getImagen(),
+                    descuento.getProductoId());
+        } else {
+            emailService.enviarEmailDescuentosFavoritos(usuario.getEmail(), nombreUsuario, descuentos);
+        }
+        trabajo.enviados.incrementAndGet();
+    }
+
+    /** Limita el ritmo de envío: cada email toma el siguiente turno libre y espera hasta él */
+    private void esperarTurno() throws InterruptedException {
+        long espera;
+        synchronized (turnos) {
+            long ahora = System.nanoTime();
+            long turno = Math.max(ahora, proximoEnvio);
+            proximoEnvio = turno + intervaloEnvioNanos;
+            espera = turno - ahora;
+        }
+        if (espera > 0) {
+            TimeUnit.NANOSECONDS.sleep(espera);
+        }
+    }
+}
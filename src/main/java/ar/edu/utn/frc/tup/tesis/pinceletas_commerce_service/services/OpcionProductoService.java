@@ -2,6 +2,7 @@ package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
 
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.OpcionProductoDTO;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.OpcionProductoEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.SeccionCatalogo;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.OpcionProductoRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -14,6 +15,8 @@ import java.util.stream.Collectors;
 public class OpcionProductoService {
 
     private final OpcionProductoRepository opcionRepository;
+    private final CatalogoCacheService catalogoCacheService;
+    private final CatalogoVersionService catalogoVersionService;
 
     // Crear opción (sin producto asignado)
     public OpcionProductoDTO crearOpcion(OpcionProductoDTO dto) {
@@ -22,6 +25,7 @@ public class OpcionProductoService {
 
 
         OpcionProductoEntity saved = opcionRepository.save(opcion);
+        catalogoVersionService.incrementar(SeccionCatalogo.OPCIONES);
         return mapToDto(saved);
     }
 
@@ -34,12 +38,17 @@ public class OpcionProductoService {
 
 
         OpcionProductoEntity saved = opcionRepository.save(actual);
+        // Los productos cacheados embeben sus opciones
+        catalogoCacheService.invalidarTodo();
+        catalogoVersionService.incrementar(SeccionCatalogo.OPCIONES);
         return mapToDto(saved);
     }
 
     // Eliminar opción por ID
     public void eliminarOpcion(Long id) {
         opcionRepository.deleteById(id);
+        catalogoCacheService.invalidarTodo();
+        catalogoVersionService.incrementar(SeccionCatalogo.OPCIONES);
     }
 
     // Obtener opciones por producto (con producto asignado)
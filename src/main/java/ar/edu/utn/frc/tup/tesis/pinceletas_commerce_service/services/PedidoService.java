@@ -30,6 +30,7 @@ public class PedidoService {
     private final ProductoRepository productoRepository;
     private final OpcionProductoRepository opcionProductoRepository;
     private final CarritoRepository carritoRepository;
+    private final CarritoMemoriaService carritoMemoriaService;
     private final UserAuthClient userAuthClient;
     private final ModelMapper modelMapper;
     private final NotificacionEventService notificacionEventService;
@@ -52,8 +53,12 @@ public class PedidoService {
 
         validarDireccionUsuario(usuario);
 
+        // Productos y opciones del pedido en una consulta cada uno; total e ítems salen de esta foto
+        Map<Long, ProductoEntity> productos = cargarProductos(pedidoRequest.getItems());
+        Map<Long, OpcionProductoEntity> opciones = cargarOpciones(pedidoRequest.getItems());
+
         // ✅ ACTUALIZADO: Calcular total de productos
-        BigDecimal totalProductos = calcularTotalPedido(pedidoRequest.getItems());
+        BigDecimal totalProductos = calcularTotalPedido(pedidoRequest.getItems(), productos);
 
         // ✅ NUEVO: Calcular costo de envío usando la configuración
         BigDecimal costoEnvio = BigDecimal.ZERO;
@@ -100,7 +105,7 @@ public class PedidoService {
         PedidoEntity pedidoGuardado = pedidoRepository.save(pedido);
         log.info("Pedido guardado: {}", pedidoGuardado.getNumeroPedido());
 
-        List<ItemPedidoEntity> items = crearItemsPedido(pedidoGuardado, pedidoRequest.getItems());
+        List<ItemPedidoEntity> items = crearItemsPedido(pedidoGuardado, pedidoRequest.getItems(), productos, opciones);
         pedidoGuardado.setItems(items);
 
         registrarAuditoria(null, pedidoGuardado, AccionAuditoria.CREAR, usuario.getId());
@@ -412,32 +417,61 @@ public class PedidoService {
         return direccion.toString();
     }
 
-    private BigDecimal calcularTotalPedido(List<ItemPedidoRequestDTO> items) {
-        return items.stream()
-                .map(item -> {
-                    ProductoEntity producto = productoRepository.findById(item.getProductoId())
-                            .orElseThrow(() -> new RuntimeException("Producto no encontrado: " + item.getProductoId()));
+    /** Todos los productos del pedido (con imágenes y categoría) en una sola consulta; falla si alguno no existe */
+    private Map<Long, ProductoEntity> cargarProductos(List<ItemPedidoRequestDTO> items) {
+        Set<Long> ids = items.stream()
+                .map(ItemPedidoRequestDTO::getProductoId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, ProductoEntity> productos = productoRepository.findConImagenesYCategoriaPorIds(ids).stream()
+                .collect(Collectors.toMap(ProductoEntity::getId, producto -> producto));
+        ids.stream()
+                .filter(id -> !productos.containsKey(id))
+                .findFirst()
+                .ifPresent(id -> {
+                    throw new RuntimeException("Producto no encontrado: " + id);
+                });
+        return productos;
+    }
 
-                    BigDecimal precioConDescuento = producto.getPrecio().subtract(
-                            producto.getPrecio().multiply(producto.getDescuentoPorcentaje().divide(BigDecimal.valueOf(100)))
-                    );
+    private Map<Long, OpcionProductoEntity> cargarOpciones(List<ItemPedidoRequestDTO> items) {
+        Set<Long> ids = items.stream()
+                .map(ItemPedidoRequestDTO::getOpcionSeleccionadaId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, OpcionProductoEntity> opciones = opcionProductoRepository.findConProductoPorIds(ids).stream()
+                .collect(Collectors.toMap(OpcionProductoEntity::getId, opcion -> opcion));
+        ids.stream()
+                .filter(id -> !opciones.containsKey(id))
+                .findFirst()
+                .ifPresent(id -> {
+                    throw new RuntimeException("Opción no encontrada: " + id);
+                });
+        return opciones;
+    }
 
-                    return precioConDescuento.multiply(BigDecimal.valueOf(item.getCantidad()));
+    private BigDecimal calcularTotalPedido(List<ItemPedidoRequestDTO> items, Map<Long, ProductoEntity> productos) {
+        return items.stream()
+                .map(item -> {
+                    ProductoEntity producto = productos.get(item.getProductoId());
+                    return CalculadoraPrecios.subtotal(
+                            producto.getPrecio(), producto.getDescuentoPorcentaje(), item.getCantidad());
                 })
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
-    private List<ItemPedidoEntity> crearItemsPedido(PedidoEntity pedido, List<ItemPedidoRequestDTO> itemsRequest) {
-        return itemsRequest.stream()
+    /** Arma los ítems desde la foto cargada y los inserta con un saveAll (en lotes JDBC) */
+    private List<ItemPedidoEntity> crearItemsPedido(PedidoEntity pedido, List<ItemPedidoRequestDTO> itemsRequest,
+                                                    Map<Long, ProductoEntity> productos,
+                                                    Map<Long, OpcionProductoEntity> opciones) {
+        List<ItemPedidoEntity> items = itemsRequest.stream()
                 .map(itemRequest -> {
-                    ProductoEntity producto = productoRepository.findById(itemRequest.getProductoId())
-                            .orElseThrow(() -> new RuntimeException("Producto no encontrado: " + itemRequest.getProductoId()));
-
-                    OpcionProductoEntity opcion = null;
-                    if (itemRequest.getOpcionSeleccionadaId() != null) {
-                        opcion = opcionProductoRepository.findById(itemRequest.getOpcionSeleccionadaId())
-                                .orElseThrow(() -> new RuntimeException("Opción no encontrada: " + itemRequest.getOpcionSeleccionadaId()));
-                    }
+                    ProductoEntity producto = productos.get(itemRequest.getProductoId());
+                    OpcionProductoEntity opcion = itemRequest.getOpcionSeleccionadaId() != null
+                            ? opciones.get(itemRequest.getOpcionSeleccionadaId())
+                            : null;
 
                     ItemPedidoEntity item = new ItemPedidoEntity();
                     item.setPedido(pedido);
@@ -446,10 +480,10 @@ public class PedidoService {
                     item.setCantidad(itemRequest.getCantidad());
                     item.setPrecioUnitario(producto.getPrecio());
                     item.setDescuentoPorcentaje(producto.getDescuentoPorcentaje());
-
-                    return itemPedidoRepository.save(item);
+                    return item;
                 })
                 .collect(Collectors.toList());
+        return itemPedidoRepository.saveAll(items);
     }
 
     public List<PedidoResponseDTO> obtenerPedidosPorUsuario(Long usuarioId, String authToken) {
@@ -604,6 +638,11 @@ public class PedidoService {
     }
 
     private void limpiarCarrito(Long usuarioId) {
+        if (carritoMemoriaService.isActivo()) {
+            carritoMemoriaService.vaciar(usuarioId);
+            log.info("Carrito limpiado para usuario {}", usuarioId);
+            return;
+        }
         List<CarritoEntity> items = carritoRepository.findByUsuarioId(usuarioId);
         carritoRepository.deleteAll(items);
         log.info("Carrito limpiado para usuario {}", usuarioId);
@@ -615,6 +654,17 @@ public class PedidoService {
         try {
             log.info("🧹 Limpiando del carrito los productos del pedido: {}", pedido.getNumeroPedido());
 
+            // Con carritos en memoria la tabla puede estar atrasada: se descuenta sobre la memoria
+            if (carritoMemoriaService.isActivo()) {
+                for (ItemPedidoEntity itemPedido : pedido.getItems()) {
+                    carritoMemoriaService.descontar(pedido.getUsuarioId(), itemPedido.getProducto().getId(),
+                            itemPedido.getOpcionSeleccionada() != null ? itemPedido.getOpcionSeleccionada().getId() : null,
+                            itemPedido.getCantidad());
+                }
+                log.info("✅ Limpieza del carrito completada");
+                return;
+            }
+
             // Obtener items del carrito del usuario
             List<CarritoEntity> itemsCarrito = carritoRepository.findByUsuarioId(pedido.getUsuarioId());
 
@@ -726,10 +776,8 @@ public class PedidoService {
             dto.setTipoOpcion(item.getOpcionSeleccionada().getTipo());
         }
 
-        BigDecimal precioConDescuento = item.getPrecioUnitario().subtract(
-                item.getPrecioUnitario().multiply(item.getDescuentoPorcentaje().divide(BigDecimal.valueOf(100)))
-        );
-        dto.setSubtotal(precioConDescuento.multiply(BigDecimal.valueOf(item.getCantidad())));
+        dto.setSubtotal(CalculadoraPrecios.subtotal(
+                item.getPrecioUnitario(), item.getDescuentoPorcentaje(), item.getCantidad()));
 
         return dto;
     }
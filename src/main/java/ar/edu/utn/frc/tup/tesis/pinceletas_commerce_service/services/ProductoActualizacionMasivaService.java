@@ -0,0 +1,223 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ActualizacionMasivaProductosDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.DescuentoFavoritoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ResultadoActualizacionMasivaDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.AuditoriaProductoEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.AccionAuditoria;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.SeccionCatalogo;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.AuditoriaProductoJdbcRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.FavoritoRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.ProductoRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections.FavoritoUsuarioProjection;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections.ProductoPrecioProjection;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cambios de descuento y precio sobre muchos productos a la vez.
+ * Se aplican con UPDATE por conjunto de ids, las auditorías se insertan en lote
+ * y las notificaciones se agrupan para que cada usuario reciba un solo email.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductoActualizacionMasivaService {
+
+    /** Máximo de ids por sentencia, para no exceder el límite de parámetros del driver */
+    private static final int TAMANIO_LOTE_IDS = 1000;
+    private static final BigDecimal CIEN = BigDecimal.valueOf(100);
+
+    private final ProductoRepository productoRepository;
+    private final FavoritoRepository favoritoRepository;
+    private final AuditoriaProductoJdbcRepository auditoriaProductoJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogoCacheService catalogoCacheService;
+    private final CatalogoVersionService catalogoVersionService;
+    private final NotificacionDescuentoService notificacionDescuentoService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /** Resultado de la parte transaccional: productos modificados y descuentos a notificar */
+    private record CambiosAplicados(int productosActualizados, List<DescuentoFavoritoDTO> entranEnDescuento,
+                                    Map<Long, List<DescuentoFavoritoDTO>> descuentosPorUsuario) {
+    }
+
+    public ResultadoActualizacionMasivaDTO actualizarProductos(ActualizacionMasivaProductosDTO dto, Long usuarioId) {
+        validar(dto);
+
+        List<Long> ids = dto.getCategoriaId() != null
+                ? productoRepository.findIdsByCategoriaId(dto.getCategoriaId())
+                : dto.getProductoIds().stream().distinct().toList();
+
+        if (ids.isEmpty()) {
+            return ResultadoActualizacionMasivaDTO.builder()
+                    .productosActualizados(0)
+                    .productosEnDescuento(0)
+                    .usuariosANotificar(0)
+                    .build();
+        }
+
+        CambiosAplicados cambios = transactionTemplate.execute(estado -> aplicarCambios(ids, dto, usuarioId));
+        catalogoCacheService.invalidarTodo();
+        catalogoVersionService.incrementar(SeccionCatalogo.PRODUCTOS);
+
+        // Las notificaciones salen después del commit, nunca por cambios que se revirtieron
+        String trabajoNotificacionId = null;
+        if (!cambios.descuentosPorUsuario().isEmpty()) {
+            trabajoNotificacionId = notificacionDescuentoService.notificarDescuentos(cambios.descuentosPorUsuario());
+        }
+
+        log.info("🏷️ Actualización masiva: {} productos, {} entran en descuento, {} usuarios a notificar",
+                cambios.productosActualizados(), cambios.entranEnDescuento().size(),
+                cambios.descuentosPorUsuario().size());
+
+        return ResultadoActualizacionMasivaDTO.builder()
+                .productosActualizados(cambios.productosActualizados())
+                .productosEnDescuento(cambios.entranEnDescuento().size())
+                .usuariosANotificar(cambios.descuentosPorUsuario().size())
+                .trabajoNotificacionId(trabajoNotificacionId)
+                .build();
+    }
+
+    private CambiosAplicados aplicarCambios(List<Long> ids, ActualizacionMasivaProductosDTO dto, Long usuarioId) {
+        BigDecimal factorPrecio = dto.getAjustePrecioPorcentaje() != null
+                ? BigDecimal.ONE.add(dto.getAjustePrecioPorcentaje().divide(CIEN))
+                : null;
+
+        List<AuditoriaProductoEntity> auditorias = new ArrayList<>();
+        List<DescuentoFavoritoDTO> entranEnDescuento = new ArrayList<>();
+
+        for (int desde = 0; desde < ids.size(); desde += TAMANIO_LOTE_IDS) {
+            List<Long> lote = ids.subList(desde, Math.min(desde + TAMANIO_LOTE_IDS, ids.size()));
+
+            List<ProductoPrecioProjection> anteriores = productoRepository.bloquearPreciosPorIds(lote);
+            if (dto.getDescuentoPorcentaje() != null) {
+                productoRepository.actualizarDescuentoPorIds(lote, dto.getDescuentoPorcentaje());
+            }
+            if (factorPrecio != null) {
+                productoRepository.ajustarPrecioPorIds(lote, factorPrecio);
+            }
+            productoRepository.recalcularPrecioFinalPorIds(lote);
+
+            for (ProductoPrecioProjection anterior : anteriores) {
+                BigDecimal precioNuevo = factorPrecio != null && anterior.getPrecio() != null
+                        ? anterior.getPrecio().multiply(factorPrecio).setScale(2, RoundingMode.HALF_UP)
+                        : anterior.getPrecio();
+                BigDecimal descuentoNuevo = dto.getDescuentoPorcentaje() != null
+                        ? dto.getDescuentoPorcentaje()
+                        : anterior.getDescuentoPorcentaje();
+
+                auditorias.add(crearAuditoria(anterior, precioNuevo, descuentoNuevo, usuarioId));
+
+                if (entraEnDescuento(anterior.getDescuentoPorcentaje(), descuentoNuevo) && precioNuevo != null) {
+                    entranEnDescuento.add(DescuentoFavoritoDTO.builder()
+                            .productoId(anterior.getId())
+                            .nombre(anterior.getNombre())
+                            .precioOriginal(precioNuevo)
+                            .descuentoPorcentaje(descuentoNuevo)
+                            .precioConDescuento(CalculadoraPrecios.precioFinal(precioNuevo, descuentoNuevo))
+                            .imagen(anterior.getImagenPrincipal())
+                            .build());
+                }
+            }
+        }
+
+        auditoriaProductoJdbcRepository.insertarLote(auditorias);
+        return new CambiosAplicados(auditorias.size(), entranEnDescuento, agruparPorUsuario(entranEnDescuento));
+    }
+
+    /** Mismo criterio que la modificación individual: antes sin descuento, ahora con descuento */
+    private boolean entraEnDescuento(BigDecimal descuentoAnterior, BigDecimal descuentoNuevo) {
+        boolean teniaDescuento = descuentoAnterior != null && descuentoAnterior.compareTo(BigDecimal.ZERO) > 0;
+        boolean tieneDescuento = descuentoNuevo != null && descuentoNuevo.compareTo(BigDecimal.ZERO) > 0;
+        return !teniaDescuento && tieneDescuento;
+    }
+
+    /** Junta los productos en descuento de cada usuario según sus favoritos */
+    private Map<Long, List<DescuentoFavoritoDTO>> agruparPorUsuario(List<DescuentoFavoritoDTO> descuentos) {
+        Map<Long, List<DescuentoFavoritoDTO>> porUsuario = new LinkedHashMap<>();
+        if (descuentos.isEmpty()) {
+            return porUsuario;
+        }
+
+        Map<Long, DescuentoFavoritoDTO> porProducto = descuentos.stream()
+                .collect(Collectors.toMap(DescuentoFavoritoDTO::getProductoId, Function.identity()));
+        List<Long> productoIds = new ArrayList<>(porProducto.keySet());
+
+        for (int desde = 0; desde < productoIds.size(); desde += TAMANIO_LOTE_IDS) {
+            List<Long> lote = productoIds.subList(desde, Math.min(desde + TAMANIO_LOTE_IDS, productoIds.size()));
+            for (FavoritoUsuarioProjection favorito : favoritoRepository.findUsuariosPorProductoIds(lote)) {
+                porUsuario.computeIfAbsent(favorito.getUsuarioId(), k -> new ArrayList<>())
+                        .add(porProducto.get(favorito.getProductoId()));
+            }
+        }
+        return porUsuario;
+    }
+
+    private AuditoriaProductoEntity crearAuditoria(ProductoPrecioProjection anterior, BigDecimal precioNuevo,
+                                                   BigDecimal descuentoNuevo, Long usuarioId) {
+        Map<String, Object> valoresAnteriores = new HashMap<>();
+        valoresAnteriores.put("id", anterior.getId());
+        valoresAnteriores.put("nombre", anterior.getNombre());
+        valoresAnteriores.put("precio", anterior.getPrecio());
+        valoresAnteriores.put("descuentoPorcentaje", anterior.getDescuentoPorcentaje());
+
+        Map<String, Object> valoresNuevos = new HashMap<>(valoresAnteriores);
+        valoresNuevos.put("precio", precioNuevo);
+        valoresNuevos.put("descuentoPorcentaje", descuentoNuevo);
+
+        AuditoriaProductoEntity auditoria = new AuditoriaProductoEntity();
+        auditoria.setProductoId(anterior.getId());
+        auditoria.setUsuarioId(usuarioId);
+        auditoria.setAccion(AccionAuditoria.MODIFICAR);
+        auditoria.setFechaAccion(LocalDateTime.now());
+        auditoria.setValoresAnteriores(serializar(valoresAnteriores));
+        auditoria.setValoresNuevos(serializar(valoresNuevos));
+        return auditoria;
+    }
+
+    private String serializar(Map<String, Object> valores) {
+        try {
+            return objectMapper.writeValueAsString(valores);
+        } catch (JsonProcessingException e) {
+            return "{}";
+        }
+    }
+
+    private void validar(ActualizacionMasivaProductosDTO dto) {
+        boolean porIds = dto.getProductoIds() != null && !dto.getProductoIds().isEmpty();
+        if (porIds && dto.getCategoriaId() != null) {
+            throw new IllegalArgumentException("Debe indicar productoIds o categoriaId, no ambos");
+        }
+        if (!porIds && dto.getCategoriaId() == null) {
+            throw new IllegalArgumentException("Debe indicar productoIds o categoriaId");
+        }
+        if (dto.getDescuentoPorcentaje() == null && dto.getAjustePrecioPorcentaje() == null) {
+            throw new IllegalArgumentException("Debe indicar descuentoPorcentaje o ajustePrecioPorcentaje");
+        }
+        if (dto.getDescuentoPorcentaje() != null
+                && (dto.getDescuentoPorcentaje().compareTo(BigDecimal.ZERO) < 0
+                || dto.getDescuentoPorcentaje().compareTo(CIEN) > 0)) {
+            throw new IllegalArgumentException("El descuento debe estar entre 0 y 100");
+        }
+        if (dto.getAjustePrecioPorcentaje() != null && dto.getAjustePrecioPorcentaje().compareTo(CIEN.negate()) <= 0) {
+            throw new IllegalArgumentException("El ajuste de precio debe ser mayor a -100%");
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ErrorImportacionDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ProductoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ResultadoImportacionDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.AuditoriaProductoEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.CategoriaEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.OpcionProductoEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.AccionAuditoria;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.FormatoImportacion;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.SeccionCatalogo;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.AuditoriaProductoJdbcRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.CategoriaRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.OpcionProductoRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.ProductoJdbcRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva de productos desde CSV o NDJSON.
+ * El archivo se lee fila por fila; las filas válidas se acumulan en lotes que se insertan
+ * por JDBC en una transacción por lote, junto con sus auditorías.
+ * Categorías y opciones se cargan una sola vez al inicio para validar sin consultas por fila.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductoImportacionService {
+
+    private static final int MAXIMO_ERRORES_REPORTADOS = 1000;
+    private static final String SEPARADOR_VALORES = "\\|";
+
+    private final CategoriaRepository categoriaRepository;
+    private final OpcionProductoRepository opcionProductoRepository;
+    private final ProductoJdbcRepository productoJdbcRepository;
+    private final AuditoriaProductoJdbcRepository auditoriaProductoJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogoCacheService catalogoCacheService;
+    private final CatalogoVersionService catalogoVersionService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Value("${app.catalogo.importacion.tamanio-lote:500}")
+    private int tamanioLote;
+
+    /** Estado de una importación en curso */
+    private static final class ContextoImportacion {
+        private final Set<Long> categoriaIds;
+        private final Map<String, Long> categoriasPorNombre;
+        private final Set<Long> opcionIds;
+        private final Long usuarioId;
+
+        private final List<ProductoDTO> lote = new ArrayList<>();
+        private final List<Integer> filasLote = new ArrayList<>();
+        private final List<ErrorImportacionDTO> errores = new ArrayList<>();
+        private int filasLeidas;
+        private int importados;
+        private int conError;
+
+        private ContextoImportacion(Set<Long> categoriaIds, Map<String, Long> categoriasPorNombre,
+                                    Set<Long> opcionIds, Long usuarioId) {
+            this.categoriaIds = categoriaIds;
+            this.categoriasPorNombre = categoriasPorNombre;
+            this.opcionIds = opcionIds;
+            this.usuarioId = usuarioId;
+        }
+    }
+
+    public ResultadoImportacionDTO importarProductos(MultipartFile archivo, FormatoImportacion formato, Long usuarioId) {
+        if (archivo == null || archivo.isEmpty()) {
+            throw new IllegalArgumentException("El archivo de importación está vacío");
+        }
+
+        long inicio = System.currentTimeMillis();
+        List<CategoriaEntity> categorias = categoriaRepository.findAll();
+        ContextoImportacion contexto = new ContextoImportacion(
+                categorias.stream().map(CategoriaEntity::getId).collect(Collectors.toSet()),
+                categorias.stream().collect(Collectors.toMap(
+                        categoria -> normalizarNombre(categoria.getNombre()), CategoriaEntity::getId, (a, b) -> a)),
+                opcionProductoRepository.findAll().stream().map(OpcionProductoEntity::getId).collect(Collectors.toSet()),
+                usuarioId);
+
+        try (BufferedReader lector = new BufferedReader(
+                new InputStreamReader(archivo.getInputStream(), StandardCharsets.UTF_8))) {
+            if (formato == FormatoImportacion.NDJSON) {
+                importarNdjson(lector, contexto);
+            } else {
+                importarCsv(lector, contexto);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error al leer el archivo de importación", e);
+        }
+
+        if (!contexto.lote.isEmpty()) {
+            guardarLote(contexto);
+        }
+        if (contexto.importados > 0) {
+            catalogoCacheService.invalidarListados();
+            catalogoVersionService.incrementar(SeccionCatalogo.PRODUCTOS);
+        }
+
+        long duracion = System.currentTimeMillis() - inicio;
+        log.info("📦 Importación finalizada: {} filas, {} importadas, {} con error en {} ms",
+                contexto.filasLeidas, contexto.importados, contexto.conError, duracion);
+
+        return ResultadoImportacionDTO.builder()
+                .filasLeidas(contexto.filasLeidas)
+                .importados(contexto.importados)
+                .conError(contexto.conError)
+                .errores(contexto.errores)
+                .duracionMs(duracion)
+                .build();
+    }
+
+    // ---------------------- LECTURA ----------------------
+
+    private void importarNdjson(BufferedReader lector, ContextoImportacion contexto) throws IOException {
+        String linea;
+        int numero = 0;
+        while ((linea = lector.readLine()) != null) {
+            if (linea.isBlank()) {
+                continue;
+            }
+            String json = linea;
+            procesarFila(contexto, ++numero, () -> {
+                try {
+                    return objectMapper.readValue(json, ProductoDTO.class);
+                } catch (JsonProcessingException e) {
+                    throw new IllegalArgumentException("JSON inválido: " + e.getOriginalMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Columnas reconocidas (sin importar mayúsculas): nombre, descripcion, precio, activo,
+     * descuentoPorcentaje, categoriaId o categoria (nombre), opcionesIds e imagenes.
+     * Los valores múltiples se separan con "|".
+     */
+    private void importarCsv(BufferedReader lector, ContextoImportacion contexto) throws IOException {
+        List<String> encabezado = leerRegistroCsv(lector);
+        if (encabezado == null) {
+            return;
+        }
+        List<String> columnas = encabezado.stream()
+                .map(columna -> columna.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT))
+                .toList();
+
+        List<String> registro;
+        int numero = 0;
+        while ((registro = leerRegistroCsv(lector)) != null) {
+            if (registro.size() == 1 && registro.get(0).isBlank()) {
+                continue;
+            }
+            Map<String, String> valores = new LinkedHashMap<>();
+            for (int i = 0; i < columnas.size() && i < registro.size(); i++) {
+                valores.put(columnas.get(i), registro.get(i).trim());
+            }
+            procesarFila(contexto, ++numero, () -> convertirFilaCsv(valores, contexto));
+        }
+    }
+
+    /**
+     * Lee un registro CSV completo. Un campo entre comillas puede contener comas,
+     * comillas escapadas ("") y saltos de línea. Devuelve null al final del archivo.
+     */
+    private List<String> leerRegistroCsv(BufferedReader lector) throws IOException {
+        String linea = lector.readLine();
+        if (linea == null) {
+            return null;
+        }
+
+        List<String> campos = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+
+        while (true) {
+            for (int i = 0; i < linea.length(); i++) {
+                char caracter = linea.charAt(i);
+                if (entreComillas) {
+                    if (caracter == '"' && i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                        actual.append('"');
+                        i++;
+                    } else if (caracter == '"') {
+                        entreComillas = false;
+                    } else {
+                        actual.append(caracter);
+                    }
+                } else if (caracter == '"') {
+                    entreComillas = true;
+                } else if (caracter == ',') {
+                    campos.add(actual.toString());
+                    actual.setLength(0);
+                } else {
+                    actual.append(caracter);
+                }
+            }
+
+            if (!entreComillas) {
+                break;
+            }
+            linea = lector.readLine();
+            if (linea == null) {
+                break; // comillas sin cerrar al final del archivo: se toma lo leído
+            }
+            actual.append('\n');
+        }
+
+        campos.add(actual.toString());
+        return campos;
+    }
+
+    private ProductoDTO convertirFilaCsv(Map<String, String> valores, ContextoImportacion contexto) {
+        ProductoDTO producto = new ProductoDTO();
+        producto.setNombre(valores.get("nombre"));
+        producto.setDescripcion(vacioComoNulo(valores.get("descripcion")));
+        producto.setPrecio(parsearDecimal(valores.get("precio"), "precio"));
+        producto.setDescuentoPorcentaje(parsearDecimal(valores.get("descuentoporcentaje"), "descuentoPorcentaje"));
+        producto.setActivo(parsearBooleano(valores.get("activo")));
+
+        String categoriaId = vacioComoNulo(valores.get("categoriaid"));
+        String categoriaNombre = vacioComoNulo(valores.get("categoria"));
+        if (categoriaId != null) {
+            producto.setCategoriaId(parsearEntero(categoriaId, "categoriaId"));
+        } else if (categoriaNombre != null) {
+            Long id = contexto.categoriasPorNombre.get(normalizarNombre(categoriaNombre));
+            if (id == null) {
+                throw new IllegalArgumentException("Categoría no encontrada: " + categoriaNombre);
+            }
+            producto.setCategoriaId(id);
+        }
+
+        String opciones = vacioComoNulo(valores.get("opcionesids"));
+        if (opciones != null) {
+            producto.setOpcionesIds(Arrays.stream(opciones.split(SEPARADOR_VALORES))
+                    .map(String::trim)
+                    .filter(valor -> !valor.isEmpty())
+                    .map(valor -> parsearEntero(valor, "opcionesIds"))
+                    .toList());
+        }
+
+        String imagenes = vacioComoNulo(valores.get("imagenes"));
+        if (imagenes != null) {
+            producto.setImagenes(Arrays.stream(imagenes.split(SEPARADOR_VALORES))
+                    .map(String::trim)
+                    .filter(valor -> !valor.isEmpty())
+                    .toList());
+        }
+        return producto;
+    }
+
+    // ---------------------- VALIDACIÓN Y LOTES ----------------------
+
+    private void procesarFila(ContextoImportacion contexto, int numero, Supplier<ProductoDTO> conversion) {
+        contexto.filasLeidas++;
+        try {
+            ProductoDTO producto = conversion.get();
+            validarFila(producto, contexto);
+            contexto.lote.add(producto);
+            contexto.filasLote.add(numero);
+        } catch (IllegalArgumentException e) {
+            registrarError(contexto, numero, e.getMessage());
+        }
+
+        if (contexto.lote.size() >= tamanioLote) {
+            guardarLote(contexto);
+        }
+    }
+
+    private void validarFila(ProductoDTO producto, ContextoImportacion contexto) {
+        producto.setId(null); // el id siempre se reserva al guardar el lote
+        if (producto.getNombre() == null || producto.getNombre().isBlank()) {
+            throw new IllegalArgumentException("El nombre es obligatorio");
+        }
+        if (producto.getPrecio() == null || producto.getPrecio().compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("El precio es obligatorio y no puede ser negativo");
+        }
+        if (producto.getDescuentoPorcentaje() == null) {
+            producto.setDescuentoPorcentaje(BigDecimal.ZERO);
+        } else if (producto.getDescuentoPorcentaje().compareTo(BigDecimal.ZERO) < 0
+                || producto.getDescuentoPorcentaje().compareTo(new BigDecimal(100)) > 0) {
+            throw new IllegalArgumentException("El descuento debe estar entre 0 y 100");
+        }
+        if (producto.getActivo() == null) {
+            producto.setActivo(true);
+        }
+        if (producto.getCategoriaId() == null || !contexto.categoriaIds.contains(producto.getCategoriaId())) {
+            throw new IllegalArgumentException("Categoría no encontrada: " + producto.getCategoriaId());
+        }
+        if (producto.getOpcionesIds() != null) {
+            for (Long opcionId : producto.getOpcionesIds()) {
+                if (!contexto.opcionIds.contains(opcionId)) {
+                    throw new IllegalArgumentException("Opción no encontrada: " + opcionId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserta el lote acumulado en una transacción. Si la base rechaza el lote,
+     * todas sus filas se informan con error y la importación sigue con el próximo.
+     */
+    private void guardarLote(ContextoImportacion contexto) {
+        // Copia: el lote se vacía al terminar y el repositorio puede conservar la lista recibida
+        List<ProductoDTO> productos = List.copyOf(contexto.lote);
+        try {
+            transactionTemplate.executeWithoutResult(estado -> {
+                List<Long> ids = productoJdbcRepository.reservarIds(productos.size());
+                for (int i = 0; i < productos.size(); i++) {
+                    productos.get(i).setId(ids.get(i));
+                }
+                productoJdbcRepository.insertarProductos(productos);
+                auditoriaProductoJdbcRepository.insertarLote(productos.stream()
+                        .map(producto -> crearAuditoria(producto, contexto.usuarioId))
+                        .toList());
+            });
+            contexto.importados += productos.size();
+        } catch (DataAccessException e) {
+            log.error("❌ Error al guardar lote de importación: {}", e.getMostSpecificCause().getMessage());
+            for (Integer fila : contexto.filasLote) {
+                registrarError(contexto, fila, "Error al guardar el lote: " + e.getMostSpecificCause().getMessage());
+            }
+        } finally {
+            contexto.lote.clear();
+            contexto.filasLote.clear();
+        }
+    }
+
+    private void registrarError(ContextoImportacion contexto, int fila, String mensaje) {
+        contexto.conError++;
+        if (contexto.errores.size() < MAXIMO_ERRORES_REPORTADOS) {
+            contexto.errores.add(new ErrorImportacionDTO(fila, mensaje));
+        }
+    }
+
+    /** Auditoría de creación con el mismo formato plano que usa ProductoService */
+    private AuditoriaProductoEntity crearAuditoria(ProductoDTO producto, Long usuarioId) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", producto.getId());
+        data.put("nombre", producto.getNombre());
+        data.put("descripcion", producto.getDescripcion());
+        data.put("precio", producto.getPrecio());
+        data.put("imagenes", producto.getImagenes() != null ? producto.getImagenes() : new ArrayList<>());
+        data.put("activo", producto.getActivo());
+        data.put("descuentoPorcentaje", producto.getDescuentoPorcentaje());
+        data.put("categoriaId", producto.getCategoriaId());
+        if (producto.getOpcionesIds() != null) {
+            data.put("opcionesIds", producto.getOpcionesIds());
+        }
+
+        AuditoriaProductoEntity auditoria = new AuditoriaProductoEntity();
+        auditoria.setProductoId(producto.getId());
+        auditoria.setUsuarioId(usuarioId);
+        auditoria.setAccion(AccionAuditoria.CREAR);
+        auditoria.setFechaAccion(LocalDateTime.now());
+        try {
+            auditoria.setValoresNuevos(objectMapper.writeValueAsString(data));
+        } catch (JsonProcessingException e) {
+            auditoria.setValoresNuevos("{}");
+        }
+        return auditoria;
+    }
+
+    // ---------------------- CONVERSIONES ----------------------
+
+    private String vacioComoNulo(String valor) {
+        return valor == null || valor.isBlank() ? null : valor;
+    }
+
+    private String normalizarNombre(String nombre) {
+        return nombre == null ? "" : nombre.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private BigDecimal parsearDecimal(String valor, String campo) {
+        if (vacioComoNulo(valor) == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(valor.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor numérico inválido en " + campo + ": " + valor);
+        }
+    }
+
+    private Long parsearEntero(String valor, String campo) {
+        try {
+            return Long.valueOf(valor.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor entero inválido en " + campo + ": " + valor);
+        }
+    }
+
+    private Boolean parsearBooleano(String valor) {
+        if (vacioComoNulo(valor) == null) {
+            return null;
+        }
+        return switch (valor.trim().toLowerCase(Locale.ROOT)) {
+            case "true", "1", "si", "sí" -> true;
+            case "false", "0", "no" -> false;
+            default -> throw new IllegalArgumentException("Valor inválido en activo: " + valor);
+        };
+    }
+}
@@ -0,0 +1,371 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.configs.CacheConfig;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.CategoriaDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.FacetaDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.FiltroProductoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.OpcionProductoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.PaginaCursorDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.PaginaDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ProductoLecturaDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ResultadoFiltroProductosDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.OrdenProducto;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.ProductoRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections.ProductoDetalleProjection;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections.ProductoResumenProjection;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Consultas del catálogo para los endpoints GET de productos.
+ * Cada listado ejecuta una cantidad fija de consultas: las filas base (con la categoría unida)
+ * y luego imágenes y opciones en lote para todos los ids de la página.
+ * Los resultados se cachean; toda escritura invalida vía CatalogoCacheService.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductoLecturaService {
+
+    private static final int TAMANIO_PAGINA_DEFECTO = 20;
+    private static final int TAMANIO_PAGINA_MAXIMO = 100;
+    private static final int MAXIMO_TERMINOS_BUSQUEDA = 8;
+
+    /** Máximo de ids por consulta en lote, para no exceder el límite de parámetros del driver */
+    private static final int TAMANIO_LOTE_IDS = 1000;
+
+    private final ProductoRepository productoRepository;
+    private final ImagenVarianteService imagenVarianteService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /** Límites de los rangos de precio de las facetas; el último rango queda abierto */
+    @Value("${app.catalogo.facetas.rangos-precio:0,5000,10000,25000,50000}")
+    private List<BigDecimal> limitesRangoPrecio;
+
+    /** Detalle para la página de producto: categoría, imágenes y opciones salen de una única consulta */
+    @Cacheable(value = CacheConfig.CACHE_PRODUCTOS, key = "#id")
+    public ProductoLecturaDTO obtenerProducto(Long id) {
+        ProductoDetalleProjection detalle = productoRepository.findDetallePorId(id)
+                .orElseThrow(() -> new RuntimeException("Producto no encontrado"));
+        List<String> imagenes = leerJson(detalle.getImagenes(), new TypeReference<List<String>>() {});
+
+        return ProductoLecturaDTO.builder()
+                .id(detalle.getId())
+                .nombre(detalle.getNombre())
+                .descripcion(detalle.getDescripcion())
+                .precio(detalle.getPrecio())
+                .precioFinal(detalle.getPrecioFinal())
+                .imagenes(imagenes)
+                .variantes(variantesDisponibles(imagenes))
+                .activo(detalle.getActivo())
+                .descuentoPorcentaje(detalle.getDescuentoPorcentaje())
+                .categoria(detalle.getCategoriaId() != null
+                        ? new CategoriaDTO(detalle.getCategoriaId(), detalle.getCategoriaNombre())
+                        : null)
+                .opciones(leerJson(detalle.getOpciones(), new TypeReference<List<OpcionProductoDTO>>() {}))
+                .build();
+    }
+
+    @Cacheable(value = CacheConfig.CACHE_PRODUCTOS_LISTADO, key = "'todos'")
+    public List<ProductoLecturaDTO> listarProductos() {
+        return ensamblar(productoRepository.findAllResumen());
+    }
+
+    /**
+     * Lista productos paginados por cursor (keyset).
+     * Se pide un elemento extra para saber si hay página siguiente sin ejecutar un COUNT.
+     */
+    @Cacheable(value = CacheConfig.CACHE_PRODUCTOS_LISTADO,
+            key = "'pagina:' + #orden + ':' + #tamanio + ':' + #cursor")
+    public PaginaCursorDTO<ProductoLecturaDTO> listarProductosPaginados(String cursor, Integer tamanio, OrdenProducto orden) {
+        OrdenProducto ordenAplicado = orden != null ? orden : OrdenProducto.ID;
+        int tamanioPagina = normalizarTamanioPagina(tamanio);
+        int limite = tamanioPagina + 1;
+
+        List<ProductoResumenProjection> resultados = (cursor == null || cursor.isBlank())
+                ? buscarPrimeraPagina(ordenAplicado, limite)
+                : buscarPaginaDespuesDe(decodificarCursor(cursor, ordenAplicado), limite);
+
+        boolean hayMas = resultados.size() > tamanioPagina;
+        List<ProductoResumenProjection> filas = hayMas ? resultados.subList(0, tamanioPagina) : resultados;
+        String siguienteCursor = hayMas ? codificarCursor(ordenAplicado, filas.get(filas.size() - 1)) : null;
+
+        return PaginaCursorDTO.<ProductoLecturaDTO>builder()
+                .items(ensamblar(filas))
+                .tamanio(tamanioPagina)
+                .siguienteCursor(siguienteCursor)
+                .hayMas(hayMas)
+                .build();
+    }
+
+    /**
+     * Búsqueda de texto completo sobre nombre y descripción, ordenada por relevancia.
+     * Cada término se busca como prefijo para permitir búsqueda mientras se escribe.
+     */
+    public PaginaDTO<ProductoLecturaDTO> buscarProductos(String texto, Integer pagina, Integer tamanio) {
+        int numeroPagina = (pagina == null || pagina < 0) ? 0 : pagina;
+        int tamanioPagina = normalizarTamanioPagina(tamanio);
+        String consulta = construirConsultaTextual(texto);
+
+        if (consulta.isEmpty()) {
+            return PaginaDTO.<ProductoLecturaDTO>builder()
+                    .items(new ArrayList<>())
+                    .pagina(numeroPagina)
+                    .tamanio(tamanioPagina)
+                    .hayMas(false)
+                    .build();
+        }
+
+        List<ProductoResumenProjection> resultados = productoRepository.buscarPorTexto(
+                consulta, tamanioPagina + 1, numeroPagina * tamanioPagina);
+
+        boolean hayMas = resultados.size() > tamanioPagina;
+        List<ProductoResumenProjection> filas = hayMas ? resultados.subList(0, tamanioPagina) : resultados;
+
+        return PaginaDTO.<ProductoLecturaDTO>builder()
+                .items(ensamblar(filas))
+                .pagina(numeroPagina)
+                .tamanio(tamanioPagina)
+                .hayMas(hayMas)
+                .build();
+    }
+
+    /**
+     * Filtra por categoría, rango de precio con descuento, descuento y estado, y devuelve
+     * en la misma respuesta los conteos por categoría y por rango de precio.
+     */
+    @Cacheable(value = CacheConfig.CACHE_PRODUCTOS_LISTADO,
+            key = "'filtro:' + #filtro + ':' + #pagina + ':' + #tamanio")
+    public ResultadoFiltroProductosDTO filtrarProductos(FiltroProductoDTO filtro, Integer pagina, Integer tamanio) {
+        if (filtro.getPrecioDesde() != null && filtro.getPrecioHasta() != null
+                && filtro.getPrecioDesde().compareTo(filtro.getPrecioHasta()) > 0) {
+            throw new IllegalArgumentException("El precio desde no puede ser mayor al precio hasta");
+        }
+
+        int numeroPagina = (pagina == null || pagina < 0) ? 0 : pagina;
+        int tamanioPagina = normalizarTamanioPagina(tamanio);
+
+        List<Long> ids = productoRepository.filtrarIds(filtro, tamanioPagina + 1, numeroPagina * tamanioPagina);
+        boolean hayMas = ids.size() > tamanioPagina;
+        List<Long> idsPagina = hayMas ? ids.subList(0, tamanioPagina) : ids;
+
+        PaginaDTO<ProductoLecturaDTO> productos = PaginaDTO.<ProductoLecturaDTO>builder()
+                .items(ensamblar(buscarResumenesEnOrden(idsPagina)))
+                .pagina(numeroPagina)
+                .tamanio(tamanioPagina)
+                .hayMas(hayMas)
+                .build();
+
+        return ResultadoFiltroProductosDTO.builder()
+                .productos(productos)
+                .categorias(productoRepository.contarPorCategoria(filtro))
+                .rangosPrecio(construirFacetasPrecio(filtro))
+                .build();
+    }
+
+    // ---------------------- ENSAMBLADO ----------------------
+
+    /** Trae las filas base de los ids indicados respetando el orden de la lista */
+    private List<ProductoResumenProjection> buscarResumenesEnOrden(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, ProductoResumenProjection> porId = productoRepository.findResumenPorIds(ids).stream()
+                .collect(Collectors.toMap(ProductoResumenProjection::getId, Function.identity()));
+        return ids.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<FacetaDTO> construirFacetasPrecio(FiltroProductoDTO filtro) {
+        List<BigDecimal> limites = limitesRangoPrecio.stream().sorted().toList();
+        List<Long> conteos = productoRepository.contarPorRangoPrecio(filtro, limites);
+
+        List<FacetaDTO> facetas = new ArrayList<>();
+        for (int i = 0; i < limites.size(); i++) {
+            BigDecimal desde = limites.get(i);
+            BigDecimal hasta = i + 1 < limites.size() ? limites.get(i + 1) : null;
+            facetas.add(FacetaDTO.builder()
+                    .valor((long) i)
+                    .etiqueta(hasta != null
+                            ? "$" + desde.toPlainString() + " - $" + hasta.toPlainString()
+                            : "Desde $" + desde.toPlainString())
+                    .desde(desde)
+                    .hasta(hasta)
+                    .cantidad(conteos.get(i))
+                    .build());
+        }
+        return facetas;
+    }
+
+    /**
+     * Completa las filas base con sus imágenes y opciones usando una consulta por lote de ids,
+     * en lugar de una por producto. Conserva el orden de las filas recibidas.
+     */
+    private List<ProductoLecturaDTO> ensamblar(List<ProductoResumenProjection> filas) {
+        if (filas.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> ids = filas.stream().map(ProductoResumenProjection::getId).toList();
+        Map<Long, List<String>> imagenesPorProducto = new HashMap<>();
+        Map<Long, List<OpcionProductoDTO>> opcionesPorProducto = new HashMap<>();
+
+        for (int desde = 0; desde < ids.size(); desde += TAMANIO_LOTE_IDS) {
+            List<Long> lote = ids.subList(desde, Math.min(desde + TAMANIO_LOTE_IDS, ids.size()));
+
+            productoRepository.findImagenesPorProductoIds(lote).forEach(imagen ->
+                    imagenesPorProducto.computeIfAbsent(imagen.getProductoId(), k -> new ArrayList<>())
+                            .add(imagen.getImagenUrl()));
+
+            productoRepository.findOpcionesPorProductoIds(lote).forEach(opcion ->
+                    opcionesPorProducto.computeIfAbsent(opcion.getProductoId(), k -> new ArrayList<>())
+                            .add(new OpcionProductoDTO(opcion.getOpcionId(), opcion.getTipo())));
+        }
+
+        return filas.stream()
+                .map(fila -> ProductoLecturaDTO.builder()
+                        .id(fila.getId())
+                        .nombre(fila.getNombre())
+                        .descripcion(fila.getDescripcion())
+                        .precio(fila.getPrecio())
+                        .precioFinal(fila.getPrecioFinal())
+                        .imagenes(imagenesPorProducto.getOrDefault(fila.getId(), new ArrayList<>()))
+                        .variantes(variantesDisponibles(imagenesPorProducto.get(fila.getId())))
+                        .activo(fila.getActivo())
+                        .descuentoPorcentaje(fila.getDescuentoPorcentaje())
+                        .categoria(fila.getCategoriaId() != null
+                                ? new CategoriaDTO(fila.getCategoriaId(), fila.getCategoriaNombre())
+                                : null)
+                        .opciones(opcionesPorProducto.getOrDefault(fila.getId(), new ArrayList<>()))
+                        .build())
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Convierte el texto del usuario en una consulta tsquery: minúsculas, sin acentos
+     * (igual que la columna "busqueda") y cada término como prefijo unido con AND.
+     */
+    private String construirConsultaTextual(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return "";
+        }
+
+        String normalizado = Normalizer.normalize(texto, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+
+        return Arrays.stream(normalizado.split("[^a-z0-9]+"))
+                .filter(termino -> !termino.isEmpty())
+                .limit(MAXIMO_TERMINOS_BUSQUEDA)
+                .map(termino -> termino + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    private Map<String, List<Integer>> variantesDisponibles(List<String> imagenes) {
+        Map<String, List<Integer>> variantes = new LinkedHashMap<>();
+        if (imagenes != null) {
+            imagenes.forEach(url -> variantes.put(url, imagenVarianteService.anchosDisponibles(url)));
+        }
+        return variantes;
+    }
+
+    private <T> List<T> leerJson(String json, TypeReference<List<T>> tipo) {
+        if (json == null || json.isBlank()) {
+            return new ArrayList<>();
+        }
+        try {
+            return new ArrayList<>(objectMapper.readValue(json, tipo));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo leer el detalle del producto", e);
+        }
+    }
+
+    // ---------------------- PAGINACIÓN POR CURSOR ----------------------
+
+    /** Posición del último elemento entregado, según el orden pedido */
+    private record CursorProducto(OrdenProducto orden, Long ultimoId, String valor) {
+    }
+
+    private int normalizarTamanioPagina(Integer tamanio) {
+        if (tamanio == null || tamanio <= 0) {
+            return TAMANIO_PAGINA_DEFECTO;
+        }
+        return Math.min(tamanio, TAMANIO_PAGINA_MAXIMO);
+    }
+
+    private List<ProductoResumenProjection> buscarPrimeraPagina(OrdenProducto orden, int limite) {
+        return switch (orden) {
+            case PRECIO -> productoRepository.findPrimeraPaginaPorPrecio(limite);
+            case NOMBRE -> productoRepository.findPrimeraPaginaPorNombre(limite);
+            default -> productoRepository.findPrimeraPaginaPorId(limite);
+        };
+    }
+
+    private List<ProductoResumenProjection> buscarPaginaDespuesDe(CursorProducto cursor, int limite) {
+        return switch (cursor.orden()) {
+            case PRECIO -> productoRepository.findPaginaPorPrecioDespuesDe(
+                    new BigDecimal(cursor.valor()), cursor.ultimoId(), limite);
+            case NOMBRE -> productoRepository.findPaginaPorNombreDespuesDe(
+                    cursor.valor(), cursor.ultimoId(), limite);
+            default -> productoRepository.findPaginaPorIdDespuesDe(cursor.ultimoId(), limite);
+        };
+    }
+
+    /** Codifica "ORDEN|id|valor" en Base64 URL-safe para que el cliente lo trate como opaco */
+    private String codificarCursor(OrdenProducto orden, ProductoResumenProjection ultimo) {
+        String plano = switch (orden) {
+            case PRECIO -> orden.name() + "|" + ultimo.getId() + "|" + ultimo.getPrecioFinal().toPlainString();
+            case NOMBRE -> orden.name() + "|" + ultimo.getId() + "|" + ultimo.getNombre();
+            default -> orden.name() + "|" + ultimo.getId();
+        };
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plano.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private CursorProducto decodificarCursor(String cursor, OrdenProducto ordenEsperado) {
+        CursorProducto decodificado;
+        try {
+            String plano = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = plano.split("\\|", 3);
+            OrdenProducto orden = OrdenProducto.valueOf(partes[0]);
+            Long ultimoId = Long.valueOf(partes[1]);
+            String valor = partes.length > 2 ? partes[2] : null;
+
+            if (orden != OrdenProducto.ID && valor == null) {
+                throw new IllegalArgumentException("Cursor sin valor de orden");
+            }
+            if (orden == OrdenProducto.PRECIO) {
+                new BigDecimal(valor); // valida el formato antes de llegar a la consulta
+            }
+            decodificado = new CursorProducto(orden, ultimoId, valor);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+
+        if (decodificado.orden() != ordenEsperado) {
+            throw new IllegalArgumentException("El cursor no corresponde al orden solicitado");
+        }
+        return decodificado;
+    }
+}
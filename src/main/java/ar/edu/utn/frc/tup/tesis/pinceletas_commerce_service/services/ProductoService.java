@@ -1,11 +1,12 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
 
-import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.configs.UserAuthClient;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.DescuentoFavoritoDTO;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ProductoDTO;
-import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.UserResponseDTO;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.*;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.AccionAuditoria;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.SeccionCatalogo;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.*;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections.FavoritoUsuarioProjection;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,15 +14,12 @@ import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
 import java.math.BigDecimal;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -37,8 +35,12 @@ public class ProductoService {
 
     // 🔔 NUEVO: Inyectar dependencias para notificaciones por email
     private final FavoritoRepository favoritoRepository;
-    private final EmailService emailService;
-    private final UserAuthClient userAuthClient;
+    private final NotificacionDescuentoService notificacionDescuentoService;
+
+    private final CatalogoCacheService catalogoCacheService;
+    private final CatalogoVersionService catalogoVersionService;
+    private final ImagenStorageService imagenStorageService;
+    private final ImagenVarianteService imagenVarianteService;
 
     // ---------------------- CREAR PRODUCTO ----------------------
 
@@ -61,23 +63,9 @@ public class ProductoService {
 
         // ✅ CORREGIDO: Guardar como lista de imágenes
         if (imagenFile != null && !imagenFile.isEmpty()) {
-            try {
-                String uploadsDir = "uploads/";
-                String originalFilename = imagenFile.getOriginalFilename();
-                String timestamp = System.currentTimeMillis() + "_";
-                String nombreArchivo = timestamp + originalFilename;
-                Path filePath = Paths.get(uploadsDir + nombreArchivo);
-
-                Files.createDirectories(filePath.getParent());
-                Files.copy(imagenFile.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-                // ✅ CORREGIDO: Crear lista con una sola imagen
-                List<String> imagenes = new ArrayList<>();
-                imagenes.add("/uploads/" + nombreArchivo);
-                producto.setImagenes(imagenes);
-            } catch (IOException e) {
-                throw new RuntimeException("Error al guardar imagen", e);
-            }
+            List<String> imagenes = new ArrayList<>();
+            imagenes.add(imagenStorageService.guardar(imagenFile));
+            producto.setImagenes(imagenes);
         }
 
         if (dto.getOpcionesIds() != null && !dto.getOpcionesIds().isEmpty()) {
@@ -87,6 +75,9 @@ public class ProductoService {
 
         ProductoEntity saved = productoRepository.save(producto);
         registrarAuditoria(null, saved, AccionAuditoria.CREAR, usuarioId);
+        catalogoCacheService.invalidarListados();
+        catalogoVersionService.incrementar(SeccionCatalogo.PRODUCTOS);
+        generarVariantes(saved.getId(), saved.getImagenes());
         return saved;
     }
 
@@ -132,6 +123,8 @@ public class ProductoService {
 
         ProductoEntity saved = productoRepository.save(original);
         registrarAuditoria(anterior, saved, AccionAuditoria.MODIFICAR, usuarioId);
+        catalogoCacheService.invalidarProducto(saved.getId());
+        catalogoVersionService.incrementar(SeccionCatalogo.PRODUCTOS);
 
         if (entraEnDescuento) {
             notificarDescuentoAFavoritos(saved);
@@ -164,23 +157,10 @@ public class ProductoService {
 
         // ✅ CORREGIDO: Actualizar imagen como lista
         if (imagenFile != null && !imagenFile.isEmpty()) {
-            try {
-                String uploadsDir = "uploads/";
-                String originalFilename = imagenFile.getOriginalFilename();
-                String timestamp = System.currentTimeMillis() + "_";
-                String nombreArchivo = timestamp + originalFilename;
-                Path filePath = Paths.get(uploadsDir + nombreArchivo);
-
-                Files.createDirectories(filePath.getParent());
-                Files.copy(imagenFile.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-                // ✅ CORREGIDO: Reemplazar todas las imágenes por la nueva
-                List<String> nuevaImagen = new ArrayList<>();
-                nuevaImagen.add("/uploads/" + nombreArchivo);
-                original.setImagenes(nuevaImagen);
-            } catch (IOException e) {
-                throw new RuntimeException("Error al guardar imagen", e);
-            }
+            // ✅ CORREGIDO: Reemplazar todas las imágenes por la nueva
+            List<String> nuevaImagen = new ArrayList<>();
+            nuevaImagen.add(imagenStorageService.guardar(imagenFile));
+            original.setImagenes(nuevaImagen);
         }
 
         if (dto.getCategoriaId() != null) {
@@ -198,6 +178,11 @@ public class ProductoService {
 
         ProductoEntity saved = productoRepository.save(original);
         registrarAuditoria(anterior, saved, AccionAuditoria.MODIFICAR, usuarioId);
+        catalogoCacheService.invalidarProducto(saved.getId());
+        catalogoVersionService.incrementar(SeccionCatalogo.PRODUCTOS);
+        if (imagenFile != null && !imagenFile.isEmpty()) {
+            generarVariantes(saved.getId(), saved.getImagenes());
+        }
 
         if (entraEnDescuento) {
             notificarDescuentoAFavoritos(saved);
@@ -227,7 +212,7 @@ public class ProductoService {
 
         // ✅ Procesar múltiples imágenes
         if (imagenesFiles != null && !imagenesFiles.isEmpty()) {
-            List<String> rutasImagenes = guardarImagenes(imagenesFiles);
+            List<String> rutasImagenes = imagenStorageService.guardarTodas(imagenesFiles);
             producto.setImagenes(rutasImagenes);
         }
 
@@ -239,6 +224,9 @@ public class ProductoService {
 
         ProductoEntity saved = productoRepository.save(producto);
         registrarAuditoria(null, saved, AccionAuditoria.CREAR, usuarioId);
+        catalogoCacheService.invalidarListados();
+        catalogoVersionService.incrementar(SeccionCatalogo.PRODUCTOS);
+        generarVariantes(saved.getId(), saved.getImagenes());
         return saved;
     }
 
@@ -277,7 +265,7 @@ public class ProductoService {
 
         // ✅ Actualizar imágenes
         if (imagenesFiles != null && !imagenesFiles.isEmpty()) {
-            List<String> nuevasImagenes = guardarImagenes(imagenesFiles);
+            List<String> nuevasImagenes = imagenStorageService.guardarTodas(imagenesFiles);
 
             if (mantenerImagenes && original.getImagenes() != null) {
                 // Agregar las nuevas imágenes a las existentes
@@ -298,6 +286,11 @@ public class ProductoService {
 
         ProductoEntity saved = productoRepository.save(original);
         registrarAuditoria(anterior, saved, AccionAuditoria.MODIFICAR, usuarioId);
+        catalogoCacheService.invalidarProducto(saved.getId());
+        catalogoVersionService.incrementar(SeccionCatalogo.PRODUCTOS);
+        if (imagenesFiles != null && !imagenesFiles.isEmpty()) {
+            generarVariantes(saved.getId(), saved.getImagenes());
+        }
 
         if (entraEnDescuento) {
             notificarDescuentoAFavoritos(saved);
@@ -307,36 +300,17 @@ public class ProductoService {
     }
 
     /**
-     * Guarda múltiples imágenes y retorna sus rutas
+     * Encola las variantes reducidas de las imágenes; al terminar, el producto se invalida
+     * para que las lecturas informen las variantes nuevas
      */
-    private List<String> guardarImagenes(List<MultipartFile> imagenes) {
-        List<String> rutasImagenes = new ArrayList<>();
-        String uploadsDir = "uploads/";
-
-        try {
-            // Limitar a 5 imágenes máximo
-            int maxImagenes = Math.min(imagenes.size(), 5);
-
-            for (int i = 0; i < maxImagenes; i++) {
-                MultipartFile imagen = imagenes.get(i);
-                if (imagen != null && !imagen.isEmpty()) {
-                    String nombreOriginal = imagen.getOriginalFilename();
-                    String timestamp = System.currentTimeMillis() + "_";
-                    String nombreArchivo = timestamp + nombreOriginal;
-
-                    Path filePath = Paths.get(uploadsDir + nombreArchivo);
-                    Files.createDirectories(filePath.getParent());
-                    Files.copy(imagen.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-                    rutasImagenes.add("/uploads/" + nombreArchivo);
-                }
-            }
-        } catch (IOException e) {
-            log.error("Error al guardar imágenes: {}", e.getMessage());
-            throw new RuntimeException("Error al guardar imágenes", e);
-        }
-
-        return rutasImagenes;
+    private void generarVariantes(Long productoId, List<String> imagenes) {
+        if (imagenes == null || imagenes.isEmpty()) {
+            return;
+        }
+        imagenVarianteService.generarVariantes(imagenes, () -> {
+            catalogoCacheService.invalidarProducto(productoId);
+            catalogoVersionService.incrementar(SeccionCatalogo.PRODUCTOS);
+        });
     }
 
     /**
@@ -362,6 +336,8 @@ public class ProductoService {
 
         ProductoEntity saved = productoRepository.save(producto);
         registrarAuditoria(anterior, saved, AccionAuditoria.MODIFICAR, usuarioId);
+        catalogoCacheService.invalidarProducto(productoId);
+        catalogoVersionService.incrementar(SeccionCatalogo.PRODUCTOS);
     }
 
     // ---------------------- ELIMINAR PRODUCTO ----------------------
@@ -372,19 +348,18 @@ public class ProductoService {
 
         registrarAuditoria(producto, null, AccionAuditoria.ELIMINAR, usuarioId);
         productoRepository.delete(producto);
+        catalogoCacheService.invalidarProducto(id);
+        catalogoVersionService.incrementar(SeccionCatalogo.PRODUCTOS);
     }
 
     // ---------------------- CONSULTAS ----------------------
+    // Los GET del catálogo usan el modelo de lectura de ProductoLecturaService.
 
     public ProductoEntity getProductoById(Long id) {
         return productoRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Producto no encontrado"));
     }
 
-    public List<ProductoEntity> listarProductos() {
-        return productoRepository.findAll();
-    }
-
     public List<AuditoriaProductoEntity> consultarAuditoriasProductos() {
         return auditoriaProductoRepository.findAll();
     }
@@ -501,83 +476,36 @@ public class ProductoService {
     }
 
     /**
-     * Notifica por email a todos los usuarios que tienen este producto en favoritos
+     * Encola el aviso por email a los usuarios que tienen este producto en favoritos.
+     * El envío corre en segundo plano (NotificacionDescuentoService), así la modificación responde enseguida.
      */
     private void notificarDescuentoAFavoritos(ProductoEntity producto) {
         try {
-            List<FavoritoEntity> favoritos = favoritoRepository.findByProductoId(producto.getId());
+            List<Long> usuarioIds = favoritoRepository.findUsuariosPorProductoIds(List.of(producto.getId())).stream()
+                    .map(FavoritoUsuarioProjection::getUsuarioId)
+                    .distinct()
+                    .toList();
 
-            if (favoritos.isEmpty()) {
+            if (usuarioIds.isEmpty()) {
                 log.info("📭 No hay usuarios con este producto en favoritos: {}", producto.getNombre());
                 return;
             }
 
-            log.info("📧 Enviando {} emails de descuento para producto: {}", favoritos.size(), producto.getNombre());
-
-            BigDecimal precioConDescuento = calcularPrecioConDescuento(
-                    producto.getPrecio(),
-                    producto.getDescuentoPorcentaje()
-            );
-
-            for (FavoritoEntity favorito : favoritos) {
-                try {
-                    UserResponseDTO usuario = userAuthClient.obtenerUsuarioPorId(favorito.getUsuarioId());
-
-                    if (usuario != null && usuario.getEmail() != null) {
-                        // ✅ CORREGIDO: Usar imagen principal en lugar de imagen única
-                        String imagenPrincipal = producto.getImagenPrincipal();
-
-                        emailService.enviarEmailDescuentoFavorito(
-                                usuario.getEmail(),
-                                usuario.getNombre() + " " + usuario.getApellido(),
-                                producto.getNombre(),
-                                producto.getPrecio(),
-                                producto.getDescuentoPorcentaje(),
-                                precioConDescuento,
-                                imagenPrincipal, // ✅ Usar imagen principal
-                                producto.getId()
-                        );
-
-                        log.info("✅ Email enviado a: {} para producto: {}", usuario.getEmail(), producto.getNombre());
-                    }
-                } catch (Exception e) {
-                    log.error("❌ Error enviando email a usuario {}: {}", favorito.getUsuarioId(), e.getMessage());
-                }
-            }
+            DescuentoFavoritoDTO descuento = DescuentoFavoritoDTO.builder()
+                    .productoId(producto.getId())
+                    .nombre(producto.getNombre())
+                    .precioOriginal(producto.getPrecio())
+                    .descuentoPorcentaje(producto.getDescuentoPorcentaje())
+                    .precioConDescuento(CalculadoraPrecios.precioFinal(producto.getPrecio(), producto.getDescuentoPorcentaje()))
+                    .imagen(producto.getImagenPrincipal())
+                    .build();
 
-            log.info("✅ Proceso de notificación de descuentos completado para: {}", producto.getNombre());
+            Map<Long, List<DescuentoFavoritoDTO>> descuentosPorUsuario = new LinkedHashMap<>();
+            usuarioIds.forEach(usuarioId -> descuentosPorUsuario.put(usuarioId, List.of(descuento)));
+            notificacionDescuentoService.notificarDescuentos(descuentosPorUsuario);
 
         } catch (Exception e) {
             log.error("❌ Error general en notificación de descuentos: {}", e.getMessage(), e);
         }
     }
-
-    /**
-     * Calcula el precio con descuento aplicado
-     */
-    private BigDecimal calcularPrecioConDescuento(BigDecimal precio, BigDecimal descuentoPorcentaje) {
-        if (descuentoPorcentaje == null || descuentoPorcentaje.compareTo(BigDecimal.ZERO) == 0) {
-            return precio;
-        }
-
-        BigDecimal descuento = precio.multiply(descuentoPorcentaje.divide(BigDecimal.valueOf(100)));
-        return precio.subtract(descuento);
-    }
-
-    /**
-     * Obtiene el email de un usuario por su ID
-     * (consulta al microservicio user-auth)
-     */
-    private String obtenerEmailPorUsuarioId(Long usuarioId) {
-        try {
-            UserResponseDTO usuario = userAuthClient.obtenerUsuarioPorId(usuarioId);
-            return usuario.getEmail();
-        } catch (Exception e) {
-            log.error("❌ Error obteniendo email para usuarioId {}: {}", usuarioId, e.getMessage());
-            throw new RuntimeException("Error al obtener email del usuario: " + e.getMessage());
-        }
-    }
-
-
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,78 @@
+-- Objetos específicos de PostgreSQL que Hibernate (ddl-auto=update) no puede declarar.
+-- Se ejecuta después de que Hibernate actualiza el esquema (spring.jpa.defer-datasource-initialization=true),
+-- por eso cada sentencia debe ser idempotente.
+
+-- Búsqueda de texto completo sobre productos: vector en español con pliegue de acentos,
+-- el nombre pesa más (A) que la descripción (B). La columna la mantiene la base en cada escritura.
+ALTER TABLE productos ADD COLUMN IF NOT EXISTS busqueda tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('spanish', translate(lower(coalesce(nombre, '')),
+        'áàâäéèêëíìîïóòôöúùûüñç', 'aaaaeeeeiiiioooouuuunc')), 'A') ||
+    setweight(to_tsvector('spanish', translate(lower(coalesce(descripcion, '')),
+        'áàâäéèêëíìîïóòôöúùûüñç', 'aaaaeeeeiiiioooouuuunc')), 'B')
+) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_productos_busqueda ON productos USING GIN (busqueda);
+
+-- Precio final (con descuento): lo mantiene ProductoEntity al escribir; acá solo se completan filas previas.
+UPDATE productos SET precio_final = ROUND(precio * (100 - COALESCE(descuento_porcentaje, 0)) / 100, 2)
+WHERE precio_final IS NULL AND precio IS NOT NULL;
+
+-- Reemplazado por idx_productos_precio_final_id: el orden por precio usa ahora el precio final
+DROP INDEX IF EXISTS idx_productos_precio_id;
+
+-- Versiones del catálogo para ETag / Last-Modified. La fecha inicial sale de las auditorías existentes.
+INSERT INTO catalogo_versiones (seccion, version, ultima_modificacion)
+SELECT 'PRODUCTOS', 1, COALESCE((SELECT MAX(fecha_accion) FROM auditoria_productos), now())
+ON CONFLICT (seccion) DO NOTHING;
+INSERT INTO catalogo_versiones (seccion, version, ultima_modificacion)
+SELECT 'CATEGORIAS', 1, COALESCE((SELECT MAX(fecha_accion) FROM auditoria_categorias), now())
+ON CONFLICT (seccion) DO NOTHING;
+INSERT INTO catalogo_versiones (seccion, version, ultima_modificacion)
+VALUES ('OPCIONES', 1, now())
+ON CONFLICT (seccion) DO NOTHING;
+
+-- Limpieza de uploads: consulta qué URLs de un lote de archivos siguen en uso
+CREATE INDEX IF NOT EXISTS idx_producto_imagenes_url ON producto_imagenes (imagen_url);
+
+-- Carrito: una sola fila por (usuario, producto, opción); la opción nula se indexa como 0.
+-- Antes de crear el índice se fusionan los duplicados que pudieran existir, sumando cantidades.
+WITH grupos AS (
+    SELECT id,
+           SUM(cantidad) OVER (PARTITION BY usuario_id, producto_id, COALESCE(opcion_seleccionada_id, 0)) AS total,
+           ROW_NUMBER() OVER (PARTITION BY usuario_id, producto_id, COALESCE(opcion_seleccionada_id, 0) ORDER BY id) AS orden
+    FROM carrito
+)
+UPDATE carrito c SET cantidad = g.total
+FROM grupos g
+WHERE c.id = g.id AND g.orden = 1 AND g.total IS DISTINCT FROM c.cantidad;
+
+DELETE FROM carrito c USING carrito o
+WHERE o.usuario_id = c.usuario_id AND o.producto_id = c.producto_id
+  AND COALESCE(o.opcion_seleccionada_id, 0) = COALESCE(c.opcion_seleccionada_id, 0)
+  AND o.id < c.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_carrito_usuario_producto_opcion
+    ON carrito (usuario_id, producto_id, COALESCE(opcion_seleccionada_id, 0));
+
+-- Vencimiento de carritos: las filas previas a la columna cuentan desde ahora (no se borran en el primer arranque)
+UPDATE carrito SET ultima_modificacion = now() WHERE ultima_modificacion IS NULL;
+ALTER TABLE carrito ALTER COLUMN ultima_modificacion SET DEFAULT now();
+CREATE INDEX IF NOT EXISTS idx_carrito_ultima_modificacion ON carrito (ultima_modificacion, usuario_id);
+
+-- Favoritos: un producto una sola vez por usuario. El índice (usuario_id, producto_id) además responde
+-- la consulta de marcados sin leer la tabla. Antes se quitan los duplicados que pudieran existir.
+DELETE FROM favoritos f USING favoritos o
+WHERE o.usuario_id = f.usuario_id AND o.producto_id = f.producto_id AND o.id < f.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_favoritos_usuario_producto ON favoritos (usuario_id, producto_id);
+
+-- Cantidad de favoritos por producto, mantenida por FavoritoContadorService. No está mapeada en
+-- ProductoEntity para que guardar un producto no pise el valor; se reconcilia periódicamente.
+ALTER TABLE productos ADD COLUMN IF NOT EXISTS cantidad_favoritos BIGINT NOT NULL DEFAULT 0;
+
+-- items_pedido pasó de IDENTITY a la secuencia items_pedido_seq (de a 50) para insertar en lotes.
+-- La secuencia arranca por encima de los ids ya usados; solo avanza, nunca retrocede.
+CREATE SEQUENCE IF NOT EXISTS items_pedido_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('items_pedido_seq', GREATEST(
+    (SELECT COALESCE(MAX(id), 0) FROM items_pedido) + 50,
+    (SELECT last_value FROM items_pedido_seq)));
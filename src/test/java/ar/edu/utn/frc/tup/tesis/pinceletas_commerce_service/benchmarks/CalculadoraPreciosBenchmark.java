@@ -0,0 +1,92 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.benchmarks;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.CalculadoraPrecios;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la suma de subtotales de items de pedido con la fórmula anterior
+ * (restar precio * descuento / 100 en BigDecimal), con CalculadoraPrecios y con el camino en centavos.
+ * Se corre a mano desde el IDE o con el classpath de test; el perfil de GC muestra gc.alloc.rate.norm por operación.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculadoraPreciosBenchmark {
+
+    private static final BigDecimal CIEN = BigDecimal.valueOf(100);
+
+    @Param({"10000"})
+    private int cantidadItems;
+
+    private BigDecimal[] precios;
+    private BigDecimal[] descuentos;
+    private long[] preciosCentavos;
+    private long[] descuentosPuntosBasicos;
+    private int[] cantidades;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(42);
+        precios = new BigDecimal[cantidadItems];
+        descuentos = new BigDecimal[cantidadItems];
+        preciosCentavos = new long[cantidadItems];
+        descuentosPuntosBasicos = new long[cantidadItems];
+        cantidades = new int[cantidadItems];
+
+        for (int i = 0; i < cantidadItems; i++) {
+            precios[i] = BigDecimal.valueOf(100 + random.nextInt(5_000_000), 2);
+            descuentos[i] = BigDecimal.valueOf(random.nextInt(5) * 10);
+            preciosCentavos[i] = CalculadoraPrecios.aCentavos(precios[i]);
+            descuentosPuntosBasicos[i] = CalculadoraPrecios.descuentoEnPuntosBasicos(descuentos[i]);
+            cantidades[i] = 1 + random.nextInt(5);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal formulaAnterior() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < cantidadItems; i++) {
+            BigDecimal precioConDescuento = precios[i].subtract(precios[i].multiply(descuentos[i].divide(CIEN)));
+            total = total.add(precioConDescuento.multiply(BigDecimal.valueOf(cantidades[i])));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal calculadoraBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < cantidadItems; i++) {
+            total = total.add(CalculadoraPrecios.subtotal(precios[i], descuentos[i], cantidades[i]));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal calculadoraCentavos() {
+        long total = 0L;
+        for (int i = 0; i < cantidadItems; i++) {
+            total += CalculadoraPrecios.subtotalCentavos(preciosCentavos[i], descuentosPuntosBasicos[i], cantidades[i]);
+        }
+        return CalculadoraPrecios.desdeCentavos(total);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opciones = new OptionsBuilder()
+                .include(CalculadoraPreciosBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opciones).run();
+    }
+}
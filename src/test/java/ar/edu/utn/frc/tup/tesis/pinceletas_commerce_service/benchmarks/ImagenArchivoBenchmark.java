@@ -0,0 +1,120 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.benchmarks;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.controllers.ImagenArchivoController;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.ImagenArchivoService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compara el ResourceHttpRequestHandler que servía /uploads/** con ImagenArchivoController,
+ * para una imagen de 1 MB completa y para un rango de 64 KB.
+ * Con respuestas mock se mide el costo en la JVM (copias y bytes asignados por operación);
+ * la ganancia de sendfile en Tomcat solo se ve con una prueba de carga sobre el servidor real.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImagenArchivoBenchmark {
+
+    private static final String ARCHIVO = "c".repeat(64) + ".jpg";
+    private static final String RANGO = "bytes=65536-131071";
+
+    private Path directorio;
+    private ResourceHttpRequestHandler handlerAnterior;
+    private ImagenArchivoController controller;
+
+    @Setup
+    public void preparar() throws Exception {
+        directorio = Files.createTempDirectory("bench-uploads");
+        byte[] contenido = new byte[1 << 20];
+        new Random(42).nextBytes(contenido);
+        Files.write(directorio.resolve(ARCHIVO), contenido);
+
+        handlerAnterior = new ResourceHttpRequestHandler();
+        handlerAnterior.setLocations(List.of(new FileSystemResource(directorio.toString() + "/")));
+        handlerAnterior.setServletContext(new MockServletContext());
+        handlerAnterior.afterPropertiesSet();
+
+        controller = new ImagenArchivoController(new ImagenArchivoService(directorio.toString()));
+    }
+
+    @TearDown
+    public void limpiar() throws IOException {
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            archivos.sorted(Comparator.reverseOrder()).forEach(ruta -> ruta.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public int handlerAnteriorCompleto() throws Exception {
+        return servirConHandler(null);
+    }
+
+    @Benchmark
+    public int controllerCompleto() throws Exception {
+        return servirConController(null);
+    }
+
+    @Benchmark
+    public int handlerAnteriorRango() throws Exception {
+        return servirConHandler(RANGO);
+    }
+
+    @Benchmark
+    public int controllerRango() throws Exception {
+        return servirConController(RANGO);
+    }
+
+    private int servirConHandler(String rango) throws Exception {
+        MockHttpServletRequest request = pedido(rango);
+        request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, ARCHIVO);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        handlerAnterior.handleRequest(request, response);
+        return response.getContentAsByteArray().length;
+    }
+
+    private int servirConController(String rango) throws Exception {
+        MockHttpServletRequest request = pedido(rango);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.servirImagen(ARCHIVO, request, response);
+        return response.getContentAsByteArray().length;
+    }
+
+    private MockHttpServletRequest pedido(String rango) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/uploads/" + ARCHIVO);
+        if (rango != null) {
+            request.addHeader("Range", rango);
+        }
+        return request;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opciones = new OptionsBuilder()
+                .include(ImagenArchivoBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opciones).run();
+    }
+}
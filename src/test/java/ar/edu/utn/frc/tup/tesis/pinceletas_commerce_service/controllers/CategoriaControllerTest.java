@@ -3,6 +3,7 @@ package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.controllers;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.CategoriaDTO;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.AuditoriaCategoriaEntity;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.CategoriaEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.CatalogoVersionService;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.CategoriaService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,6 +32,9 @@ class CategoriaControllerTest {
     @Mock
     private CategoriaService categoriaService;
 
+    @Mock
+    private CatalogoVersionService catalogoVersionService;
+
     @InjectMocks
     private CategoriaController categoriaController;
 
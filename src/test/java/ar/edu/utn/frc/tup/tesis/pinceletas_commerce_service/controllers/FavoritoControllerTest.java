@@ -1,6 +1,7 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.controllers;
 
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.FavoritoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.FavoritosMarcadosDTO;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.FavoritoEntity;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.FavoritoService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -109,4 +110,17 @@ class FavoritoControllerTest {
 
         verify(favoritoService, times(1)).obtenerFavoritos(usuarioId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void obtenerMarcados() throws Exception {
+        // Given
+        when(favoritoService.obtenerMarcados(1L, List.of(3L, 5L, 8L)))
+                .thenReturn(FavoritosMarcadosDTO.builder().productoIds(List.of(5L)).mapa("Ag==").build());
+
+        // When & Then
+        mockMvc.perform(get("/favoritos/{usuarioId}/marcados", 1L).param("productoIds", "3,5,8"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productoIds[0]").value(5L))
+                .andExpect(jsonPath("$.mapa").value("Ag=="));
+    }
+}
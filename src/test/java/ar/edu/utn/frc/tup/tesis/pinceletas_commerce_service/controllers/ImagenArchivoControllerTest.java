@@ -0,0 +1,102 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.controllers;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.ImagenArchivoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ImagenArchivoControllerTest {
+
+    private static final String HASH = "a".repeat(64);
+
+    @TempDir
+    Path directorio;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(directorio.resolve(HASH + ".jpg"), "0123456789", StandardCharsets.UTF_8);
+        Files.writeString(directorio.resolve("1700000000_logo.png"), "logo", StandardCharsets.UTF_8);
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new ImagenArchivoController(new ImagenArchivoService(directorio.toString()))).build();
+    }
+
+    @Test
+    void servirImagen_NombrePorContenido_DeberiaSerInmutable() throws Exception {
+        mockMvc.perform(get("/uploads/" + HASH + ".jpg"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "public, max-age=31536000, immutable"))
+                .andExpect(header().string("ETag", "\"" + HASH + ".jpg\""))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(content().contentType("image/jpeg"))
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    void servirImagen_NombreHeredado_DeberiaRevalidar() throws Exception {
+        mockMvc.perform(get("/uploads/1700000000_logo.png"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "public, max-age=300"))
+                .andExpect(content().string("logo"));
+    }
+
+    @Test
+    void servirImagen_ConEtagVigente_DeberiaResponder304() throws Exception {
+        mockMvc.perform(get("/uploads/" + HASH + ".jpg").header("If-None-Match", "\"" + HASH + ".jpg\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void servirImagen_ConRango_DeberiaResponderParcial() throws Exception {
+        mockMvc.perform(get("/uploads/" + HASH + ".jpg").header("Range", "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 2-5/10"))
+                .andExpect(header().longValue("Content-Length", 4))
+                .andExpect(content().string("2345"));
+
+        mockMvc.perform(get("/uploads/" + HASH + ".jpg").header("Range", "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("789"));
+    }
+
+    @Test
+    void servirImagen_RangoFueraDelArchivo_DeberiaResponder416() throws Exception {
+        mockMvc.perform(get("/uploads/" + HASH + ".jpg").header("Range", "bytes=50-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */10"));
+    }
+
+    @Test
+    void servirImagen_IfRangeDesactualizado_DeberiaResponderCompleto() throws Exception {
+        mockMvc.perform(get("/uploads/" + HASH + ".jpg")
+                        .header("Range", "bytes=2-5")
+                        .header("If-Range", "\"otro\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    void servirVariante_SinGenerar_DeberiaServirOriginalSinInmutable() throws Exception {
+        mockMvc.perform(get("/uploads/variantes/480/" + HASH + ".jpg"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "public, max-age=300"))
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    void servirImagen_Inexistente_DeberiaResponder404() throws Exception {
+        mockMvc.perform(get("/uploads/" + "b".repeat(64) + ".jpg"))
+                .andExpect(status().isNotFound());
+    }
+}
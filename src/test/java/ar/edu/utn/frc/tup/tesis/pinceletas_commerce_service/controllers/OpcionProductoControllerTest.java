@@ -1,6 +1,7 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.controllers;
 
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.OpcionProductoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.CatalogoVersionService;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.OpcionProductoService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,6 +32,9 @@ class OpcionProductoControllerTest {
     @Mock
     private OpcionProductoService opcionService;
 
+    @Mock
+    private CatalogoVersionService catalogoVersionService;
+
     @InjectMocks
     private OpcionProductoController opcionProductoController;
 
@@ -1,8 +1,13 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.controllers;
 
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.PaginaCursorDTO;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ProductoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ProductoLecturaDTO;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.AuditoriaProductoEntity;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.ProductoEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.OrdenProducto;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.CatalogoVersionService;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.ProductoLecturaService;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.ProductoService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -33,6 +38,12 @@ class ProductoControllerTest {
     @Mock
     private ProductoService productoService;
 
+    @Mock
+    private ProductoLecturaService productoLecturaService;
+
+    @Mock
+    private CatalogoVersionService catalogoVersionService;
+
     @InjectMocks
     private ProductoController productoController;
 
@@ -172,11 +183,12 @@ class ProductoControllerTest {
     void obtenerProducto() throws Exception {
         // Given
         Long id = 1L;
-        ProductoEntity producto = new ProductoEntity();
-        producto.setId(id);
-        producto.setNombre("Producto Test");
+        ProductoLecturaDTO producto = ProductoLecturaDTO.builder()
+                .id(id)
+                .nombre("Producto Test")
+                .build();
 
-        when(productoService.getProductoById(id)).thenReturn(producto);
+        when(productoLecturaService.obtenerProducto(id)).thenReturn(producto);
 
         // When & Then
         mockMvc.perform(get("/productos/{id}", id))
@@ -184,28 +196,51 @@ class ProductoControllerTest {
                 .andExpect(jsonPath("$.id").value(id))
                 .andExpect(jsonPath("$.nombre").value("Producto Test"));
 
-        verify(productoService, times(1)).getProductoById(id);
+        verify(productoLecturaService, times(1)).obtenerProducto(id);
     }
 
     @Test
     void listarProductos() throws Exception {
         // Given
-        ProductoEntity producto1 = new ProductoEntity();
-        producto1.setId(1L);
-
-        ProductoEntity producto2 = new ProductoEntity();
-        producto2.setId(2L);
+        ProductoLecturaDTO producto1 = ProductoLecturaDTO.builder().id(1L).build();
+        ProductoLecturaDTO producto2 = ProductoLecturaDTO.builder().id(2L).build();
 
-        List<ProductoEntity> productos = Arrays.asList(producto1, producto2);
+        List<ProductoLecturaDTO> productos = Arrays.asList(producto1, producto2);
 
-        when(productoService.listarProductos()).thenReturn(productos);
+        when(productoLecturaService.listarProductos()).thenReturn(productos);
 
         // When & Then
         mockMvc.perform(get("/productos"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(2));
 
-        verify(productoService, times(1)).listarProductos();
+        verify(productoLecturaService, times(1)).listarProductos();
+    }
+
+    @Test
+    void listarProductosPaginados() throws Exception {
+        // Given
+        ProductoLecturaDTO producto = ProductoLecturaDTO.builder().id(1L).build();
+
+        PaginaCursorDTO<ProductoLecturaDTO> pagina = PaginaCursorDTO.<ProductoLecturaDTO>builder()
+                .items(List.of(producto))
+                .tamanio(1)
+                .siguienteCursor("UFJFQ0lPfDF8MTUwMA")
+                .hayMas(true)
+                .build();
+
+        when(productoLecturaService.listarProductosPaginados(null, 1, OrdenProducto.PRECIO)).thenReturn(pagina);
+
+        // When & Then
+        mockMvc.perform(get("/productos/pagina")
+                        .param("tamanio", "1")
+                        .param("orden", "PRECIO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.hayMas").value(true))
+                .andExpect(jsonPath("$.siguienteCursor").value("UFJFQ0lPfDF8MTUwMA"));
+
+        verify(productoLecturaService, times(1)).listarProductosPaginados(null, 1, OrdenProducto.PRECIO);
     }
 
     @Test
@@ -0,0 +1,132 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.CategoriaEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.OpcionProductoEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.ProductoEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cantidad de sentencias SQL de las consultas con las que PedidoService carga productos y opciones:
+ * tiene que ser la misma para un pedido de 1 línea que para uno de 30.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never"
+})
+class PedidoCargaConsultasTest {
+
+    private static final int PRODUCTOS = 30;
+
+    // La aplicación declara su propio @ComponentScan; acá solo se levantan estos dos repositorios
+    @Configuration
+    @EntityScan(basePackageClasses = ProductoEntity.class)
+    @EnableJpaRepositories(basePackageClasses = ProductoRepository.class, includeFilters = @ComponentScan.Filter(
+            type = FilterType.ASSIGNABLE_TYPE, classes = {ProductoRepository.class, OpcionProductoRepository.class}))
+    static class Configuracion {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private OpcionProductoRepository opcionProductoRepository;
+
+    private final List<Long> productoIds = new ArrayList<>();
+    private final List<Long> opcionIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        CategoriaEntity categoria = new CategoriaEntity();
+        categoria.setNombre("Pinturas");
+        entityManager.persist(categoria);
+
+        for (int i = 0; i < PRODUCTOS; i++) {
+            ProductoEntity producto = new ProductoEntity();
+            producto.setNombre("Producto " + i);
+            producto.setPrecio(new BigDecimal("1000.00"));
+            producto.setActivo(true);
+            producto.setCategoria(categoria);
+            producto.setImagenes(new ArrayList<>(List.of("a" + i + ".jpg", "b" + i + ".jpg")));
+            entityManager.persist(producto);
+            productoIds.add(producto.getId());
+
+            OpcionProductoEntity opcion = new OpcionProductoEntity();
+            opcion.setProducto(producto);
+            opcion.setTipo("Opción " + i);
+            entityManager.persist(opcion);
+            opcionIds.add(opcion.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findConImagenesYCategoriaPorIds_UnaOTreintaLineas_DeberiaUsarLasMismasSentencias() {
+        // Act
+        long conUna = sentencias(() -> productoRepository.findConImagenesYCategoriaPorIds(productoIds.subList(0, 1)));
+        long conTreinta = sentencias(() -> {
+            List<ProductoEntity> productos = productoRepository.findConImagenesYCategoriaPorIds(productoIds);
+            assertEquals(PRODUCTOS, productos.size());
+            productos.forEach(producto -> {
+                assertTrue(Hibernate.isInitialized(producto.getImagenes()));
+                assertEquals(2, producto.getImagenes().size());
+                assertEquals("Pinturas", producto.getCategoria().getNombre());
+            });
+        });
+
+        // Assert
+        assertEquals(1, conUna);
+        assertEquals(conUna, conTreinta);
+    }
+
+    @Test
+    void findConProductoPorIds_UnaOTreintaLineas_DeberiaUsarLasMismasSentencias() {
+        // Act
+        long conUna = sentencias(() -> opcionProductoRepository.findConProductoPorIds(opcionIds.subList(0, 1)));
+        long conTreinta = sentencias(() -> {
+            List<OpcionProductoEntity> opciones = opcionProductoRepository.findConProductoPorIds(opcionIds);
+            assertEquals(PRODUCTOS, opciones.size());
+            opciones.forEach(opcion -> assertEquals(2, opcion.getProducto().getImagenes().size()));
+        });
+
+        // Assert
+        assertEquals(1, conUna);
+        assertEquals(conUna, conTreinta);
+    }
+
+    /** Sentencias preparadas durante la consulta, con el contexto de persistencia vacío */
+    private long sentencias(Runnable consulta) {
+        entityManager.clear();
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+        consulta.run();
+        return estadisticas.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,54 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalculadoraPreciosTest {
+
+    @Test
+    void precioFinal_ConDescuento_DeberiaRedondearACentavos() {
+        // Arrange
+        BigDecimal precio = new BigDecimal("999.99");
+        BigDecimal descuento = new BigDecimal("15");
+
+        // Act
+        BigDecimal resultado = CalculadoraPrecios.precioFinal(precio, descuento);
+
+        // Assert: 999.99 * 0.85 = 849.9915
+        assertEquals(new BigDecimal("849.99"), resultado);
+        assertEquals(new BigDecimal("1500.00"), CalculadoraPrecios.precioFinal(new BigDecimal("1500"), null));
+        assertNull(CalculadoraPrecios.precioFinal(null, descuento));
+    }
+
+    @Test
+    void subtotalCentavos_DeberiaCoincidirConElCalculoEnBigDecimal() {
+        String[][] casos = {
+                {"999.99", "15", "3"},
+                {"0.05", "50", "7"},
+                {"1234.56", "12.5", "2"},
+                {"19.99", "0", "10"},
+                {"100.00", "100", "4"},
+                {"0.15", "10", "1"}
+        };
+
+        for (String[] caso : casos) {
+            // Arrange
+            BigDecimal precio = new BigDecimal(caso[0]);
+            BigDecimal descuento = new BigDecimal(caso[1]);
+            int cantidad = Integer.parseInt(caso[2]);
+
+            // Act
+            long centavos = CalculadoraPrecios.subtotalCentavos(
+                    CalculadoraPrecios.aCentavos(precio),
+                    CalculadoraPrecios.descuentoEnPuntosBasicos(descuento),
+                    cantidad);
+
+            // Assert
+            assertEquals(CalculadoraPrecios.subtotal(precio, descuento, cantidad),
+                    CalculadoraPrecios.desdeCentavos(centavos), "precio " + caso[0] + " descuento " + caso[1]);
+        }
+    }
+}
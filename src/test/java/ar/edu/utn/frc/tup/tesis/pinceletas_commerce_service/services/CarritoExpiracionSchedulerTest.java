@@ -0,0 +1,85 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.CarritoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CarritoExpiracionSchedulerTest {
+
+    @Mock
+    private CarritoRepository carritoRepository;
+
+    @Mock
+    private CarritoMemoriaService carritoMemoriaService;
+
+    private CarritoExpiracionScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new CarritoExpiracionScheduler(carritoRepository, carritoMemoriaService, 30, 2);
+
+        // Sin carritos cargados: borra todos los candidatos
+        lenient().when(carritoMemoriaService.borrarNoCargados(any(), any())).thenAnswer(invocation -> {
+            Function<List<Long>, Integer> borrar = invocation.getArgument(1);
+            return borrar.apply(invocation.getArgument(0));
+        });
+    }
+
+    @Test
+    void vencerCarritosAbandonados_DeberiaRecorrerLaTablaDeAUnLote() {
+        // Arrange
+        when(carritoRepository.findUsuariosConLineasVencidas(any(), eq(0L), eq(2))).thenReturn(List.of(1L, 4L));
+        when(carritoRepository.findUsuariosConLineasVencidas(any(), eq(4L), eq(2))).thenReturn(List.of(7L));
+        when(carritoRepository.deleteCarritosVencidos(eq(List.of(1L, 4L)), any())).thenReturn(5);
+        when(carritoRepository.deleteCarritosVencidos(eq(List.of(7L)), any())).thenReturn(1);
+
+        // Act
+        int borradas = scheduler.vencerCarritosAbandonados();
+
+        // Assert
+        assertEquals(6, borradas);
+        verify(carritoRepository, times(2)).findUsuariosConLineasVencidas(any(), anyLong(), eq(2));
+    }
+
+    @Test
+    void vencerCarritosAbandonados_DeberiaUsarElMismoLimiteParaBuscarYBorrar() {
+        // Arrange
+        LocalDateTime antes = LocalDateTime.now().minusDays(30);
+        when(carritoRepository.findUsuariosConLineasVencidas(any(), eq(0L), eq(2))).thenReturn(List.of(3L));
+
+        // Act
+        scheduler.vencerCarritosAbandonados();
+
+        // Assert
+        verify(carritoRepository).deleteCarritosVencidos(eq(List.of(3L)),
+                argThat(limite -> !limite.isBefore(antes) && limite.isBefore(LocalDateTime.now().minusDays(29))));
+    }
+
+    @Test
+    void vencerCarritosAbandonados_CarritoEnMemoria_NoDeberiaBorrarlo() {
+        // Arrange
+        when(carritoRepository.findUsuariosConLineasVencidas(any(), eq(0L), eq(2))).thenReturn(List.of(1L));
+        when(carritoMemoriaService.borrarNoCargados(eq(List.of(1L)), any())).thenReturn(0);
+
+        // Act
+        int borradas = scheduler.vencerCarritosAbandonados();
+
+        // Assert
+        assertEquals(0, borradas);
+        verify(carritoRepository, never()).deleteCarritosVencidos(any(), any());
+    }
+}
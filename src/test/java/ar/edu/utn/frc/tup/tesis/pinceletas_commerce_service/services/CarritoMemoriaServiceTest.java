@@ -0,0 +1,256 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.OperacionCarritoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.TipoOperacionCarrito;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.CarritoJdbcRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.CarritoJdbcRepository.LineaCarrito;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CarritoMemoriaServiceTest {
+
+    @Mock
+    private CarritoJdbcRepository carritoJdbcRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private CarritoMemoriaService carritoMemoriaService;
+
+    @BeforeEach
+    void setUp() {
+        carritoMemoriaService = new CarritoMemoriaService(carritoJdbcRepository, transactionTemplate,
+                "memoria", 4, 5000, 30);
+
+        // Ejecuta el callback de la transacción directamente
+        lenient().doAnswer(invocation -> {
+            Consumer<TransactionStatus> accion = invocation.getArgument(0);
+            accion.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(carritoJdbcRepository.reservarIds(anyInt()))
+                .thenReturn(LongStream.rangeClosed(100, 149).boxed().toList());
+    }
+
+    @Test
+    void lineas_PrimerAcceso_DeberiaCargarDeLaBaseUnaSolaVez() {
+        // Arrange
+        when(carritoJdbcRepository.buscarLineas(1L)).thenReturn(List.of(new LineaCarrito(5L, 1L, 10L, null, 2)));
+
+        // Act
+        carritoMemoriaService.lineas(1L);
+        List<LineaCarrito> lineas = carritoMemoriaService.lineas(1L);
+
+        // Assert
+        assertEquals(List.of(new LineaCarrito(5L, 1L, 10L, null, 2)), lineas);
+        verify(carritoJdbcRepository, times(1)).buscarLineas(1L);
+    }
+
+    @Test
+    void agregar_MismoProductoYOpcion_DeberiaSumarYEscribirRecienEnElVolcado() {
+        // Arrange
+        when(carritoJdbcRepository.buscarLineas(1L)).thenReturn(List.of());
+
+        // Act
+        carritoMemoriaService.agregar(1L, 10L, 3L, 1);
+        LineaCarrito linea = carritoMemoriaService.agregar(1L, 10L, 3L, 2);
+
+        // Assert
+        assertEquals(new LineaCarrito(100L, 1L, 10L, 3L, 3), linea);
+        verify(carritoJdbcRepository, never()).guardarLineas(anyList());
+
+        carritoMemoriaService.volcar();
+        verify(carritoJdbcRepository).guardarLineas(List.of(linea));
+    }
+
+    @Test
+    void volcar_SinCambiosPendientes_NoDeberiaEscribir() {
+        // Arrange
+        when(carritoJdbcRepository.buscarLineas(1L)).thenReturn(List.of(new LineaCarrito(5L, 1L, 10L, null, 2)));
+        carritoMemoriaService.lineas(1L);
+
+        // Act
+        carritoMemoriaService.volcar();
+
+        // Assert
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void eliminar_ItemCargado_DeberiaBorrarloEnElVolcado() {
+        // Arrange
+        when(carritoJdbcRepository.buscarLineas(1L)).thenReturn(List.of(new LineaCarrito(5L, 1L, 10L, null, 2)));
+        carritoMemoriaService.lineas(1L);
+
+        // Act
+        carritoMemoriaService.eliminar(5L);
+        carritoMemoriaService.volcar();
+
+        // Assert
+        assertTrue(carritoMemoriaService.lineas(1L).isEmpty());
+        verify(carritoJdbcRepository).eliminarPorIds(List.of(5L));
+        verify(carritoJdbcRepository, never()).buscarUsuarioDeItem(any());
+    }
+
+    @Test
+    void modificar_ItemNoCargado_DeberiaBuscarSuDuenioEnLaBase() {
+        // Arrange
+        when(carritoJdbcRepository.buscarUsuarioDeItem(5L)).thenReturn(Optional.of(1L));
+        when(carritoJdbcRepository.buscarLineas(1L)).thenReturn(List.of(new LineaCarrito(5L, 1L, 10L, null, 2)));
+
+        // Act
+        LineaCarrito linea = carritoMemoriaService.modificar(5L, 4);
+
+        // Assert
+        assertEquals(4, linea.cantidad());
+    }
+
+    @Test
+    void aplicar_ItemInexistente_NoDeberiaAplicarNada() {
+        // Arrange
+        when(carritoJdbcRepository.buscarLineas(1L)).thenReturn(List.of(new LineaCarrito(5L, 1L, 10L, null, 2)));
+        OperacionCarritoDTO eliminar = OperacionCarritoDTO.builder()
+                .tipo(TipoOperacionCarrito.ELIMINAR).itemId(5L).build();
+        OperacionCarritoDTO modificar = OperacionCarritoDTO.builder()
+                .tipo(TipoOperacionCarrito.MODIFICAR).itemId(9L).cantidad(1).build();
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> carritoMemoriaService.aplicar(1L, List.of(eliminar), List.of(modificar), List.of()));
+
+        assertEquals("Item no encontrado: 9", exception.getMessage());
+        assertEquals(1, carritoMemoriaService.lineas(1L).size());
+    }
+
+    @Test
+    void descontar_CompraMenorQueLoDelCarrito_DeberiaRestarLaCantidad() {
+        // Arrange
+        when(carritoJdbcRepository.buscarLineas(1L)).thenReturn(List.of(
+                new LineaCarrito(5L, 1L, 10L, null, 3),
+                new LineaCarrito(6L, 1L, 11L, 2L, 1)));
+
+        // Act
+        carritoMemoriaService.descontar(1L, 10L, null, 2);
+        carritoMemoriaService.descontar(1L, 11L, 2L, 1);
+
+        // Assert
+        assertEquals(List.of(new LineaCarrito(5L, 1L, 10L, null, 1)), carritoMemoriaService.lineas(1L));
+    }
+
+    @Test
+    void volcar_FallaUnCarrito_DeberiaReintentarPorSeparadoYDescartarSoloEse() {
+        // Arrange
+        when(carritoJdbcRepository.buscarLineas(anyLong())).thenReturn(List.of());
+        carritoMemoriaService.agregar(1L, 10L, null, 1);
+        carritoMemoriaService.agregar(2L, 99L, null, 1);
+        doAnswer(invocation -> {
+            List<LineaCarrito> lineas = invocation.getArgument(0);
+            if (lineas.stream().anyMatch(linea -> linea.productoId() == 99L)) {
+                throw new DataIntegrityViolationException("violates foreign key constraint");
+            }
+            return null;
+        }).when(carritoJdbcRepository).guardarLineas(anyList());
+
+        // Act
+        carritoMemoriaService.volcar();
+
+        // Assert
+        verify(carritoJdbcRepository).guardarLineas(List.of(new LineaCarrito(100L, 1L, 10L, null, 1)));
+        carritoMemoriaService.lineas(2L);
+        verify(carritoJdbcRepository, times(2)).buscarLineas(2L);
+        carritoMemoriaService.volcar();
+        // Nada quedó pendiente: el carrito descartado se recargó tal como está en la base
+        verify(carritoJdbcRepository, times(3)).guardarLineas(anyList());
+    }
+
+    @Test
+    void volcar_BaseNoDisponible_DeberiaConservarLosCambiosParaElProximo() {
+        // Arrange
+        when(carritoJdbcRepository.buscarLineas(1L)).thenReturn(List.of());
+        LineaCarrito linea = carritoMemoriaService.agregar(1L, 10L, null, 1);
+        doThrow(new DataAccessResourceFailureException("sin conexión")).doNothing()
+                .when(carritoJdbcRepository).guardarLineas(anyList());
+
+        // Act
+        carritoMemoriaService.volcar();
+        carritoMemoriaService.volcar();
+
+        // Assert
+        verify(carritoJdbcRepository, times(2)).guardarLineas(List.of(linea));
+        assertEquals(List.of(linea), carritoMemoriaService.lineas(1L));
+        verify(carritoJdbcRepository, times(1)).buscarLineas(1L);
+        carritoMemoriaService.volcar();
+        verify(carritoJdbcRepository, times(2)).guardarLineas(anyList());
+    }
+
+    @Test
+    void borrarNoCargados_CarritoCargado_DeberiaBorrarSoloLosDemas() {
+        // Arrange
+        when(carritoJdbcRepository.buscarLineas(1L)).thenReturn(List.of(new LineaCarrito(5L, 1L, 10L, null, 2)));
+        carritoMemoriaService.lineas(1L);
+        List<List<Long>> borrados = new ArrayList<>();
+
+        // Act
+        int filas = carritoMemoriaService.borrarNoCargados(List.of(1L, 2L), usuarioIds -> {
+            borrados.add(usuarioIds);
+            return 3;
+        });
+
+        // Assert
+        assertEquals(3, filas);
+        assertEquals(List.of(List.of(2L)), borrados);
+    }
+
+    @Test
+    void borrarNoCargados_DuranteUnaCarga_DeberiaDescartarLaCargaYReleer() {
+        // Arrange
+        when(carritoJdbcRepository.buscarLineas(1L))
+                .thenAnswer(invocation -> {
+                    // El vencimiento borra el carrito después de esta lectura
+                    carritoMemoriaService.borrarNoCargados(List.of(1L), usuarioIds -> 1);
+                    return List.of(new LineaCarrito(5L, 1L, 10L, null, 2));
+                })
+                .thenReturn(List.of());
+
+        // Act
+        List<LineaCarrito> lineas = carritoMemoriaService.lineas(1L);
+
+        // Assert
+        assertTrue(lineas.isEmpty());
+        verify(carritoJdbcRepository, times(2)).buscarLineas(1L);
+    }
+
+    @Test
+    void volcar_ModoBase_NoDeberiaHacerNada() {
+        // Arrange
+        CarritoMemoriaService enBase = new CarritoMemoriaService(carritoJdbcRepository, transactionTemplate,
+                "base", 4, 5000, 30);
+
+        // Act
+        enBase.volcar();
+
+        // Assert
+        assertFalse(enBase.isActivo());
+        verifyNoInteractions(transactionTemplate);
+    }
+}
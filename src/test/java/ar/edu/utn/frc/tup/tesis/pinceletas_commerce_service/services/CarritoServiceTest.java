@@ -1,23 +1,43 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
 
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.CarritoResumenDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.CategoriaDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ConfiguracionEnvioResponseDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.OpcionProductoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.OperacionCarritoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ProductoLecturaDTO;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.CarritoEntity;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.ProductoEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.TipoOperacionCarrito;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.CarritoJdbcRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.CarritoJdbcRepository.LineaCarrito;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.CarritoRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.OpcionProductoRepository;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.ProductoRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections.CarritoLineaProjection;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,12 +46,29 @@ class CarritoServiceTest {
     @Mock
     private CarritoRepository carritoRepository;
 
+    @Mock
+    private CarritoJdbcRepository carritoJdbcRepository;
+
     @Mock
     private ProductoRepository productoRepository;
 
+    @Mock
+    private OpcionProductoRepository opcionProductoRepository;
+
+    @Mock
+    private ConfiguracionEnvioService configuracionEnvioService;
+
+    @Mock
+    private CarritoMemoriaService carritoMemoriaService;
+
+    @Mock
+    private ProductoLecturaService productoLecturaService;
+
     @InjectMocks
     private CarritoService carritoService;
 
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
     private ProductoEntity productoEntity;
     private CarritoEntity carritoEntity;
 
@@ -98,6 +135,49 @@ class CarritoServiceTest {
 //        verify(carritoRepository, times(1)).save(any(CarritoEntity.class));
 //    }
 
+    @Test
+    void agregarProducto_DeberiaInsertarOSumarEnUnaSolaSentencia() {
+        // Arrange
+        when(productoRepository.existsById(1L)).thenReturn(true);
+        when(carritoRepository.agregarOSumar(1L, 1L, 2, null)).thenReturn(1L);
+        when(carritoRepository.findById(1L)).thenReturn(Optional.of(carritoEntity));
+
+        // Act
+        CarritoEntity resultado = carritoService.agregarProducto(1L, 1L, 2, null);
+
+        // Assert
+        assertEquals(carritoEntity, resultado);
+        verify(carritoRepository, never()).findByUsuarioId(any());
+        verify(opcionProductoRepository, never()).existsById(any());
+    }
+
+    @Test
+    void agregarProducto_ProductoNoExiste_DeberiaLanzarExcepcion() {
+        // Arrange
+        when(productoRepository.existsById(1L)).thenReturn(false);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> carritoService.agregarProducto(1L, 1L, 2, null));
+
+        assertEquals("Producto no encontrado", exception.getMessage());
+        verify(carritoRepository, never()).agregarOSumar(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void agregarProducto_OpcionNoExiste_DeberiaLanzarExcepcion() {
+        // Arrange
+        when(productoRepository.existsById(1L)).thenReturn(true);
+        when(opcionProductoRepository.existsById(7L)).thenReturn(false);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> carritoService.agregarProducto(1L, 1L, 2, 7L));
+
+        assertEquals("Opción no encontrada", exception.getMessage());
+        verify(carritoRepository, never()).agregarOSumar(any(), any(), anyInt(), any());
+    }
+
     @Test
     void modificarItem_DeberiaActualizarCantidad() {
         // Arrange
@@ -263,4 +343,267 @@ class CarritoServiceTest {
         assertEquals(new BigDecimal("3000.00"), total);
         verify(carritoRepository, times(1)).findByUsuarioId(1L);
     }
-}
\ No newline at end of file
+
+    private CarritoLineaProjection linea(Long itemId, String subtotalLinea, String subtotal, long cantidadTotal,
+                                         String costoEnvio, String minimoEnvioGratis) {
+        Map<String, Object> fila = new HashMap<>();
+        fila.put("itemId", itemId);
+        fila.put("productoId", 1L);
+        fila.put("nombre", "Pintura Acrílica");
+        fila.put("cantidad", 2);
+        fila.put("precioFinal", new BigDecimal("1500.00"));
+        fila.put("subtotalLinea", new BigDecimal(subtotalLinea));
+        fila.put("subtotal", new BigDecimal(subtotal));
+        fila.put("cantidadTotal", cantidadTotal);
+        fila.put("costoEnvio", costoEnvio != null ? new BigDecimal(costoEnvio) : null);
+        fila.put("montoMinimoEnvioGratis", minimoEnvioGratis != null ? new BigDecimal(minimoEnvioGratis) : null);
+        return projectionFactory.createProjection(CarritoLineaProjection.class, fila);
+    }
+
+    @Test
+    void obtenerResumen_DeberiaArmarTotalesDesdeLaConsulta() {
+        // Arrange
+        when(carritoRepository.findResumenPorUsuarioId(1L)).thenReturn(List.of(
+                linea(1L, "3000.00", "4500.00", 3, "2500.00", "50000.00"),
+                linea(2L, "1500.00", "4500.00", 3, "2500.00", "50000.00")));
+
+        // Act
+        CarritoResumenDTO resumen = carritoService.obtenerResumen(1L);
+
+        // Assert
+        assertEquals(2, resumen.getLineas().size());
+        assertEquals(new BigDecimal("4500.00"), resumen.getSubtotal());
+        assertEquals(3L, resumen.getCantidadItems());
+        assertEquals(new BigDecimal("2500.00"), resumen.getCostoEnvio());
+        assertEquals(new BigDecimal("7000.00"), resumen.getTotal());
+        verify(carritoRepository, never()).findByUsuarioId(any());
+        verifyNoInteractions(configuracionEnvioService);
+    }
+
+    @Test
+    void obtenerResumen_SubtotalSuperaMinimo_DeberiaTenerEnvioGratis() {
+        // Arrange
+        when(carritoRepository.findResumenPorUsuarioId(1L)).thenReturn(List.of(
+                linea(1L, "60000.00", "60000.00", 2, "2500.00", "50000.00")));
+
+        // Act
+        CarritoResumenDTO resumen = carritoService.obtenerResumen(1L);
+
+        // Assert
+        assertEquals(BigDecimal.ZERO, resumen.getCostoEnvio());
+        assertEquals(new BigDecimal("60000.00"), resumen.getTotal());
+    }
+
+    @Test
+    void obtenerResumen_SinConfiguracionActiva_DeberiaDelegarElCostoDeEnvio() {
+        // Arrange
+        when(carritoRepository.findResumenPorUsuarioId(1L)).thenReturn(List.of(
+                linea(1L, "3000.00", "3000.00", 2, null, null)));
+        when(configuracionEnvioService.obtenerCostoEnvio(new BigDecimal("3000.00"))).thenReturn(new BigDecimal("2500.00"));
+
+        // Act
+        CarritoResumenDTO resumen = carritoService.obtenerResumen(1L);
+
+        // Assert
+        assertEquals(new BigDecimal("5500.00"), resumen.getTotal());
+    }
+
+    @Test
+    void obtenerResumen_CarritoVacio_DeberiaRetornarCeros() {
+        // Arrange
+        when(carritoRepository.findResumenPorUsuarioId(1L)).thenReturn(List.of());
+
+        // Act
+        CarritoResumenDTO resumen = carritoService.obtenerResumen(1L);
+
+        // Assert
+        assertTrue(resumen.getLineas().isEmpty());
+        assertEquals(BigDecimal.ZERO, resumen.getTotal());
+        assertEquals(0L, resumen.getCantidadItems());
+    }
+
+    @Test
+    void aplicarOperaciones_DeberiaEliminarModificarYAgregarEnLotes() {
+        // Arrange
+        List<OperacionCarritoDTO> operaciones = List.of(
+                OperacionCarritoDTO.builder().tipo(TipoOperacionCarrito.AGREGAR).productoId(1L).cantidad(2).build(),
+                OperacionCarritoDTO.builder().tipo(TipoOperacionCarrito.MODIFICAR).itemId(5L).cantidad(3).build(),
+                OperacionCarritoDTO.builder().tipo(TipoOperacionCarrito.ELIMINAR).itemId(6L).build());
+        when(productoRepository.findIdsExistentes(Set.of(1L))).thenReturn(List.of(1L));
+        when(carritoJdbcRepository.modificarCantidades(eq(1L), anyList())).thenReturn(new int[][]{{1}});
+        when(carritoRepository.findResumenPorUsuarioId(1L)).thenReturn(List.of());
+
+        // Act
+        CarritoResumenDTO resumen = carritoService.aplicarOperaciones(1L, operaciones);
+
+        // Assert
+        assertNotNull(resumen);
+        InOrder orden = inOrder(carritoJdbcRepository);
+        orden.verify(carritoJdbcRepository).eliminar(1L, List.of(operaciones.get(2)));
+        orden.verify(carritoJdbcRepository).modificarCantidades(1L, List.of(operaciones.get(1)));
+        orden.verify(carritoJdbcRepository).agregarOSumar(1L, List.of(operaciones.get(0)));
+        verifyNoInteractions(opcionProductoRepository);
+    }
+
+    @Test
+    void aplicarOperaciones_AgregarRepetido_DeberiaSumarEnUnaSolaFila() {
+        // Arrange
+        List<OperacionCarritoDTO> operaciones = List.of(
+                OperacionCarritoDTO.builder().tipo(TipoOperacionCarrito.AGREGAR).productoId(1L).cantidad(2).build(),
+                OperacionCarritoDTO.builder().tipo(TipoOperacionCarrito.AGREGAR).productoId(1L).cantidad(3).build());
+        when(productoRepository.findIdsExistentes(Set.of(1L))).thenReturn(List.of(1L));
+        when(carritoRepository.findResumenPorUsuarioId(1L)).thenReturn(List.of());
+
+        // Act
+        carritoService.aplicarOperaciones(1L, operaciones);
+
+        // Assert
+        verify(carritoJdbcRepository).agregarOSumar(1L, List.of(OperacionCarritoDTO.builder()
+                .tipo(TipoOperacionCarrito.AGREGAR).productoId(1L).cantidad(5).build()));
+    }
+
+    @Test
+    void aplicarOperaciones_ProductoNoExiste_NoDeberiaAplicarNada() {
+        // Arrange
+        List<OperacionCarritoDTO> operaciones = List.of(
+                OperacionCarritoDTO.builder().tipo(TipoOperacionCarrito.AGREGAR).productoId(1L).cantidad(1).build(),
+                OperacionCarritoDTO.builder().tipo(TipoOperacionCarrito.AGREGAR).productoId(9L).cantidad(1).build());
+        when(productoRepository.findIdsExistentes(Set.of(1L, 9L))).thenReturn(List.of(1L));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> carritoService.aplicarOperaciones(1L, operaciones));
+
+        assertEquals("Producto no encontrado: 9", exception.getMessage());
+        verifyNoInteractions(carritoJdbcRepository);
+    }
+
+    @Test
+    void aplicarOperaciones_ItemAjenoOInexistente_DeberiaLanzarExcepcion() {
+        // Arrange
+        List<OperacionCarritoDTO> operaciones = List.of(
+                OperacionCarritoDTO.builder().tipo(TipoOperacionCarrito.MODIFICAR).itemId(5L).cantidad(3).build());
+        when(carritoJdbcRepository.modificarCantidades(eq(1L), anyList())).thenReturn(new int[][]{{0}});
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> carritoService.aplicarOperaciones(1L, operaciones));
+
+        assertEquals("Item no encontrado: 5", exception.getMessage());
+        verify(carritoJdbcRepository, never()).agregarOSumar(any(), anyList());
+    }
+
+    @Test
+    void aplicarOperaciones_CantidadInvalida_DeberiaLanzarIllegalArgument() {
+        // Arrange
+        List<OperacionCarritoDTO> operaciones = List.of(
+                OperacionCarritoDTO.builder().tipo(TipoOperacionCarrito.MODIFICAR).itemId(5L).cantidad(0).build());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> carritoService.aplicarOperaciones(1L, operaciones));
+        verifyNoInteractions(carritoJdbcRepository);
+    }
+
+    @Test
+    void obtenerResumen_EnMemoria_DeberiaArmarseSinLeerLaTablaCarrito() {
+        // Arrange
+        ConfiguracionEnvioResponseDTO envio = new ConfiguracionEnvioResponseDTO();
+        envio.setCosto(new BigDecimal("800.00"));
+        envio.setMontoMinimoEnvioGratis(new BigDecimal("50000.00"));
+        when(carritoMemoriaService.isActivo()).thenReturn(true);
+        when(carritoMemoriaService.lineas(1L)).thenReturn(List.of(new LineaCarrito(7L, 1L, 1L, null, 2)));
+        when(productoLecturaService.obtenerProducto(1L)).thenReturn(productoEnCache());
+        when(configuracionEnvioService.obtenerConfiguracionActiva()).thenReturn(envio);
+
+        // Act
+        CarritoResumenDTO resumen = carritoService.obtenerResumen(1L);
+
+        // Assert
+        assertEquals(1, resumen.getLineas().size());
+        assertEquals(7L, resumen.getLineas().get(0).getItemId());
+        assertEquals(0, new BigDecimal("3000.00").compareTo(resumen.getSubtotal()));
+        assertEquals(0, new BigDecimal("3800.00").compareTo(resumen.getTotal()));
+        assertEquals(2L, resumen.getCantidadItems());
+        verifyNoInteractions(carritoRepository);
+    }
+
+    @Test
+    void obtenerCarrito_EnMemoriaConCacheCaliente_NoDeberiaConsultarRepositorios() {
+        // Arrange
+        when(carritoMemoriaService.isActivo()).thenReturn(true);
+        when(carritoMemoriaService.lineas(1L)).thenReturn(List.of(new LineaCarrito(7L, 1L, 1L, 3L, 2)));
+        when(productoLecturaService.obtenerProducto(1L)).thenReturn(productoEnCache());
+
+        // Act
+        List<CarritoEntity> items = carritoService.obtenerCarrito(1L);
+
+        // Assert
+        assertEquals(1, items.size());
+        assertEquals("Pintura Acrílica", items.get(0).getProducto().getNombre());
+        assertEquals("Artistas", items.get(0).getProducto().getCategoria().getNombre());
+        assertEquals("Set x 6", items.get(0).getOpcionSeleccionada().getTipo());
+        verifyNoInteractions(productoRepository, opcionProductoRepository, carritoRepository, carritoJdbcRepository);
+    }
+
+    @Test
+    void aplicarOperaciones_EnMemoriaConCacheCaliente_DeberiaValidarSinConsultarRepositorios() {
+        // Arrange
+        List<OperacionCarritoDTO> operaciones = List.of(OperacionCarritoDTO.builder()
+                .tipo(TipoOperacionCarrito.AGREGAR).productoId(1L).opcionSeleccionadaId(3L).cantidad(2).build());
+        when(carritoMemoriaService.isActivo()).thenReturn(true);
+        when(carritoMemoriaService.lineas(1L)).thenReturn(List.of());
+        when(productoLecturaService.obtenerProducto(1L)).thenReturn(productoEnCache());
+
+        // Act
+        carritoService.aplicarOperaciones(1L, operaciones);
+
+        // Assert
+        verify(carritoMemoriaService).aplicar(1L, List.of(), List.of(), operaciones);
+        verifyNoInteractions(productoRepository, opcionProductoRepository, carritoRepository, carritoJdbcRepository);
+    }
+
+    @Test
+    void agregarProducto_EnMemoriaProductoNoExiste_DeberiaLanzarExcepcion() {
+        // Arrange
+        when(carritoMemoriaService.isActivo()).thenReturn(true);
+        when(productoLecturaService.obtenerProducto(9L)).thenThrow(new RuntimeException("Producto no encontrado"));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> carritoService.agregarProducto(1L, 9L, 1, null));
+
+        assertEquals("Producto no encontrado", exception.getMessage());
+        verify(carritoMemoriaService, never()).agregar(any(), any(), any(), anyInt());
+        verifyNoInteractions(productoRepository);
+    }
+
+    @Test
+    void aplicarOperaciones_EnMemoria_NoDeberiaEscribirEnLaBase() {
+        // Arrange
+        List<OperacionCarritoDTO> operaciones = List.of(
+                OperacionCarritoDTO.builder().tipo(TipoOperacionCarrito.ELIMINAR).itemId(6L).build());
+        when(carritoMemoriaService.isActivo()).thenReturn(true);
+        when(carritoMemoriaService.lineas(1L)).thenReturn(List.of());
+
+        // Act
+        CarritoResumenDTO resumen = carritoService.aplicarOperaciones(1L, operaciones);
+
+        // Assert
+        assertTrue(resumen.getLineas().isEmpty());
+        verify(carritoMemoriaService).aplicar(1L, operaciones, List.of(), List.of());
+        verifyNoInteractions(carritoJdbcRepository, carritoRepository);
+    }
+
+    private ProductoLecturaDTO productoEnCache() {
+        return ProductoLecturaDTO.builder()
+                .id(1L)
+                .nombre("Pintura Acrílica")
+                .precio(new BigDecimal("1500.00"))
+                .precioFinal(new BigDecimal("1500.00"))
+                .activo(true)
+                .imagenes(List.of("pintura.jpg"))
+                .categoria(new CategoriaDTO(2L, "Artistas"))
+                .opciones(List.of(new OpcionProductoDTO(3L, "Set x 6")))
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.Rabbit.events.CatalogoInvalidacionEvent;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.configs.CacheConfig;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.CacheEstadisticasDTO;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogoCacheServiceTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private CaffeineCacheManager cacheManager;
+    private CatalogoCacheService catalogoCacheService;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder().recordStats());
+        cacheManager.setCacheNames(List.of(CacheConfig.CACHE_PRODUCTOS, CacheConfig.CACHE_PRODUCTOS_LISTADO));
+        catalogoCacheService = new CatalogoCacheService(cacheManager, rabbitTemplate);
+    }
+
+    @Test
+    void invalidarProducto_DeberiaDesalojarSoloEseProductoYLosListados() {
+        // Arrange
+        Cache productos = cacheManager.getCache(CacheConfig.CACHE_PRODUCTOS);
+        Cache listados = cacheManager.getCache(CacheConfig.CACHE_PRODUCTOS_LISTADO);
+        productos.put(1L, "producto 1");
+        productos.put(2L, "producto 2");
+        listados.put("todos", "listado");
+
+        // Act
+        catalogoCacheService.invalidarProducto(1L);
+
+        // Assert
+        assertNull(productos.get(1L));
+        assertNotNull(productos.get(2L));
+        assertNull(listados.get("todos"));
+        verifyNoInteractions(rabbitTemplate);
+    }
+
+    @Test
+    void aplicarInvalidacionRemota_DeOtroNodo_DeberiaLimpiarTodo() {
+        // Arrange
+        Cache productos = cacheManager.getCache(CacheConfig.CACHE_PRODUCTOS);
+        productos.put(1L, "producto 1");
+
+        // Act
+        catalogoCacheService.aplicarInvalidacionRemota(
+                new CatalogoInvalidacionEvent("otro-nodo", CatalogoInvalidacionEvent.TODO, null));
+
+        // Assert
+        assertNull(productos.get(1L));
+    }
+
+    @Test
+    void obtenerEstadisticas_DeberiaInformarAciertosYFallos() {
+        // Arrange
+        Cache productos = cacheManager.getCache(CacheConfig.CACHE_PRODUCTOS);
+        productos.put(1L, "producto 1");
+        productos.get(1L);
+        productos.get(99L);
+
+        // Act
+        List<CacheEstadisticasDTO> estadisticas = catalogoCacheService.obtenerEstadisticas();
+
+        // Assert
+        CacheEstadisticasDTO stats = estadisticas.stream()
+                .filter(e -> e.getNombre().equals(CacheConfig.CACHE_PRODUCTOS))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1L, stats.getAciertos());
+        assertEquals(1L, stats.getFallos());
+    }
+}
@@ -0,0 +1,71 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.CatalogoVersionEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.SeccionCatalogo;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.CatalogoVersionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogoVersionServiceTest {
+
+    @Mock
+    private CatalogoVersionRepository catalogoVersionRepository;
+
+    @InjectMocks
+    private CatalogoVersionService catalogoVersionService;
+
+    private void versionesActuales() {
+        LocalDateTime fecha = LocalDateTime.of(2025, 3, 10, 12, 0);
+        when(catalogoVersionRepository.findAllById(anyList())).thenReturn(List.of(
+                new CatalogoVersionEntity(SeccionCatalogo.PRODUCTOS, 7L, fecha),
+                new CatalogoVersionEntity(SeccionCatalogo.CATEGORIAS, 2L, fecha)));
+    }
+
+    @Test
+    void esNoModificado_SinEtagDelCliente_DeberiaAgregarCabecerasYSeguir() {
+        // Arrange
+        versionesActuales();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/productos");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        boolean noModificado = catalogoVersionService.esNoModificado(new ServletWebRequest(request, response),
+                SeccionCatalogo.PRODUCTOS, SeccionCatalogo.CATEGORIAS);
+
+        // Assert
+        assertFalse(noModificado);
+        assertEquals("\"productos.7-categorias.2\"", response.getHeader("ETag"));
+        assertNotNull(response.getHeader("Last-Modified"));
+    }
+
+    @Test
+    void esNoModificado_ConEtagVigente_DeberiaResponder304() {
+        // Arrange
+        versionesActuales();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/productos");
+        request.addHeader("If-None-Match", "\"productos.7-categorias.2\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        boolean noModificado = catalogoVersionService.esNoModificado(new ServletWebRequest(request, response),
+                SeccionCatalogo.PRODUCTOS, SeccionCatalogo.CATEGORIAS);
+
+        // Assert
+        assertTrue(noModificado);
+        assertEquals(304, response.getStatus());
+    }
+}
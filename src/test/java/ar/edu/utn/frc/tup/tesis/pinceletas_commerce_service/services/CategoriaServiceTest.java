@@ -36,6 +36,12 @@ class CategoriaServiceTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private CatalogoCacheService catalogoCacheService;
+
+    @Mock
+    private CatalogoVersionService catalogoVersionService;
+
     @InjectMocks
     private CategoriaService categoriaService;
 
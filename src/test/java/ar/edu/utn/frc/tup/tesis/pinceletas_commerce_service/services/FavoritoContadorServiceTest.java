@@ -0,0 +1,144 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ProductoMasDeseadoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.ProductoJdbcRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.ProductoRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections.ProductoResumenProjection;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FavoritoContadorServiceTest {
+
+    @Mock
+    private ProductoJdbcRepository productoJdbcRepository;
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @InjectMocks
+    private FavoritoContadorService favoritoContadorService;
+
+    @Test
+    void volcar_DeberiaEscribirSoloLaDiferenciaNeta() {
+        // Arrange
+        List<ProductoResumenProjection> productos = List.of(producto(1L, "Óleo", true));
+        when(productoRepository.findResumenPorIds(any())).thenReturn(productos);
+        favoritoContadorService.incrementar(1L);
+        favoritoContadorService.incrementar(1L);
+        favoritoContadorService.incrementar(2L);
+        favoritoContadorService.decrementar(2L);
+
+        // Act
+        favoritoContadorService.volcar();
+        favoritoContadorService.volcar();
+
+        // Assert
+        verify(productoJdbcRepository, times(1)).sumarFavoritos(Map.of(1L, 2L));
+        assertEquals(2, favoritoContadorService.obtenerCantidad(1L));
+        assertEquals(0, favoritoContadorService.obtenerCantidad(2L));
+    }
+
+    @Test
+    void volcar_FallaLaBase_DeberiaReintentarEnElProximo() {
+        // Arrange
+        when(productoRepository.findResumenPorIds(any())).thenReturn(List.of());
+        favoritoContadorService.incrementar(1L);
+        doThrow(new RuntimeException("sin conexión")).doNothing()
+                .when(productoJdbcRepository).sumarFavoritos(anyMap());
+
+        // Act
+        favoritoContadorService.volcar();
+        favoritoContadorService.volcar();
+
+        // Assert
+        verify(productoJdbcRepository, times(2)).sumarFavoritos(Map.of(1L, 1L));
+    }
+
+    @Test
+    void obtenerRanking_DeberiaOrdenarYOmitirInactivos() {
+        // Arrange
+        List<ProductoResumenProjection> productos = List.of(
+                producto(1L, "Óleo", true), producto(2L, "Lienzo", false), producto(3L, "Pincel", true));
+        when(productoRepository.findResumenPorIds(any())).thenReturn(productos);
+        favoritoContadorService.incrementar(1L);
+        for (int i = 0; i < 3; i++) {
+            favoritoContadorService.incrementar(2L);
+            favoritoContadorService.incrementar(3L);
+        }
+        favoritoContadorService.volcar();
+
+        // Act
+        List<ProductoMasDeseadoDTO> ranking = favoritoContadorService.obtenerRanking(10);
+
+        // Assert
+        assertEquals(List.of(3L, 1L), ranking.stream().map(ProductoMasDeseadoDTO::getProductoId).toList());
+        assertEquals(3, ranking.get(0).getCantidadFavoritos());
+        assertEquals(1, favoritoContadorService.obtenerRanking(1).size());
+    }
+
+    @Test
+    void reconciliar_DeberiaTomarLosValoresDeLaBase() {
+        // Arrange
+        favoritoContadorService.incrementar(1L);
+        favoritoContadorService.incrementar(5L);
+        when(productoJdbcRepository.reconciliarFavoritos()).thenReturn(1);
+        when(productoJdbcRepository.contadoresFavoritos()).thenReturn(Map.of(1L, 4L));
+        List<ProductoResumenProjection> productos = List.of(producto(1L, "Óleo", true));
+        when(productoRepository.findResumenPorIds(any())).thenReturn(productos);
+
+        // Act
+        int corregidos = favoritoContadorService.reconciliar();
+
+        // Assert
+        assertEquals(1, corregidos);
+        assertEquals(4, favoritoContadorService.obtenerCantidad(1L));
+        assertEquals(0, favoritoContadorService.obtenerCantidad(5L));
+        verify(productoJdbcRepository, never()).sumarFavoritos(anyMap());
+    }
+
+    @Test
+    void reconciliar_FavoritoDuranteElRecalculo_NoDeberiaContarseDosVeces() {
+        // Arrange
+        favoritoContadorService.incrementar(1L);
+        when(productoJdbcRepository.contadoresFavoritos()).thenAnswer(invocacion -> {
+            // Alta que se confirma después de que el recálculo leyó la tabla
+            favoritoContadorService.incrementar(1L);
+            return Map.of(1L, 4L);
+        });
+        List<ProductoResumenProjection> productos = List.of(producto(1L, "Óleo", true));
+        when(productoRepository.findResumenPorIds(any())).thenReturn(productos);
+
+        // Act
+        favoritoContadorService.reconciliar();
+        favoritoContadorService.volcar();
+
+        // Assert
+        assertEquals(5, favoritoContadorService.obtenerCantidad(1L));
+        verify(productoJdbcRepository, times(1)).sumarFavoritos(Map.of(1L, 1L));
+    }
+
+    @Test
+    void obtenerRanking_LimiteInvalido_DeberiaLanzarExcepcion() {
+        assertThrows(IllegalArgumentException.class, () -> favoritoContadorService.obtenerRanking(0));
+    }
+
+    private ProductoResumenProjection producto(Long id, String nombre, boolean activo) {
+        ProductoResumenProjection producto = mock(ProductoResumenProjection.class);
+        when(producto.getId()).thenReturn(id);
+        lenient().when(producto.getNombre()).thenReturn(nombre);
+        when(producto.getActivo()).thenReturn(activo);
+        return producto;
+    }
+}
@@ -1,6 +1,7 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
 
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.FavoritoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.FavoritosMarcadosDTO;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.FavoritoEntity;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.ProductoEntity;
 import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.FavoritoRepository;
@@ -11,14 +12,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +37,9 @@ class FavoritoServiceTest {
     @Mock
     private ProductoRepository productoRepository;
 
+    @Mock
+    private FavoritoContadorService favoritoContadorService;
+
     @InjectMocks
     private FavoritoService favoritoService;
 
@@ -71,6 +81,7 @@ class FavoritoServiceTest {
         verify(favoritoRepository, times(1)).existsByUsuarioIdAndProductoId(1L, 1L);
         verify(productoRepository, times(1)).findById(1L);
         verify(favoritoRepository, times(1)).save(any(FavoritoEntity.class));
+        verify(favoritoContadorService).incrementar(1L);
     }
 
     @Test
@@ -127,19 +138,38 @@ class FavoritoServiceTest {
     @Test
     void eliminarDeFavoritos_DeberiaEliminarFavorito() {
         // Arrange
-        doNothing().when(favoritoRepository).deleteByUsuarioIdAndProductoId(1L, 1L);
+        when(favoritoRepository.deleteByUsuarioIdAndProductoId(1L, 1L)).thenReturn(1L);
 
         // Act
         favoritoService.eliminarDeFavoritos(1L, 1L);
 
         // Assert
         verify(favoritoRepository, times(1)).deleteByUsuarioIdAndProductoId(1L, 1L);
+        verify(favoritoContadorService).decrementar(1L);
+    }
+
+    @Test
+    void eliminarDeFavoritos_EnTransaccion_DeberiaDecrementarRecienDespuesDelCommit() {
+        // Arrange
+        when(favoritoRepository.deleteByUsuarioIdAndProductoId(1L, 1L)).thenReturn(1L);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            favoritoService.eliminarDeFavoritos(1L, 1L);
+
+            // Assert
+            verify(favoritoContadorService, never()).decrementar(any());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(favoritoContadorService).decrementar(1L);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     @Test
     void eliminarDeFavoritos_ConIdsInvalidos_DeberiaEjecutarDelete() {
         // Arrange
-        doNothing().when(favoritoRepository).deleteByUsuarioIdAndProductoId(999L, 999L);
+        when(favoritoRepository.deleteByUsuarioIdAndProductoId(999L, 999L)).thenReturn(0L);
 
         // Act
         favoritoService.eliminarDeFavoritos(999L, 999L);
@@ -151,13 +181,14 @@ class FavoritoServiceTest {
     @Test
     void eliminarDeFavoritos_ProductoNoEnFavoritos_DeberiaEjecutarDelete() {
         // Arrange
-        doNothing().when(favoritoRepository).deleteByUsuarioIdAndProductoId(1L, 2L);
+        when(favoritoRepository.deleteByUsuarioIdAndProductoId(1L, 2L)).thenReturn(0L);
 
         // Act
         favoritoService.eliminarDeFavoritos(1L, 2L);
 
         // Assert
         verify(favoritoRepository, times(1)).deleteByUsuarioIdAndProductoId(1L, 2L);
+        verify(favoritoContadorService, never()).decrementar(any());
     }
 
     @Test
@@ -228,4 +259,39 @@ class FavoritoServiceTest {
         assertEquals(productoEntity, resultado.get(0).getProducto());
         verify(favoritoRepository, times(1)).findByUsuarioId(1L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void obtenerMarcados_DeberiaDevolverIdsYBitmapEnElOrdenPedido() {
+        // Arrange
+        when(favoritoRepository.findProductoIdsFavoritos(eq(1L), any())).thenReturn(List.of(9L, 3L));
+
+        // Act
+        FavoritosMarcadosDTO resultado = favoritoService.obtenerMarcados(1L, List.of(3L, 5L, 9L));
+
+        // Assert
+        assertEquals(List.of(3L, 9L), resultado.getProductoIds());
+        BitSet mapa = BitSet.valueOf(Base64.getDecoder().decode(resultado.getMapa()));
+        assertTrue(mapa.get(0));
+        assertFalse(mapa.get(1));
+        assertTrue(mapa.get(2));
+    }
+
+    @Test
+    void obtenerMarcados_SinIds_NoDeberiaConsultar() {
+        // Act
+        FavoritosMarcadosDTO resultado = favoritoService.obtenerMarcados(1L, List.of());
+
+        // Assert
+        assertTrue(resultado.getProductoIds().isEmpty());
+        verifyNoInteractions(favoritoRepository);
+    }
+
+    @Test
+    void obtenerMarcados_DemasiadosIds_DeberiaLanzarIllegalArgument() {
+        // Arrange
+        List<Long> ids = LongStream.rangeClosed(1, FavoritoService.MAXIMO_IDS_MARCADOS + 1).boxed().toList();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> favoritoService.obtenerMarcados(1L, ids));
+    }
+}
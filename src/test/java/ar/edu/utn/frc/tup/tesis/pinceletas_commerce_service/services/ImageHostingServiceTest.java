@@ -0,0 +1,85 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.ImagenPublicaEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.ImagenPublicaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageHostingServiceTest {
+
+    @TempDir
+    Path directorio;
+
+    @Mock
+    private ImagenPublicaRepository imagenPublicaRepository;
+
+    private ImageHostingService imageHostingService;
+
+    @BeforeEach
+    void setUp() {
+        imageHostingService = new ImageHostingService(imagenPublicaRepository);
+        ReflectionTestUtils.setField(imageHostingService, "uploadsPath", "file:" + directorio + "/");
+    }
+
+    @Test
+    void getPublicImageUrl_NombrePorContenido_DeberiaUsarElNombreComoHash() throws Exception {
+        // Arrange
+        String hash = "d".repeat(64);
+        Files.writeString(directorio.resolve(hash + ".jpg"), "pixeles");
+        when(imagenPublicaRepository.findById(hash))
+                .thenReturn(Optional.of(new ImagenPublicaEntity(hash, "https://i.ibb.co/abc/mate.jpg", LocalDateTime.now())));
+
+        // Act
+        String url = imageHostingService.getPublicImageUrl("/uploads/" + hash + ".jpg");
+
+        // Assert
+        assertEquals("https://i.ibb.co/abc/mate.jpg", url);
+        verify(imagenPublicaRepository, never()).save(any());
+    }
+
+    @Test
+    void getPublicImageUrl_NombreHeredado_DeberiaBuscarPorHashDelContenido() throws Exception {
+        // Arrange
+        Files.writeString(directorio.resolve("1700000000_mate.png"), "pixeles");
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest("pixeles".getBytes(StandardCharsets.UTF_8)));
+        when(imagenPublicaRepository.findById(hash))
+                .thenReturn(Optional.of(new ImagenPublicaEntity(hash, "https://i.ibb.co/abc/mate.png", LocalDateTime.now())));
+
+        // Act
+        String primera = imageHostingService.getPublicImageUrl("/uploads/1700000000_mate.png");
+        String segunda = imageHostingService.getPublicImageUrl("/uploads/1700000000_mate.png");
+
+        // Assert
+        assertEquals("https://i.ibb.co/abc/mate.png", primera);
+        assertEquals(primera, segunda);
+        verify(imagenPublicaRepository, times(2)).findById(hash);
+    }
+
+    @Test
+    void getPublicImageUrl_ArchivoInexistente_DeberiaDevolverPlaceholderSinConsultar() {
+        // Act
+        String url = imageHostingService.getPublicImageUrl("/uploads/no-existe.jpg");
+
+        // Assert
+        assertTrue(url.startsWith("https://via.placeholder.com/"));
+        verifyNoInteractions(imagenPublicaRepository);
+    }
+}
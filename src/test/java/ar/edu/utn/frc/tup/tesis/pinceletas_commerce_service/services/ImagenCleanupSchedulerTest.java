@@ -0,0 +1,90 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.LimpiezaImagenesEstadisticasDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.ProductoRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImagenCleanupSchedulerTest {
+
+    @TempDir
+    Path directorio;
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    private Path archivoAntiguo(String nombre, String contenido) throws IOException {
+        Path archivo = Files.writeString(directorio.resolve(nombre), contenido);
+        Files.setLastModifiedTime(archivo, FileTime.from(Instant.now().minus(Duration.ofDays(3))));
+        return archivo;
+    }
+
+    @Test
+    void limpiarImagenesHuerfanas_DeberiaBorrarSoloArchivosSinReferenciaFueraDeGracia() throws IOException {
+        // Arrange
+        archivoAntiguo("usada.jpg", "a");
+        archivoAntiguo("usada-w480.jpg", "b");
+        archivoAntiguo("huerfana.jpg", "ccc");
+        archivoAntiguo("huerfana-w160.jpg", "dd");
+        archivoAntiguo(".subida-123.tmp", "e");
+        Files.writeString(directorio.resolve("reciente.jpg"), "f");
+        when(productoRepository.findImagenesReferenciadas(anyCollection())).thenReturn(List.of("/uploads/usada.jpg"));
+        ImagenCleanupScheduler scheduler = new ImagenCleanupScheduler(productoRepository, directorio.toString(), 24, 200);
+
+        // Act
+        scheduler.limpiarImagenesHuerfanas();
+
+        // Assert
+        assertTrue(Files.exists(directorio.resolve("usada.jpg")));
+        assertTrue(Files.exists(directorio.resolve("usada-w480.jpg")));
+        assertTrue(Files.exists(directorio.resolve("reciente.jpg")));
+        assertFalse(Files.exists(directorio.resolve("huerfana.jpg")));
+        assertFalse(Files.exists(directorio.resolve("huerfana-w160.jpg")));
+        assertFalse(Files.exists(directorio.resolve(".subida-123.tmp")));
+
+        LimpiezaImagenesEstadisticasDTO estadisticas = scheduler.obtenerEstadisticas();
+        assertEquals(3L, estadisticas.getArchivosEliminados());
+        assertEquals(6L, estadisticas.getBytesLiberados());
+        assertEquals(6L, estadisticas.getArchivosRevisados());
+        assertEquals(1L, estadisticas.getVueltasCompletas());
+    }
+
+    @Test
+    void limpiarImagenesHuerfanas_DirectorioMayorQueElLote_DeberiaAvanzarPorLotes() throws IOException {
+        // Arrange
+        archivoAntiguo("a.jpg", "1");
+        archivoAntiguo("b.jpg", "2");
+        archivoAntiguo("c.jpg", "3");
+        when(productoRepository.findImagenesReferenciadas(anyCollection())).thenReturn(List.of());
+        ImagenCleanupScheduler scheduler = new ImagenCleanupScheduler(productoRepository, directorio.toString(), 24, 2);
+
+        // Act
+        scheduler.limpiarImagenesHuerfanas();
+
+        // Assert
+        assertFalse(Files.exists(directorio.resolve("a.jpg")));
+        assertFalse(Files.exists(directorio.resolve("b.jpg")));
+        assertTrue(Files.exists(directorio.resolve("c.jpg")));
+
+        scheduler.limpiarImagenesHuerfanas();
+        assertFalse(Files.exists(directorio.resolve("c.jpg")));
+        assertEquals(1L, scheduler.obtenerEstadisticas().getVueltasCompletas());
+        verify(productoRepository, times(2)).findImagenesReferenciadas(anyCollection());
+    }
+}
@@ -0,0 +1,90 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services.ImagenOptimizadorService.ResultadoOptimizacion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImagenOptimizadorServiceTest {
+
+    @TempDir
+    Path directorio;
+
+    private ImagenOptimizadorService imagenOptimizadorService;
+
+    @BeforeEach
+    void setUp() {
+        imagenOptimizadorService = new ImagenOptimizadorService(1000, 0.8f, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        imagenOptimizadorService.cerrar();
+    }
+
+    @Test
+    void optimizar_ImagenMasGrandeQueElMaximo_DeberiaLimitarElLadoMayor() throws IOException {
+        // Arrange
+        BufferedImage foto = new BufferedImage(2400, 1200, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(7);
+        for (int x = 0; x < foto.getWidth(); x += 4) {
+            for (int y = 0; y < foto.getHeight(); y += 4) {
+                foto.setRGB(x, y, random.nextInt());
+            }
+        }
+        Path archivo = directorio.resolve("foto.tmp");
+        ImageIO.write(foto, "jpg", archivo.toFile());
+
+        // Act
+        ResultadoOptimizacion resultado = imagenOptimizadorService.optimizar(archivo, ".jpg");
+
+        // Assert
+        assertNotNull(resultado);
+        assertTrue(resultado.bytesFinales() < resultado.bytesOriginales());
+        assertEquals(Files.size(archivo), resultado.bytesFinales());
+        BufferedImage optimizada = ImageIO.read(archivo.toFile());
+        assertEquals(1000, optimizada.getWidth());
+        assertEquals(500, optimizada.getHeight());
+    }
+
+    @Test
+    void optimizar_ContenidoQueNoEsImagen_DeberiaDejarElArchivoIgual() throws IOException {
+        // Arrange
+        Path archivo = Files.writeString(directorio.resolve("roto.tmp"), "no-es-una-imagen");
+
+        // Act
+        ResultadoOptimizacion resultado = imagenOptimizadorService.optimizar(archivo, ".jpg");
+
+        // Assert
+        assertNull(resultado);
+        assertEquals("no-es-una-imagen", Files.readString(archivo));
+        assertNull(imagenOptimizadorService.optimizar(archivo, ".gif"));
+    }
+
+    @Test
+    void orientacionExif_DeberiaLeerElTagDeOrientacion() {
+        // Arrange: SOI + APP1 "Exif" con TIFF big-endian y una entrada 0x0112 = 6
+        byte[] conExif = {
+                (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE1, 0x00, 0x22,
+                'E', 'x', 'i', 'f', 0x00, 0x00,
+                'M', 'M', 0x00, 0x2A, 0x00, 0x00, 0x00, 0x08,
+                0x00, 0x01,
+                0x01, 0x12, 0x00, 0x03, 0x00, 0x00, 0x00, 0x01, 0x00, 0x06, 0x00, 0x00,
+                0x00, 0x00, 0x00, 0x00};
+        byte[] sinExif = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xDA, 0x00, 0x02};
+
+        // Act & Assert
+        assertEquals(6, ImagenOptimizadorService.orientacionExif(conExif));
+        assertEquals(0, ImagenOptimizadorService.orientacionExif(sinExif));
+    }
+}
@@ -0,0 +1,93 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImagenStorageServiceTest {
+
+    @TempDir
+    Path directorio;
+
+    private ImagenOptimizadorService imagenOptimizadorService;
+    private ImagenStorageService imagenStorageService;
+
+    @BeforeEach
+    void setUp() {
+        imagenOptimizadorService = new ImagenOptimizadorService(2048, 0.82f, 1);
+        imagenStorageService = new ImagenStorageService(directorio.toString(), imagenOptimizadorService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        imagenStorageService.cerrar();
+        imagenOptimizadorService.cerrar();
+    }
+
+    private MultipartFile imagen(String nombre, String contenido) {
+        return new MockMultipartFile("imagenes", nombre, "image/jpeg", contenido.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void guardarTodas_ContenidoRepetido_DeberiaGuardarUnSoloArchivo() throws IOException {
+        // Arrange
+        List<MultipartFile> imagenes = List.of(
+                imagen("frente.JPG", "pixeles-a"),
+                imagen("copia.jpg", "pixeles-a"),
+                imagen("dorso.png", "pixeles-b"));
+
+        // Act
+        List<String> urls = imagenStorageService.guardarTodas(imagenes);
+
+        // Assert
+        assertEquals(3, urls.size());
+        assertEquals(urls.get(0), urls.get(1));
+        assertTrue(urls.get(0).matches("/uploads/[0-9a-f]{64}\\.jpg"));
+        assertTrue(urls.get(2).endsWith(".png"));
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            assertEquals(2, archivos.count()); // sin temporales sobrantes
+        }
+    }
+
+    @Test
+    void guardarTodas_MasDelMaximo_DeberiaGuardarSoloLasPrimeras() {
+        // Arrange
+        List<MultipartFile> imagenes = Stream.iterate(1, i -> i + 1).limit(7)
+                .map(i -> imagen("imagen" + i + ".jpg", "contenido-" + i))
+                .toList();
+
+        // Act
+        List<String> urls = imagenStorageService.guardarTodas(imagenes);
+
+        // Assert
+        assertEquals(ImagenStorageService.MAXIMO_IMAGENES, urls.size());
+        assertEquals(imagenStorageService.guardar(imagenes.get(0)), urls.get(0));
+    }
+
+    @Test
+    void guardarTodas_ImagenDemasiadoGrande_DeberiaRechazarSinEscribir() throws IOException {
+        // Arrange
+        MultipartFile grande = new MockMultipartFile("imagenes", "grande.jpg", "image/jpeg",
+                new byte[(int) ImagenStorageService.TAMANIO_MAXIMO_IMAGEN + 1]);
+        List<MultipartFile> imagenes = List.of(imagen("chica.jpg", "pixeles"), grande);
+
+        // Act & Assert
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> imagenStorageService.guardarTodas(imagenes));
+        assertTrue(ex.getMessage().contains("grande.jpg"));
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            assertEquals(0, archivos.count());
+        }
+    }
+}
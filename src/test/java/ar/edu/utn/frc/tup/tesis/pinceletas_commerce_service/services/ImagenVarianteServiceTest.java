@@ -0,0 +1,54 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImagenVarianteServiceTest {
+
+    @TempDir
+    Path directorio;
+
+    private ImagenVarianteService imagenVarianteService;
+
+    @BeforeEach
+    void setUp() {
+        imagenVarianteService = new ImagenVarianteService(directorio.toString(), List.of(160, 480, 1024), 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        imagenVarianteService.cerrar();
+    }
+
+    @Test
+    void generar_DeberiaCrearSoloLasVariantesMasAngostasQueElOriginal() throws IOException {
+        // Arrange
+        ImageIO.write(new BufferedImage(600, 300, BufferedImage.TYPE_INT_RGB), "jpg",
+                directorio.resolve("abc123.jpg").toFile());
+
+        // Act
+        imagenVarianteService.generar("/uploads/abc123.jpg");
+
+        // Assert
+        assertEquals(List.of(160, 480), imagenVarianteService.anchosDisponibles("/uploads/abc123.jpg"));
+        BufferedImage variante = ImageIO.read(directorio.resolve("abc123-w160.jpg").toFile());
+        assertEquals(160, variante.getWidth());
+        assertEquals(80, variante.getHeight());
+    }
+
+    @Test
+    void anchosDisponibles_ImagenExterna_DeberiaRetornarVacio() {
+        assertTrue(imagenVarianteService.anchosDisponibles("https://cdn.ejemplo.com/imagen.jpg").isEmpty());
+        assertTrue(imagenVarianteService.anchosDisponibles("/uploads/../secreto.jpg").isEmpty());
+    }
+}
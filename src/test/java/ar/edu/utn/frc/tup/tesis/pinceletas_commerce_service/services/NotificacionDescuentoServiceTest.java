@@ -0,0 +1,123 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.configs.UserAuthClient;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.DescuentoFavoritoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.TrabajoNotificacionDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.UserResponseDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.EstadoTrabajoNotificacion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificacionDescuentoServiceTest {
+
+    @Mock
+    private UserAuthClient userAuthClient;
+
+    @Mock
+    private EmailService emailService;
+
+    private NotificacionDescuentoService notificacionDescuentoService;
+
+    private final DescuentoFavoritoDTO descuento = DescuentoFavoritoDTO.builder()
+            .productoId(1L)
+            .nombre("Pintura Acrílica")
+            .precioOriginal(new BigDecimal("1500.00"))
+            .descuentoPorcentaje(new BigDecimal("10"))
+            .precioConDescuento(new BigDecimal("1350.00"))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        notificacionDescuentoService = new NotificacionDescuentoService(userAuthClient, emailService, 2, 2, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificacionDescuentoService.cerrar();
+    }
+
+    @Test
+    void notificarDescuentos_DeberiaVolverEnseguidaYRegistrarElAvance() throws InterruptedException {
+        // Arrange
+        Map<Long, List<DescuentoFavoritoDTO>> descuentosPorUsuario = new LinkedHashMap<>();
+        descuentosPorUsuario.put(1L, List.of(descuento));
+        descuentosPorUsuario.put(2L, List.of(descuento, descuento));
+        descuentosPorUsuario.put(3L, List.of(descuento));
+        when(userAuthClient.obtenerUsuarioPorId(1L)).thenReturn(usuario(1L, "ana@mail.com"));
+        when(userAuthClient.obtenerUsuarioPorId(2L)).thenReturn(usuario(2L, "luis@mail.com"));
+        when(userAuthClient.obtenerUsuarioPorId(3L)).thenReturn(usuario(3L, null));
+
+        // Act
+        String trabajoId = notificacionDescuentoService.notificarDescuentos(descuentosPorUsuario);
+        TrabajoNotificacionDTO trabajo = esperarFin(trabajoId);
+
+        // Assert
+        assertEquals(3, trabajo.getTotal());
+        assertEquals(2, trabajo.getEnviados());
+        assertEquals(1, trabajo.getOmitidos());
+        assertEquals(0, trabajo.getFallidos());
+        verify(emailService).enviarEmailDescuentoFavorito(eq("ana@mail.com"), any(), eq("Pintura Acrílica"),
+                any(), any(), any(), any(), eq(1L));
+        verify(emailService).enviarEmailDescuentosFavoritos(eq("luis@mail.com"), any(), anyList());
+    }
+
+    @Test
+    void notificarDescuentos_FallaUnUsuario_DeberiaSeguirConLosDemas() throws InterruptedException {
+        // Arrange
+        Map<Long, List<DescuentoFavoritoDTO>> descuentosPorUsuario = new LinkedHashMap<>();
+        descuentosPorUsuario.put(1L, List.of(descuento));
+        descuentosPorUsuario.put(2L, List.of(descuento));
+        when(userAuthClient.obtenerUsuarioPorId(1L)).thenThrow(new RuntimeException("timeout"));
+        when(userAuthClient.obtenerUsuarioPorId(2L)).thenReturn(usuario(2L, "luis@mail.com"));
+
+        // Act
+        TrabajoNotificacionDTO trabajo = esperarFin(notificacionDescuentoService.notificarDescuentos(descuentosPorUsuario));
+
+        // Assert
+        assertEquals(1, trabajo.getEnviados());
+        assertEquals(1, trabajo.getFallidos());
+        assertEquals(List.of("usuario 1: timeout"), trabajo.getErrores());
+        assertEquals(1, notificacionDescuentoService.obtenerTrabajos().size());
+    }
+
+    @Test
+    void obtenerTrabajo_Inexistente_DeberiaEstarVacio() {
+        assertTrue(notificacionDescuentoService.obtenerTrabajo("no-existe").isEmpty());
+    }
+
+    private TrabajoNotificacionDTO esperarFin(String trabajoId) throws InterruptedException {
+        for (int intento = 0; intento < 200; intento++) {
+            TrabajoNotificacionDTO trabajo = notificacionDescuentoService.obtenerTrabajo(trabajoId).orElseThrow();
+            if (trabajo.getEstado() == EstadoTrabajoNotificacion.COMPLETADO) {
+                return trabajo;
+            }
+            Thread.sleep(25);
+        }
+        return fail("El trabajo no terminó");
+    }
+
+    private UserResponseDTO usuario(Long id, String email) {
+        UserResponseDTO usuario = new UserResponseDTO();
+        usuario.setId(id);
+        usuario.setEmail(email);
+        usuario.setNombre("Nombre");
+        usuario.setApellido("Apellido");
+        return usuario;
+    }
+}
@@ -24,6 +24,12 @@ class OpcionProductoServiceTest {
     @Mock
     private OpcionProductoRepository opcionRepository;
 
+    @Mock
+    private CatalogoCacheService catalogoCacheService;
+
+    @Mock
+    private CatalogoVersionService catalogoVersionService;
+
     @InjectMocks
     private OpcionProductoService opcionProductoService;
 
@@ -0,0 +1,246 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.Rabbit.NotificacionEventService;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.configs.UserAuthClient;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ItemPedidoRequestDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ItemPedidoResponseDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.MercadoPagoResponseDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.PedidoRequestDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.PedidoResponseDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.UserResponseDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.ItemPedidoEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.OpcionProductoEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.PedidoEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.ProductoEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.AuditoriaPedidoRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.CarritoRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.ItemPedidoRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.OpcionProductoRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.PedidoRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.ProductoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.modelmapper.ModelMapper;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PedidoServiceTest {
+
+    @Mock
+    private PedidoRepository pedidoRepository;
+
+    @Mock
+    private ItemPedidoRepository itemPedidoRepository;
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private OpcionProductoRepository opcionProductoRepository;
+
+    @Mock
+    private CarritoRepository carritoRepository;
+
+    @Mock
+    private CarritoMemoriaService carritoMemoriaService;
+
+    @Mock
+    private UserAuthClient userAuthClient;
+
+    @Mock
+    private ModelMapper modelMapper;
+
+    @Mock
+    private NotificacionEventService notificacionEventService;
+
+    @Mock
+    private MercadoPagoService mercadoPagoService;
+
+    @Mock
+    private AuditoriaPedidoRepository auditoriaPedidoRepository;
+
+    @Mock
+    private ConfiguracionEnvioService configuracionEnvioService;
+
+    @InjectMocks
+    private PedidoService pedidoService;
+
+    private UserResponseDTO usuario;
+    private ProductoEntity pintura;
+    private ProductoEntity pincel;
+    private OpcionProductoEntity opcionRojo;
+
+    @BeforeEach
+    void setUp() {
+        usuario = new UserResponseDTO();
+        usuario.setId(7L);
+        usuario.setEmail("ana@mail.com");
+        usuario.setNombre("Ana");
+        usuario.setApellido("Pérez");
+        usuario.setCalle("San Martín");
+        usuario.setNumero("100");
+        usuario.setCiudad("Córdoba");
+        usuario.setProvincia("Córdoba");
+        usuario.setPais("Argentina");
+        usuario.setCodigoPostal("5000");
+
+        pintura = producto(1L, "Pintura Acrílica", "1500.00", "10");
+        pincel = producto(2L, "Pincel", "300.00", "0");
+
+        opcionRojo = new OpcionProductoEntity();
+        opcionRojo.setId(5L);
+        opcionRojo.setTipo("Rojo");
+    }
+
+    @Test
+    void crearPedido_VariasLineas_DeberiaCargarProductosYOpcionesUnaSolaVez() {
+        // Arrange
+        PedidoRequestDTO request = request(
+                item(1L, 5L, 2), item(2L, null, 3), item(1L, null, 1), item(2L, 5L, 4));
+        prepararCreacion();
+        when(productoRepository.findConImagenesYCategoriaPorIds(Set.of(1L, 2L))).thenReturn(List.of(pintura, pincel));
+        when(opcionProductoRepository.findConProductoPorIds(Set.of(5L))).thenReturn(List.of(opcionRojo));
+
+        // Act
+        pedidoService.crearPedido(request, "token");
+
+        // Assert
+        verify(productoRepository, times(1)).findConImagenesYCategoriaPorIds(any());
+        verify(opcionProductoRepository, times(1)).findConProductoPorIds(any());
+        verify(productoRepository, never()).findById(any());
+        verify(opcionProductoRepository, never()).findById(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void crearPedido_DeberiaGuardarLosItemsConUnSoloSaveAll() {
+        // Arrange
+        PedidoRequestDTO request = request(item(1L, 5L, 2), item(2L, null, 3));
+        prepararCreacion();
+        when(productoRepository.findConImagenesYCategoriaPorIds(Set.of(1L, 2L))).thenReturn(List.of(pintura, pincel));
+        when(opcionProductoRepository.findConProductoPorIds(Set.of(5L))).thenReturn(List.of(opcionRojo));
+
+        // Act
+        pedidoService.crearPedido(request, "token");
+
+        // Assert
+        ArgumentCaptor<List<ItemPedidoEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(itemPedidoRepository, times(1)).saveAll(captor.capture());
+        verify(itemPedidoRepository, never()).save(any());
+        List<ItemPedidoEntity> items = captor.getValue();
+        assertEquals(2, items.size());
+        assertEquals(pintura, items.get(0).getProducto());
+        assertEquals(opcionRojo, items.get(0).getOpcionSeleccionada());
+        assertEquals(new BigDecimal("10"), items.get(0).getDescuentoPorcentaje());
+        assertNull(items.get(1).getOpcionSeleccionada());
+        assertEquals(3, items.get(1).getCantidad());
+    }
+
+    @Test
+    void crearPedido_DeberiaCalcularElTotalConLaCalculadoraDePrecios() {
+        // Arrange
+        PedidoRequestDTO request = request(item(1L, null, 2), item(2L, null, 3));
+        prepararCreacion();
+        when(productoRepository.findConImagenesYCategoriaPorIds(Set.of(1L, 2L))).thenReturn(List.of(pintura, pincel));
+
+        // Act
+        pedidoService.crearPedido(request, "token");
+
+        // Assert
+        BigDecimal esperado = CalculadoraPrecios.subtotal(pintura.getPrecio(), pintura.getDescuentoPorcentaje(), 2)
+                .add(CalculadoraPrecios.subtotal(pincel.getPrecio(), pincel.getDescuentoPorcentaje(), 3));
+        ArgumentCaptor<PedidoEntity> captor = ArgumentCaptor.forClass(PedidoEntity.class);
+        verify(pedidoRepository, atLeastOnce()).save(captor.capture());
+        assertEquals(0, esperado.compareTo(captor.getValue().getTotal()));
+        verify(opcionProductoRepository, never()).findConProductoPorIds(any());
+    }
+
+    @Test
+    void crearPedido_ProductoInexistente_DeberiaLanzarExcepcionSinGuardarNada() {
+        // Arrange
+        PedidoRequestDTO request = request(item(1L, null, 1), item(9L, null, 1));
+        when(userAuthClient.obtenerUsuarioPorEmail("ana@mail.com", "token")).thenReturn(usuario);
+        when(productoRepository.findConImagenesYCategoriaPorIds(Set.of(1L, 9L))).thenReturn(List.of(pintura));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> pedidoService.crearPedido(request, "token"));
+
+        assertEquals("Producto no encontrado: 9", exception.getMessage());
+        verify(pedidoRepository, never()).save(any());
+        verify(itemPedidoRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void crearPedido_OpcionInexistente_DeberiaLanzarExcepcionSinGuardarNada() {
+        // Arrange
+        PedidoRequestDTO request = request(item(1L, 5L, 1), item(2L, 8L, 1));
+        when(userAuthClient.obtenerUsuarioPorEmail("ana@mail.com", "token")).thenReturn(usuario);
+        when(productoRepository.findConImagenesYCategoriaPorIds(Set.of(1L, 2L))).thenReturn(List.of(pintura, pincel));
+        when(opcionProductoRepository.findConProductoPorIds(Set.of(5L, 8L))).thenReturn(List.of(opcionRojo));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> pedidoService.crearPedido(request, "token"));
+
+        assertEquals("Opción no encontrada: 8", exception.getMessage());
+        verify(pedidoRepository, never()).save(any());
+        verify(itemPedidoRepository, never()).saveAll(anyList());
+    }
+
+    /** Stubs del resto del flujo de creación (usuario, guardado, Mercado Pago y mapeo) */
+    private void prepararCreacion() {
+        when(userAuthClient.obtenerUsuarioPorEmail("ana@mail.com", "token")).thenReturn(usuario);
+        when(pedidoRepository.save(any(PedidoEntity.class))).thenAnswer(invocation -> {
+            PedidoEntity pedido = invocation.getArgument(0);
+            pedido.setId(100L);
+            return pedido;
+        });
+        when(itemPedidoRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        MercadoPagoResponseDTO mpResponse = new MercadoPagoResponseDTO();
+        mpResponse.setId("pref-1");
+        when(mercadoPagoService.crearPreferenciaPago(any())).thenReturn(mpResponse);
+        when(modelMapper.map(any(), eq(PedidoResponseDTO.class))).thenReturn(new PedidoResponseDTO());
+        when(modelMapper.map(any(), eq(ItemPedidoResponseDTO.class)))
+                .thenAnswer(invocation -> new ItemPedidoResponseDTO());
+    }
+
+    private PedidoRequestDTO request(ItemPedidoRequestDTO... items) {
+        return PedidoRequestDTO.builder()
+                .emailContacto("ana@mail.com")
+                .tipoEntrega("retiro")
+                .items(List.of(items))
+                .build();
+    }
+
+    private ItemPedidoRequestDTO item(Long productoId, Long opcionId, int cantidad) {
+        return ItemPedidoRequestDTO.builder()
+                .productoId(productoId)
+                .opcionSeleccionadaId(opcionId)
+                .cantidad(cantidad)
+                .build();
+    }
+
+    private ProductoEntity producto(Long id, String nombre, String precio, String descuento) {
+        ProductoEntity producto = new ProductoEntity();
+        producto.setId(id);
+        producto.setNombre(nombre);
+        producto.setPrecio(new BigDecimal(precio));
+        producto.setDescuentoPorcentaje(new BigDecimal(descuento));
+        return producto;
+    }
+}
@@ -0,0 +1,148 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ActualizacionMasivaProductosDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.DescuentoFavoritoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ResultadoActualizacionMasivaDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.AuditoriaProductoEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.AuditoriaProductoJdbcRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.FavoritoRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.ProductoRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections.FavoritoUsuarioProjection;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections.ProductoPrecioProjection;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductoActualizacionMasivaServiceTest {
+
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private FavoritoRepository favoritoRepository;
+
+    @Mock
+    private AuditoriaProductoJdbcRepository auditoriaProductoJdbcRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private CatalogoCacheService catalogoCacheService;
+
+    @Mock
+    private CatalogoVersionService catalogoVersionService;
+
+    @Mock
+    private NotificacionDescuentoService notificacionDescuentoService;
+
+    @InjectMocks
+    private ProductoActualizacionMasivaService productoActualizacionMasivaService;
+
+    private ProductoPrecioProjection precio(Long id, String precio, String descuento) {
+        Map<String, Object> fila = new HashMap<>();
+        fila.put("id", id);
+        fila.put("nombre", "Producto " + id);
+        fila.put("precio", new BigDecimal(precio));
+        fila.put("descuentoPorcentaje", new BigDecimal(descuento));
+        return projectionFactory.createProjection(ProductoPrecioProjection.class, fila);
+    }
+
+    private FavoritoUsuarioProjection favorito(Long usuarioId, Long productoId) {
+        return projectionFactory.createProjection(FavoritoUsuarioProjection.class,
+                Map.of("usuarioId", usuarioId, "productoId", productoId));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void actualizarProductos_PorCategoria_DeberiaAgruparNotificacionesPorUsuario() {
+        // Arrange
+        ActualizacionMasivaProductosDTO dto = ActualizacionMasivaProductosDTO.builder()
+                .categoriaId(1L)
+                .descuentoPorcentaje(new BigDecimal("20"))
+                .build();
+
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(productoRepository.findIdsByCategoriaId(1L)).thenReturn(List.of(1L, 2L, 3L));
+        when(productoRepository.bloquearPreciosPorIds(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                precio(1L, "1000.00", "10"), precio(2L, "500.00", "0"), precio(3L, "200.00", "0")));
+        when(favoritoRepository.findUsuariosPorProductoIds(anyCollection())).thenReturn(List.of(
+                favorito(5L, 2L), favorito(5L, 3L), favorito(6L, 2L)));
+
+        // Act
+        ResultadoActualizacionMasivaDTO resultado = productoActualizacionMasivaService.actualizarProductos(dto, 1L);
+
+        // Assert
+        assertEquals(3, resultado.getProductosActualizados());
+        assertEquals(2, resultado.getProductosEnDescuento());
+        assertEquals(2, resultado.getUsuariosANotificar());
+
+        verify(productoRepository, times(1)).actualizarDescuentoPorIds(List.of(1L, 2L, 3L), new BigDecimal("20"));
+        verify(productoRepository, times(1)).recalcularPrecioFinalPorIds(List.of(1L, 2L, 3L));
+        verify(productoRepository, never()).ajustarPrecioPorIds(anyCollection(), any());
+
+        ArgumentCaptor<List<AuditoriaProductoEntity>> auditorias = ArgumentCaptor.forClass(List.class);
+        verify(auditoriaProductoJdbcRepository, times(1)).insertarLote(auditorias.capture());
+        assertEquals(3, auditorias.getValue().size());
+
+        ArgumentCaptor<Map<Long, List<DescuentoFavoritoDTO>>> notificaciones = ArgumentCaptor.forClass(Map.class);
+        verify(notificacionDescuentoService, times(1)).notificarDescuentos(notificaciones.capture());
+        assertEquals(2, notificaciones.getValue().get(5L).size());
+        assertEquals(new BigDecimal("400.00"), notificaciones.getValue().get(6L).get(0).getPrecioConDescuento());
+        verify(catalogoCacheService, times(1)).invalidarTodo();
+    }
+
+    @Test
+    void actualizarProductos_IdsYCategoriaJuntos_DeberiaLanzarExcepcion() {
+        // Arrange
+        ActualizacionMasivaProductosDTO dto = ActualizacionMasivaProductosDTO.builder()
+                .productoIds(List.of(1L))
+                .categoriaId(1L)
+                .descuentoPorcentaje(new BigDecimal("20"))
+                .build();
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                productoActualizacionMasivaService.actualizarProductos(dto, 1L));
+
+        assertEquals("Debe indicar productoIds o categoriaId, no ambos", exception.getMessage());
+        verifyNoInteractions(productoRepository, notificacionDescuentoService);
+    }
+
+    @Test
+    void actualizarProductos_SinIdsNiCategoria_DeberiaLanzarExcepcion() {
+        // Arrange
+        ActualizacionMasivaProductosDTO dto = ActualizacionMasivaProductosDTO.builder()
+                .productoIds(List.of())
+                .descuentoPorcentaje(new BigDecimal("20"))
+                .build();
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                productoActualizacionMasivaService.actualizarProductos(dto, 1L));
+
+        assertEquals("Debe indicar productoIds o categoriaId", exception.getMessage());
+        verifyNoInteractions(productoRepository, notificacionDescuentoService);
+    }
+}
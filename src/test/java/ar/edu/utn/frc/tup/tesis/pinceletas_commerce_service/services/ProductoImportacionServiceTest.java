@@ -0,0 +1,137 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ProductoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ResultadoImportacionDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.CategoriaEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.entities.OpcionProductoEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.FormatoImportacion;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.AuditoriaProductoJdbcRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.CategoriaRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.OpcionProductoRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.ProductoJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductoImportacionServiceTest {
+
+    @Mock
+    private CategoriaRepository categoriaRepository;
+
+    @Mock
+    private OpcionProductoRepository opcionProductoRepository;
+
+    @Mock
+    private ProductoJdbcRepository productoJdbcRepository;
+
+    @Mock
+    private AuditoriaProductoJdbcRepository auditoriaProductoJdbcRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private CatalogoCacheService catalogoCacheService;
+
+    @Mock
+    private CatalogoVersionService catalogoVersionService;
+
+    @InjectMocks
+    private ProductoImportacionService productoImportacionService;
+
+    @BeforeEach
+    void setUp() {
+        CategoriaEntity categoria = new CategoriaEntity();
+        categoria.setId(1L);
+        categoria.setNombre("Pinturas");
+        when(categoriaRepository.findAll()).thenReturn(List.of(categoria));
+
+        OpcionProductoEntity opcion = new OpcionProductoEntity();
+        opcion.setId(7L);
+        when(opcionProductoRepository.findAll()).thenReturn(List.of(opcion));
+
+        // Ejecuta el callback de la transacción directamente
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> accion = invocation.getArgument(0);
+            accion.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importarProductos_Csv_DeberiaInsertarFilasValidasYReportarErrores() {
+        // Arrange
+        ReflectionTestUtils.setField(productoImportacionService, "tamanioLote", 500);
+        String csv = "nombre,descripcion,precio,categoria,opcionesIds\n" +
+                "Pintura Acrílica,\"Rojo, 500ml\",1500.00,pinturas,7\n" +
+                "Pincel,,300,Pinturas,\n" +
+                "Lienzo,,no-es-precio,Pinturas,\n";
+        MockMultipartFile archivo = new MockMultipartFile("archivo", "productos.csv", "text/csv",
+                csv.getBytes(StandardCharsets.UTF_8));
+        when(productoJdbcRepository.reservarIds(2)).thenReturn(List.of(10L, 11L));
+
+        // Act
+        ResultadoImportacionDTO resultado = productoImportacionService.importarProductos(
+                archivo, FormatoImportacion.CSV, 1L);
+
+        // Assert
+        assertEquals(3, resultado.getFilasLeidas());
+        assertEquals(2, resultado.getImportados());
+        assertEquals(1, resultado.getConError());
+        assertEquals(3, resultado.getErrores().get(0).getFila());
+
+        ArgumentCaptor<List<ProductoDTO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(productoJdbcRepository).insertarProductos(captor.capture());
+        ProductoDTO primero = captor.getValue().get(0);
+        assertEquals(10L, primero.getId());
+        assertEquals("Rojo, 500ml", primero.getDescripcion());
+        assertEquals(1L, primero.getCategoriaId());
+        assertEquals(List.of(7L), primero.getOpcionesIds());
+        assertEquals(BigDecimal.ZERO, primero.getDescuentoPorcentaje());
+        assertTrue(primero.getActivo());
+        verify(auditoriaProductoJdbcRepository, times(1)).insertarLote(anyList());
+        verify(catalogoCacheService, times(1)).invalidarListados();
+    }
+
+    @Test
+    void importarProductos_Ndjson_DeberiaGuardarEnLotesDelTamanioConfigurado() {
+        // Arrange
+        ReflectionTestUtils.setField(productoImportacionService, "tamanioLote", 1);
+        String ndjson = "{\"nombre\":\"Pincel\",\"precio\":300,\"categoriaId\":1}\n" +
+                "\n" +
+                "{\"nombre\":\"Lienzo\",\"precio\":900,\"categoriaId\":1,\"opcionesIds\":[99]}\n" +
+                "{\"nombre\":\"Bastidor\",\"precio\":1200,\"categoriaId\":1}\n";
+        MockMultipartFile archivo = new MockMultipartFile("archivo", "productos.ndjson", "application/x-ndjson",
+                ndjson.getBytes(StandardCharsets.UTF_8));
+        when(productoJdbcRepository.reservarIds(1)).thenReturn(List.of(20L), List.of(21L));
+
+        // Act
+        ResultadoImportacionDTO resultado = productoImportacionService.importarProductos(
+                archivo, FormatoImportacion.NDJSON, 1L);
+
+        // Assert
+        assertEquals(2, resultado.getImportados());
+        assertEquals("Opción no encontrada: 99", resultado.getErrores().get(0).getMensaje());
+        verify(productoJdbcRepository, times(2)).insertarProductos(anyList());
+    }
+}
@@ -0,0 +1,252 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.FacetaDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.FiltroProductoDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.PaginaCursorDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.PaginaDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ProductoLecturaDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.dtos.ResultadoFiltroProductosDTO;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.enums.OrdenProducto;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.ProductoRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections.ProductoDetalleProjection;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections.ProductoImagenProjection;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections.ProductoOpcionProjection;
+import ar.edu.utn.frc.tup.tesis.pinceletas_commerce_service.repositories.projections.ProductoResumenProjection;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductoLecturaServiceTest {
+
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private ImagenVarianteService imagenVarianteService;
+
+    @InjectMocks
+    private ProductoLecturaService productoLecturaService;
+
+    private ProductoResumenProjection resumen(Long id, String nombre, String precio) {
+        Map<String, Object> fila = new HashMap<>();
+        fila.put("id", id);
+        fila.put("nombre", nombre);
+        fila.put("precio", precio != null ? new BigDecimal(precio) : null);
+        fila.put("precioFinal", precio != null ? new BigDecimal(precio) : null);
+        fila.put("activo", true);
+        fila.put("descuentoPorcentaje", BigDecimal.ZERO);
+        fila.put("categoriaId", 1L);
+        fila.put("categoriaNombre", "Pinturas");
+        return projectionFactory.createProjection(ProductoResumenProjection.class, fila);
+    }
+
+    private ProductoImagenProjection imagen(Long productoId, String url) {
+        return projectionFactory.createProjection(ProductoImagenProjection.class,
+                Map.of("productoId", productoId, "imagenUrl", url));
+    }
+
+    private ProductoOpcionProjection opcion(Long productoId, Long opcionId, String tipo) {
+        return projectionFactory.createProjection(ProductoOpcionProjection.class,
+                Map.of("productoId", productoId, "opcionId", opcionId, "tipo", tipo));
+    }
+
+    @Test
+    void listarProductos_DeberiaCargarImagenesYOpcionesEnLote() {
+        // Arrange
+        when(productoRepository.findAllResumen()).thenReturn(Arrays.asList(
+                resumen(1L, "Pintura Acrílica", "1500.00"), resumen(2L, "Pincel", "300.00")));
+        when(productoRepository.findImagenesPorProductoIds(List.of(1L, 2L))).thenReturn(Arrays.asList(
+                imagen(1L, "/uploads/imagen1.jpg"), imagen(1L, "/uploads/imagen2.jpg"),
+                imagen(2L, "/uploads/pincel.jpg")));
+        when(productoRepository.findOpcionesPorProductoIds(List.of(1L, 2L)))
+                .thenReturn(List.of(opcion(1L, 5L, "Color Rojo")));
+
+        // Act
+        List<ProductoLecturaDTO> resultado = productoLecturaService.listarProductos();
+
+        // Assert
+        assertEquals(2, resultado.size());
+        assertEquals(List.of("/uploads/imagen1.jpg", "/uploads/imagen2.jpg"), resultado.get(0).getImagenes());
+        assertEquals("Pinturas", resultado.get(0).getCategoria().getNombre());
+        assertEquals(5L, resultado.get(0).getOpciones().get(0).getId());
+        assertTrue(resultado.get(1).getOpciones().isEmpty());
+        verify(productoRepository, times(1)).findImagenesPorProductoIds(anyCollection());
+        verify(productoRepository, times(1)).findOpcionesPorProductoIds(anyCollection());
+    }
+
+    @Test
+    void obtenerProducto_DeberiaArmarElDetalleDesdeUnaSolaConsulta() {
+        // Arrange
+        Map<String, Object> fila = new HashMap<>();
+        fila.put("id", 1L);
+        fila.put("nombre", "Pintura Acrílica");
+        fila.put("precio", new BigDecimal("1500.00"));
+        fila.put("precioFinal", new BigDecimal("1350.00"));
+        fila.put("descuentoPorcentaje", new BigDecimal("10"));
+        fila.put("activo", true);
+        fila.put("categoriaId", 1L);
+        fila.put("categoriaNombre", "Pinturas");
+        fila.put("imagenes", "[\"/uploads/imagen1.jpg\", \"/uploads/imagen2.jpg\"]");
+        fila.put("opciones", "[{\"id\": 5, \"tipo\": \"Color Rojo\"}]");
+        when(productoRepository.findDetallePorId(1L)).thenReturn(Optional.of(
+                projectionFactory.createProjection(ProductoDetalleProjection.class, fila)));
+
+        // Act
+        ProductoLecturaDTO resultado = productoLecturaService.obtenerProducto(1L);
+
+        // Assert
+        assertEquals(List.of("/uploads/imagen1.jpg", "/uploads/imagen2.jpg"), resultado.getImagenes());
+        assertEquals(new BigDecimal("1350.00"), resultado.getPrecioFinal());
+        assertEquals("Pinturas", resultado.getCategoria().getNombre());
+        assertEquals(5L, resultado.getOpciones().get(0).getId());
+        assertEquals("Color Rojo", resultado.getOpciones().get(0).getTipo());
+        verify(productoRepository, never()).findImagenesPorProductoIds(anyCollection());
+        verify(productoRepository, never()).findOpcionesPorProductoIds(anyCollection());
+    }
+
+    @Test
+    void obtenerProducto_NoExiste_DeberiaLanzarExcepcion() {
+        // Arrange
+        when(productoRepository.findDetallePorId(1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                productoLecturaService.obtenerProducto(1L));
+
+        assertEquals("Producto no encontrado", exception.getMessage());
+        verify(productoRepository, never()).findImagenesPorProductoIds(anyCollection());
+    }
+
+    @Test
+    void listarProductosPaginados_SinCursor_DeberiaRetornarPrimeraPaginaConCursor() {
+        // Arrange
+        when(productoRepository.findPrimeraPaginaPorId(3)).thenReturn(Arrays.asList(
+                resumen(1L, "A", "1.00"), resumen(2L, "B", "2.00"), resumen(3L, "C", "3.00")));
+
+        // Act
+        PaginaCursorDTO<ProductoLecturaDTO> pagina = productoLecturaService.listarProductosPaginados(null, 2, OrdenProducto.ID);
+
+        // Assert
+        assertEquals(2, pagina.getItems().size());
+        assertTrue(pagina.getHayMas());
+        assertNotNull(pagina.getSiguienteCursor());
+        verify(productoRepository, times(1)).findImagenesPorProductoIds(List.of(1L, 2L));
+    }
+
+    @Test
+    void listarProductosPaginados_ConCursor_DeberiaContinuarDesdeUltimoElemento() {
+        // Arrange
+        when(productoRepository.findPrimeraPaginaPorPrecio(2)).thenReturn(Arrays.asList(
+                resumen(1L, "Pintura Acrílica", "1500.00"), resumen(2L, "Pincel", "2500.00")));
+        when(productoRepository.findPaginaPorPrecioDespuesDe(new BigDecimal("1500.00"), 1L, 2))
+                .thenReturn(List.of(resumen(2L, "Pincel", "2500.00")));
+
+        // Act
+        PaginaCursorDTO<ProductoLecturaDTO> primera = productoLecturaService.listarProductosPaginados(null, 1, OrdenProducto.PRECIO);
+        PaginaCursorDTO<ProductoLecturaDTO> segunda = productoLecturaService.listarProductosPaginados(
+                primera.getSiguienteCursor(), 1, OrdenProducto.PRECIO);
+
+        // Assert
+        assertEquals(2L, segunda.getItems().get(0).getId());
+        assertFalse(segunda.getHayMas());
+        assertNull(segunda.getSiguienteCursor());
+    }
+
+    @Test
+    void listarProductosPaginados_CursorInvalido_DeberiaLanzarExcepcion() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                productoLecturaService.listarProductosPaginados("no-es-un-cursor", 10, OrdenProducto.ID));
+
+        assertEquals("Cursor inválido", exception.getMessage());
+        verifyNoInteractions(productoRepository);
+    }
+
+    @Test
+    void buscarProductos_DeberiaNormalizarTextoYBuscarPorPrefijo() {
+        // Arrange
+        when(productoRepository.buscarPorTexto("pinturas:* & acrilicas:*", 11, 10))
+                .thenReturn(List.of(resumen(1L, "Pintura Acrílica", "1500.00")));
+
+        // Act
+        PaginaDTO<ProductoLecturaDTO> resultado = productoLecturaService.buscarProductos("  Pinturas ACRÍLICAS ", 1, 10);
+
+        // Assert
+        assertEquals(1, resultado.getItems().size());
+        assertEquals(1, resultado.getPagina());
+        assertFalse(resultado.getHayMas());
+        verify(productoRepository, times(1)).buscarPorTexto("pinturas:* & acrilicas:*", 11, 10);
+    }
+
+    @Test
+    void buscarProductos_TextoSinTerminos_DeberiaRetornarPaginaVacia() {
+        // Act
+        PaginaDTO<ProductoLecturaDTO> resultado = productoLecturaService.buscarProductos(" ¿? ", 0, 10);
+
+        // Assert
+        assertTrue(resultado.getItems().isEmpty());
+        verifyNoInteractions(productoRepository);
+    }
+
+    @Test
+    void filtrarProductos_DeberiaRespetarOrdenYArmarFacetasDePrecio() {
+        // Arrange
+        ReflectionTestUtils.setField(productoLecturaService, "limitesRangoPrecio",
+                List.of(new BigDecimal("5000"), BigDecimal.ZERO));
+        FiltroProductoDTO filtro = FiltroProductoDTO.builder().categoriaId(1L).activo(true).build();
+
+        when(productoRepository.filtrarIds(filtro, 11, 0)).thenReturn(List.of(2L, 1L));
+        when(productoRepository.findResumenPorIds(List.of(2L, 1L))).thenReturn(Arrays.asList(
+                resumen(1L, "Pintura Acrílica", "1500.00"), resumen(2L, "Pincel", "300.00")));
+        when(productoRepository.contarPorCategoria(filtro)).thenReturn(List.of(
+                FacetaDTO.builder().valor(1L).etiqueta("Pinturas").cantidad(2L).build()));
+        when(productoRepository.contarPorRangoPrecio(filtro, List.of(BigDecimal.ZERO, new BigDecimal("5000"))))
+                .thenReturn(List.of(2L, 0L));
+
+        // Act
+        ResultadoFiltroProductosDTO resultado = productoLecturaService.filtrarProductos(filtro, 0, 10);
+
+        // Assert
+        assertEquals(List.of(2L, 1L), resultado.getProductos().getItems().stream().map(ProductoLecturaDTO::getId).toList());
+        assertFalse(resultado.getProductos().getHayMas());
+        assertEquals(2L, resultado.getCategorias().get(0).getCantidad());
+        assertEquals(2, resultado.getRangosPrecio().size());
+        assertEquals("$0 - $5000", resultado.getRangosPrecio().get(0).getEtiqueta());
+        assertNull(resultado.getRangosPrecio().get(1).getHasta());
+    }
+
+    @Test
+    void filtrarProductos_RangoDePrecioInvertido_DeberiaLanzarExcepcion() {
+        // Arrange
+        FiltroProductoDTO filtro = FiltroProductoDTO.builder()
+                .precioDesde(new BigDecimal("1000"))
+                .precioHasta(new BigDecimal("500"))
+                .build();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () ->
+                productoLecturaService.filtrarProductos(filtro, 0, 10));
+        verify(productoRepository, never()).filtrarIds(any(), anyInt(), anyInt());
+    }
+}
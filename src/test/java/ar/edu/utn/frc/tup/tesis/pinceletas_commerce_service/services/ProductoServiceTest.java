@@ -18,7 +18,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -51,6 +50,18 @@ class ProductoServiceTest {
     @Mock
     private MultipartFile imagenFile;
 
+    @Mock
+    private CatalogoCacheService catalogoCacheService;
+
+    @Mock
+    private CatalogoVersionService catalogoVersionService;
+
+    @Mock
+    private ImagenStorageService imagenStorageService;
+
+    @Mock
+    private ImagenVarianteService imagenVarianteService;
+
     @InjectMocks
     private ProductoService productoService;
 
@@ -101,8 +112,7 @@ class ProductoServiceTest {
         when(productoRepository.save(any(ProductoEntity.class)))
                 .thenReturn(productoEntity);
         when(imagenFile.isEmpty()).thenReturn(false);
-        when(imagenFile.getOriginalFilename()).thenReturn("imagen.jpg");
-        when(imagenFile.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[0]));
+        when(imagenStorageService.guardar(imagenFile)).thenReturn("/uploads/3a7bd3e2360a3d29.jpg");
 
         // Act
         ProductoEntity resultado = productoService.registrarProductoConImagen(productoDTO, imagenFile, 1L);
@@ -110,6 +120,7 @@ class ProductoServiceTest {
         // Assert
         assertNotNull(resultado);
         assertEquals("Pintura Acrílica", resultado.getNombre());
+        verify(imagenStorageService, times(1)).guardar(imagenFile);
         verify(productoRepository, times(1)).save(any(ProductoEntity.class));
         verify(auditoriaProductoRepository, times(1)).save(any(AuditoriaProductoEntity.class));
     }
@@ -136,8 +147,8 @@ class ProductoServiceTest {
         // Arrange
         when(categoriaRepository.findById(1L)).thenReturn(Optional.of(categoriaEntity)); // ✅ AGREGADO
         when(imagenFile.isEmpty()).thenReturn(false);
-        when(imagenFile.getOriginalFilename()).thenReturn("imagen.jpg");
-        when(imagenFile.getInputStream()).thenThrow(new IOException("Error de lectura"));
+        when(imagenStorageService.guardar(imagenFile))
+                .thenThrow(new RuntimeException("Error al guardar imagen", new IOException("Error de lectura")));
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -219,8 +230,7 @@ class ProductoServiceTest {
         when(productoRepository.save(any(ProductoEntity.class)))
                 .thenReturn(productoEntity);
         when(imagenFile.isEmpty()).thenReturn(false);
-        when(imagenFile.getOriginalFilename()).thenReturn("nueva-imagen.jpg");
-        when(imagenFile.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[0]));
+        when(imagenStorageService.guardar(imagenFile)).thenReturn("/uploads/9f86d081884c7d65.jpg");
 
         // ✅ CORREGIDO: Mock del mapper para evitar NPE
         ProductoEntity productoAnterior = new ProductoEntity();
@@ -251,6 +261,7 @@ class ProductoServiceTest {
         verify(productoRepository, times(1)).findById(1L);
         verify(auditoriaProductoRepository, times(1)).save(any(AuditoriaProductoEntity.class));
         verify(productoRepository, times(1)).delete(productoEntity);
+        verify(catalogoCacheService, times(1)).invalidarProducto(1L);
     }
 
     @Test
@@ -295,26 +306,6 @@ class ProductoServiceTest {
         assertEquals("Producto no encontrado", exception.getMessage());
     }
 
-    @Test
-    void listarProductos_DeberiaRetornarListaDeProductos() {
-        // Arrange
-        ProductoEntity producto2 = new ProductoEntity();
-        producto2.setId(2L);
-        producto2.setNombre("Pincel");
-        producto2.setImagenes(Arrays.asList("/uploads/pincel.jpg")); // ✅ CORREGIDO
-
-        List<ProductoEntity> productos = Arrays.asList(productoEntity, producto2);
-        when(productoRepository.findAll()).thenReturn(productos);
-
-        // Act
-        List<ProductoEntity> resultado = productoService.listarProductos();
-
-        // Assert
-        assertNotNull(resultado);
-        assertEquals(2, resultado.size());
-        verify(productoRepository, times(1)).findAll();
-    }
-
     @Test
     void consultarAuditoriasProductos_DeberiaRetornarListaDeAuditorias() {
         // Arrange
@@ -373,15 +364,9 @@ class ProductoServiceTest {
         MultipartFile imagenFile1 = mock(MultipartFile.class);
         MultipartFile imagenFile2 = mock(MultipartFile.class);
 
-        when(imagenFile1.isEmpty()).thenReturn(false);
-        when(imagenFile1.getOriginalFilename()).thenReturn("imagen1.jpg");
-        when(imagenFile1.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[0]));
-
-        when(imagenFile2.isEmpty()).thenReturn(false);
-        when(imagenFile2.getOriginalFilename()).thenReturn("imagen2.jpg");
-        when(imagenFile2.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[0]));
-
         List<MultipartFile> imagenes = Arrays.asList(imagenFile1, imagenFile2);
+        when(imagenStorageService.guardarTodas(imagenes))
+                .thenReturn(Arrays.asList("/uploads/imagen1-hash.jpg", "/uploads/imagen2-hash.jpg"));
 
         // Act
         ProductoEntity resultado = productoService.registrarProductoConMultiplesImagenes(
@@ -392,4 +377,4 @@ class ProductoServiceTest {
         verify(productoRepository, times(1)).save(any(ProductoEntity.class));
         verify(auditoriaProductoRepository, times(1)).save(any(AuditoriaProductoEntity.class));
     }
-}
\ No newline at end of file
+}